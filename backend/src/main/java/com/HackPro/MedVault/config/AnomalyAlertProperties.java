@@ -0,0 +1,46 @@
+package com.HackPro.MedVault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rules and limits for anomaly alerts ({@code alerts.anomaly.*}). An anomaly is classified by
+ * the first rule whose pattern matches it; anomalies that match no rule do not alert.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "alerts.anomaly")
+public class AnomalyAlertProperties {
+
+    private boolean enabled = true;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    // Alerts for one recipient within this window are merged into a single notification
+    private Duration coalesceWindow = Duration.ofMinutes(2);
+
+    // Alerts at or above this severity skip the coalesce window
+    private Severity immediateSeverity = Severity.CRITICAL;
+
+    // Per recipient; alerts over the limit keep merging until the next slot frees up
+    private int maxAlertsPerHour = 6;
+
+    @Data
+    public static class Rule {
+        private String name;
+        // Regular expression matched against the whole anomaly text, case-insensitively
+        private String pattern;
+        private Severity severity = Severity.MEDIUM;
+        // Also alert doctors holding a live grant for the patient
+        private boolean notifyDoctors = false;
+    }
+
+    public enum Severity {
+        LOW, MEDIUM, HIGH, CRITICAL
+    }
+}
@@ -0,0 +1,190 @@
+package com.HackPro.MedVault.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for work that leaves the request thread.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} every executor hands out virtual threads and
+ * is bounded by a concurrency limit instead of a pool size, so blocking JDBC and HTTP calls park
+ * cheaply. Without it the same beans fall back to bounded platform-thread pools.
+ * <p>
+ * Either way at most {@value #QUEUE_CAPACITY} tasks wait behind the running ones and submitting
+ * never blocks the caller. A task beyond that is rejected with {@link TaskRejectedException}, or
+ * dropped for best-effort work (audit log lines, notification pushes). Both are counted as
+ * {@code medvault.executor.rejected{executor}}.
+ */
+@Configuration
+@EnableAsync
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncConfig {
+
+    private static final int QUEUE_CAPACITY = 1_000;
+    private static final long TERMINATION_TIMEOUT_MS = 10_000;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    // n8n webhook dispatch after a document upload
+    @Bean
+    public AsyncTaskExecutor n8nDispatchExecutor(@Value("${n8n.dispatch.max-concurrency:16}") int maxConcurrency) {
+        return createExecutor("n8n-dispatch-", maxConcurrency, Saturation.REJECT);
+    }
+
+    // Audit log writers (see AuditLogService)
+    @Bean
+    public AsyncTaskExecutor auditLogExecutor(@Value("${audit.async.max-concurrency:8}") int maxConcurrency) {
+        return createExecutor("audit-", maxConcurrency, Saturation.DROP);
+    }
+
+    // Server-sent event pushes (see NotificationStreamService)
+    @Bean
+    public AsyncTaskExecutor notificationPushExecutor(
+            @Value("${notifications.stream.push-concurrency:32}") int maxConcurrency) {
+        return createExecutor("notification-push-", maxConcurrency, Saturation.DROP);
+    }
+
+    // Anomaly alert evaluation after n8n callbacks (see AnomalyAlertService)
+    @Bean
+    public AsyncTaskExecutor anomalyAlertExecutor(@Value("${alerts.anomaly.max-concurrency:4}") int maxConcurrency) {
+        return createExecutor("anomaly-alert-", maxConcurrency, Saturation.REJECT);
+    }
+
+    // FHIR bulk export partitions (see BulkExportRunner)
+    @Bean
+    public AsyncTaskExecutor bulkExportExecutor(@Value("${bulk-export.max-concurrency:4}") int maxConcurrency) {
+        return createExecutor("bulk-export-", maxConcurrency, Saturation.REJECT);
+    }
+
+    // Parallel validation of FHIR imports (see FhirImportServiceImpl)
+    @Bean
+    public AsyncTaskExecutor fhirImportExecutor(
+            @Value("${fhir.import.validation-concurrency:8}") int maxConcurrency) {
+        return createExecutor("fhir-import-", maxConcurrency, Saturation.REJECT);
+    }
+
+    // Email and SMS delivery (see OutboundMessageDispatcher)
+    @Bean
+    public AsyncTaskExecutor outboundMessageExecutor(
+            @Value("${messaging.outbound.max-concurrency:8}") int maxConcurrency) {
+        return createExecutor("outbound-message-", maxConcurrency, Saturation.REJECT);
+    }
+
+    private AsyncTaskExecutor createExecutor(String threadNamePrefix, int maxConcurrency, Saturation saturation) {
+        String name = threadNamePrefix.substring(0, threadNamePrefix.length() - 1);
+        Counter rejected = Counter.builder("medvault.executor.rejected")
+                .description("Tasks rejected or dropped because the executor's queue was full")
+                .tag("executor", name)
+                .register(meterRegistry);
+        RejectedExecutionHandler onSaturated = (task, pool) -> {
+            rejected.increment();
+            if (saturation == Saturation.REJECT) {
+                throw new RejectedExecutionException("Executor " + name + " is saturated");
+            }
+            log.warn("Executor {} is saturated; dropped a task", name);
+        };
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new BoundedVirtualThreadExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory(),
+                    maxConcurrency, onSaturated);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(Math.max(1, maxConcurrency / 2));
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.setRejectedExecutionHandler(onSaturated);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(TERMINATION_TIMEOUT_MS);
+        return executor;
+    }
+
+    private enum Saturation {
+        REJECT,
+        DROP
+    }
+
+    /**
+     * One virtual thread per task; at most {@code maxConcurrency} run and up to {@value #QUEUE_CAPACITY}
+     * more wait parked on a semaphore. Admission is a {@code tryAcquire}, so a full executor hands the
+     * task to the saturation handler instead of blocking the submitter.
+     */
+    private static final class BoundedVirtualThreadExecutor implements AsyncTaskExecutor, DisposableBean {
+
+        private final ThreadFactory threadFactory;
+        private final RejectedExecutionHandler onSaturated;
+        private final int capacity;
+        // Running plus waiting tasks
+        private final Semaphore admitted;
+        private final Semaphore running;
+        private volatile boolean shutdown;
+
+        BoundedVirtualThreadExecutor(ThreadFactory threadFactory, int maxConcurrency,
+                                     RejectedExecutionHandler onSaturated) {
+            this.threadFactory = threadFactory;
+            this.onSaturated = onSaturated;
+            this.capacity = maxConcurrency + QUEUE_CAPACITY;
+            this.admitted = new Semaphore(capacity);
+            this.running = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (shutdown || !admitted.tryAcquire()) {
+                try {
+                    onSaturated.rejectedExecution(task, null);
+                } catch (RejectedExecutionException e) {
+                    throw new TaskRejectedException(e.getMessage(), e);
+                }
+                return;
+            }
+            try {
+                threadFactory.newThread(() -> {
+                    try {
+                        running.acquireUninterruptibly();
+                        try {
+                            task.run();
+                        } finally {
+                            running.release();
+                        }
+                    } finally {
+                        admitted.release();
+                    }
+                }).start();
+            } catch (RuntimeException | Error e) {
+                admitted.release();
+                throw e;
+            }
+        }
+
+        // Waits for admitted tasks like the platform pool's waitForTasksToCompleteOnShutdown
+        @Override
+        public void destroy() throws InterruptedException {
+            shutdown = true;
+            if (!admitted.tryAcquire(capacity, TERMINATION_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                log.warn("Tasks still running after {} ms at shutdown", TERMINATION_TIMEOUT_MS);
+            }
+        }
+    }
+}
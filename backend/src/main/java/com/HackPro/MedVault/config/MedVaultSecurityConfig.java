@@ -1,6 +1,7 @@
 package com.HackPro.MedVault.config;
 
 import com.HackPro.MedVault.security.*;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -39,6 +40,15 @@ public class MedVaultSecurityConfig {
     @Autowired
     private RateLimitingFilter rateLimitFilter;
 
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    @Autowired
+    private StepUpLogoutHandler stepUpLogoutHandler;
+
+    @Autowired
+    private JwtRevocationLogoutHandler jwtRevocationLogoutHandler;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -54,15 +64,16 @@ public class MedVaultSecurityConfig {
 
                 // Healthcare-specific authorization rules
                 .authorizeHttpRequests(auth -> auth
-                        // Public endpoints
-                        .requestMatchers(
-                                "/api/v1/auth/register/patient",
-                                "/api/v1/auth/register/doctor",
-                                "/api/v1/auth/login",
-                                "/api/v1/auth/forgot-password",
-                                "/api/v1/auth/reset-password",
-                                "/api/v1/auth/refresh-token"
-                        ).permitAll()
+                        // Async dispatches of already authorized requests (SSE streams)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                        // Public endpoints - the same list JwtAuthFilter skips (RouteClassifier)
+                        .requestMatchers(routeClassifier.publicRoutes()).permitAll()
+
+                        // Medical records of a patient - the patient or a doctor with a grant; the
+                        // controller's @PreAuthorize checks (accessDecisionService) decide
+                        .requestMatchers("/api/v1/patients/*/medical-records/**")
+                        .authenticated()
 
                         // Patient-only endpoints
                         .requestMatchers("/api/v1/patients/**")
@@ -103,6 +114,8 @@ public class MedVaultSecurityConfig {
                 // Logout configuration with audit
                 .logout(logout -> logout
                         .logoutUrl("/api/v1/auth/logout")
+                        .addLogoutHandler(stepUpLogoutHandler)
+                        .addLogoutHandler(jwtRevocationLogoutHandler)
                         .logoutSuccessHandler(new MedVaultLogoutSuccessHandler())
                         .invalidateHttpSession(true)
                         .deleteCookies("JSESSIONID", "JWT-TOKEN")
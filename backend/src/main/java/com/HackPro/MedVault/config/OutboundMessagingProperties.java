@@ -0,0 +1,42 @@
+package com.HackPro.MedVault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Delivery settings for queued emails and SMS ({@code messaging.outbound.*}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "messaging.outbound")
+public class OutboundMessagingProperties {
+
+    // Sender address of emails
+    private String from = "MedVault <no-reply@medvault.local>";
+
+    // Messages claimed per poll, and the most that may be in delivery at once
+    private int claimBatchSize = 50;
+    private int maxInFlight = 200;
+
+    // Messages handed to a sender in one call, e.g. over one SMTP connection
+    private int sendBatchSize = 20;
+
+    // Attempts before a message is FAILED; retries back off exponentially with jitter
+    private int maxAttempts = 6;
+    private Duration initialBackoff = Duration.ofSeconds(2);
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    // A claimed message that is not settled within the lease is claimed again
+    private Duration lease = Duration.ofMinutes(2);
+
+    // Sent and failed messages are deleted after this long
+    private Duration retention = Duration.ofDays(7);
+
+    // Messages per second by provider (MessageSender.provider()); providers without an entry are not limited
+    private Map<String, Double> rateLimits = new HashMap<>();
+}
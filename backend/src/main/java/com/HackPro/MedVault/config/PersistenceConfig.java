@@ -0,0 +1,80 @@
+package com.HackPro.MedVault.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Connection pool and Hibernate tuning shared by all profiles. The values are driven by
+ * properties so the default profile keeps its developer-friendly settings and {@code prod}
+ * switches them on (see application-prod.properties).
+ */
+@Configuration
+@Slf4j
+public class PersistenceConfig {
+
+    /**
+     * Sizes the Hikari pool from the number of cores when {@code datasource.pool.size-from-cores=true}:
+     * {@code cores * connections-per-core + 1}. PostgreSQL throughput peaks around that value;
+     * more connections only add contention on the server.
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && environment.getProperty("datasource.pool.size-from-cores", Boolean.class, false)) {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    int perCore = environment.getProperty("datasource.pool.connections-per-core", Integer.class, 2);
+                    int poolSize = cores * perCore + 1;
+
+                    dataSource.setMaximumPoolSize(poolSize);
+                    dataSource.setMinimumIdle(Math.min(cores, poolSize));
+                    log.info("Hikari pool sized from {} cores: maximumPoolSize={}", cores, poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Sampled SQL logging, replaces the all-or-nothing spring.jpa.show-sql
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLoggingCustomizer(Environment environment) {
+        double sampleRate = environment.getProperty("sql.log.sample-rate", Double.class, 0.0);
+        return properties -> {
+            if (sampleRate > 0) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlStatementInspector(sampleRate));
+            }
+        };
+    }
+
+    /**
+     * Logs roughly {@code sampleRate} of all statements to the {@code com.HackPro.MedVault.sql} logger.
+     */
+    @Slf4j(topic = "com.HackPro.MedVault.sql")
+    static class SampledSqlStatementInspector implements StatementInspector {
+
+        private final double sampleRate;
+
+        SampledSqlStatementInspector(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (log.isDebugEnabled() && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                log.debug("SQL: {}", sql);
+            }
+            return sql;
+        }
+    }
+}
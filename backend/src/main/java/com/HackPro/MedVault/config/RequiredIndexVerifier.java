@@ -0,0 +1,68 @@
+package com.HackPro.MedVault.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fails application startup when an index that a hot query depends on is missing, instead of
+ * degrading silently into sequential scans. Runs after Flyway has migrated the schema.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RequiredIndexVerifier {
+
+    // Keep in sync with db/migration
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_login_attempts_email_status_attempted_at",
+            "idx_documents_patient_created_at",
+            "idx_access_permissions_doctor_patient",
+            "idx_access_permissions_patient_active",
+            "idx_access_requests_patient_status",
+            "idx_access_requests_pending_otp_expiry",
+            "idx_notifications_user_read_created_at",
+            "idx_notifications_user_unread",
+            "idx_notifications_user_created_at_id",
+            "idx_doctors_verified_license_expiry",
+            "idx_doctors_status_user",
+            "idx_medical_records_fhir_type_date",
+            "idx_medical_records_fhir_code",
+            "idx_medical_records_fhir_status",
+            "idx_export_partitions_open",
+            "idx_medical_records_patient_date",
+            "idx_medical_records_patient_type_date",
+            "idx_medical_records_patient_emergency_date",
+            "idx_outbound_messages_due",
+            "idx_outbound_messages_finished",
+            "idx_revoked_tokens_revoked_at",
+            "idx_revoked_tokens_expires_at"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void verify() {
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class));
+
+        List<String> missing = REQUIRED_INDEXES.stream()
+                .filter(index -> !existing.contains(index))
+                .toList();
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Required database indexes are missing: " + missing
+                    + ". Run the Flyway migrations (db/migration) before starting the application.");
+        }
+
+        log.info("Verified {} required database indexes", REQUIRED_INDEXES.size());
+    }
+}
@@ -0,0 +1,13 @@
+package com.HackPro.MedVault.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs. With virtual threads enabled Spring Boot runs them
+ * on a virtual-thread scheduler, so a job blocked on the database does not hold a platform thread.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
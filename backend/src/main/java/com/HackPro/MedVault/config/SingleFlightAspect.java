@@ -0,0 +1,169 @@
+package com.HackPro.MedVault.config;
+
+import com.HackPro.MedVault.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs {@link SingleFlight} methods at most once per key at a time.
+ * <p>
+ * The first caller for a key runs the method on its own thread and publishes the outcome through a
+ * {@link CompletableFuture}; callers arriving meanwhile wait on it. A flight that outlives its
+ * timeout is dropped from the table, and its waiters start a new one. Ordered after method security
+ * but ahead of the transaction interceptor, so every caller is still authorized while waiters never
+ * open a transaction or take a connection.
+ * <p>
+ * Metrics: {@code medvault.singleflight.calls{name, result=executed|coalesced|timed_out}} and the
+ * {@code medvault.singleflight.in.flight} gauge.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+@Slf4j
+public class SingleFlightAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Duration defaultTimeout;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<Method, FlightSpec> specs = new ConcurrentHashMap<>();
+    private final Map<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(MeterRegistry meterRegistry, Environment environment,
+                              @Value("${single-flight.default-timeout:5s}") Duration defaultTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.defaultTimeout = defaultTimeout;
+
+        Gauge.builder("medvault.singleflight.in.flight", flights, Map::size)
+                .description("Calls currently shared by single-flight groups")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        FlightSpec spec = specs.computeIfAbsent(method, m -> createSpec(m, singleFlight));
+        FlightKey key = new FlightKey(spec.name(), spec.keyFor(method, joinPoint.getArgs(), parameterNames));
+
+        while (true) {
+            Flight own = new Flight(new CompletableFuture<>(), System.nanoTime() + spec.timeoutNanos());
+            Flight current = flights.putIfAbsent(key, own);
+            if (current == null) {
+                return lead(joinPoint, key, own, spec);
+            }
+
+            long remaining = current.deadline() - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    Object result = current.result().get(remaining, TimeUnit.NANOSECONDS);
+                    spec.coalesced().increment();
+                    return result;
+                }
+            } catch (ExecutionException e) {
+                spec.coalesced().increment();
+                throw e.getCause();
+            } catch (TimeoutException e) {
+                // Fall through: the flight is stuck, replace it
+            }
+
+            spec.timedOut().increment();
+            if (flights.remove(key, current)) {
+                log.warn("Single-flight '{}' exceeded {} ms; starting a new call", spec.name(),
+                        TimeUnit.NANOSECONDS.toMillis(spec.timeoutNanos()));
+            }
+        }
+    }
+
+    /**
+     * Stop sharing the in-flight call for {@code key}, so the next caller runs the method again.
+     * Use after a write that the running call may not have seen.
+     */
+    public void forget(String name, Object key) {
+        flights.remove(new FlightKey(name, key));
+    }
+
+    private Object lead(ProceedingJoinPoint joinPoint, FlightKey key, Flight flight, FlightSpec spec) throws Throwable {
+        spec.executed().increment();
+        try {
+            Object result = joinPoint.proceed();
+            flights.remove(key, flight);
+            flight.result().complete(result);
+            return result;
+        } catch (Throwable t) {
+            flights.remove(key, flight);
+            flight.result().completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private FlightSpec createSpec(Method method, SingleFlight singleFlight) {
+        String name = singleFlight.name().isEmpty()
+                ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                : singleFlight.name();
+        Expression key = singleFlight.key().isEmpty() ? null : parser.parseExpression(singleFlight.key());
+        Duration timeout = singleFlight.timeout().isEmpty()
+                ? defaultTimeout
+                : DurationStyle.detectAndParse(environment.resolveRequiredPlaceholders(singleFlight.timeout()));
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalStateException("Single-flight timeout must be positive: " + name);
+        }
+
+        return new FlightSpec(name, key, timeout.toNanos(),
+                callCounter(name, "executed"), callCounter(name, "coalesced"), callCounter(name, "timed_out"));
+    }
+
+    private Counter callCounter(String name, String result) {
+        return Counter.builder("medvault.singleflight.calls")
+                .description("Single-flight calls by outcome; coalesced calls reused another caller's result")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record FlightSpec(String name, Expression key, long timeoutNanos,
+                              Counter executed, Counter coalesced, Counter timedOut) {
+
+        Object keyFor(Method method, Object[] args, ParameterNameDiscoverer parameterNames) {
+            if (key == null) {
+                return args.length == 1 ? args[0] : Arrays.asList(args);
+            }
+            return key.getValue(new MethodBasedEvaluationContext(null, method, args, parameterNames));
+        }
+    }
+
+    private record FlightKey(String name, Object key) {
+    }
+
+    private record Flight(CompletableFuture<Object> result, long deadline) {
+    }
+}
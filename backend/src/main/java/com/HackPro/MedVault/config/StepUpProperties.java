@@ -0,0 +1,37 @@
+package com.HackPro.MedVault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes that need a recent MFA verification ({@code mfa.step-up.*}). A request is checked against
+ * the first route whose method and pattern match it; requests matching no route need no step-up.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mfa.step-up")
+public class StepUpProperties {
+
+    private List<Route> routes = new ArrayList<>();
+
+    // Used by routes without their own window
+    private Duration defaultWindow = Duration.ofMinutes(30);
+
+    // Users tracked at once; the oldest verifications are dropped first when it is exceeded
+    private long maxUsers = 100_000;
+
+    @Data
+    public static class Route {
+        // Any method when not set
+        private String method;
+        // Spring PathPattern, e.g. /api/v1/access-permissions/{permissionId}
+        private String pattern;
+        // How long ago the last MFA verification may have been
+        private Duration window;
+    }
+}
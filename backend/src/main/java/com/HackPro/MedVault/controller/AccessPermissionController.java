@@ -0,0 +1,43 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.AccessPermissionResponseDto;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.AccessPermissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/v1/access-permissions")
+@RequiredArgsConstructor
+public class AccessPermissionController {
+
+    private final AccessPermissionService accessPermissionService;
+
+    /**
+     * List doctors the authenticated patient has granted access to
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<List<AccessPermissionResponseDto>> getMyPermissions(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(accessPermissionService.getPatientPermissions(userDetails.getUserId()));
+    }
+
+    /**
+     * Revoke a doctor's access (sensitive operation, requires recent MFA)
+     */
+    @DeleteMapping("/{permissionId}")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<Void> revokePermission(
+            @PathVariable UUID permissionId,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        accessPermissionService.revokePermission(permissionId, userDetails.getUserId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.AccessPermissionResponseDto;
+import com.HackPro.MedVault.domain.dtos.AccessRequestCreateDto;
+import com.HackPro.MedVault.domain.dtos.AccessRequestResponseDto;
+import com.HackPro.MedVault.domain.dtos.AccessRequestVerifyDto;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.AccessRequestService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/v1/access-requests")
+@RequiredArgsConstructor
+public class AccessRequestController {
+
+    private final AccessRequestService accessRequestService;
+
+    /**
+     * Request access to a patient's records; the patient receives an OTP to share as consent
+     */
+    @PostMapping
+    @PreAuthorize("hasAuthority('PERM_REQUEST_ACCESS')")
+    public ResponseEntity<AccessRequestResponseDto> createRequest(
+            @Valid @RequestBody AccessRequestCreateDto request,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        AccessRequestResponseDto response = accessRequestService.createRequest(userDetails.getUserId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Verify the patient's OTP and receive the resulting grant
+     */
+    @PostMapping("/{requestId}/verify")
+    @PreAuthorize("hasAuthority('PERM_REQUEST_ACCESS')")
+    public ResponseEntity<AccessPermissionResponseDto> verifyRequest(
+            @PathVariable UUID requestId,
+            @Valid @RequestBody AccessRequestVerifyDto request,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(
+                accessRequestService.verifyRequest(requestId, userDetails.getUserId(), request.getOtp()));
+    }
+
+    /**
+     * List requests waiting for the authenticated patient's consent
+     */
+    @GetMapping("/pending")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<List<AccessRequestResponseDto>> getPendingRequests(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(accessRequestService.getPendingRequests(userDetails.getUserId()));
+    }
+
+    /**
+     * Deny a pending request
+     */
+    @PostMapping("/{requestId}/deny")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<Void> denyRequest(
+            @PathVariable UUID requestId,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        accessRequestService.denyRequest(requestId, userDetails.getUserId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.DoctorQueuePageDto;
+import com.HackPro.MedVault.domain.dtos.DoctorStatusUpdateDto;
+import com.HackPro.MedVault.domain.dtos.DoctorStatusUpdateResultDto;
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.AdminDoctorService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(path = "/api/v1/admin/doctors")
+@PreAuthorize("hasAuthority('PERM_VERIFY_DOCTORS')")
+@RequiredArgsConstructor
+public class AdminDoctorController {
+
+    private final AdminDoctorService adminDoctorService;
+
+    /**
+     * Verification queue for one status; pass the returned nextCursor to get the following page
+     */
+    @GetMapping
+    public ResponseEntity<DoctorQueuePageDto> getQueue(
+            @RequestParam(defaultValue = "PENDING") VerificationStatus status,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(adminDoctorService.getQueue(status, specialization, cursor, limit));
+    }
+
+    /**
+     * Move a batch of doctors to a new verification status
+     */
+    @PostMapping("/status")
+    public ResponseEntity<DoctorStatusUpdateResultDto> updateStatus(
+            @Valid @RequestBody DoctorStatusUpdateDto request,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(adminDoctorService.updateStatus(userDetails.getUserId(), request));
+    }
+}
@@ -1,7 +1,9 @@
 package com.HackPro.MedVault.controller;
 
 import com.HackPro.MedVault.domain.dtos.*;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
 import com.HackPro.MedVault.services.AuthServiceImpl;
+import com.HackPro.MedVault.services.MFAService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -19,6 +21,7 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthServiceImpl authService;
+    private final MFAService mfaService;
 
     @PostMapping("/register/patient")
     public ResponseEntity<AuthResponseDto> registerPatient(
@@ -64,6 +67,45 @@ public class AuthController {
         return ResponseEntity.ok(authService.verifyMFA(request));
     }
 
+    /**
+     * Start a TOTP enrollment; the returned secret only takes effect after /mfa/totp/confirm
+     */
+    @PostMapping("/mfa/totp")
+    public ResponseEntity<TotpSetupResponseDto> startTotpEnrollment(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(mfaService.startTotpEnrollment(userDetails.getUserId()));
+    }
+
+    @PostMapping("/mfa/totp/confirm")
+    public ResponseEntity<Map<String, String>> confirmTotpEnrollment(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails,
+            @Valid @RequestBody TotpConfirmRequestDto request) {
+        mfaService.confirmTotpEnrollment(userDetails.getUserId(), request.getCode());
+        return ResponseEntity.ok(Map.of(
+                "message", "TOTP enabled; sign in again with a code from your authenticator app"
+        ));
+    }
+
+    /**
+     * Send a fresh MFA code (not needed with TOTP) so the user can step up before a sensitive operation
+     */
+    @PostMapping("/mfa/step-up")
+    public ResponseEntity<Map<String, String>> startStepUp(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        mfaService.beginMFAChallenge(userDetails.getUserId(), userDetails.getEmail());
+        return ResponseEntity.ok(Map.of(
+                "message", "Enter a code from your authenticator app or the code just sent to you"
+        ));
+    }
+
+    @PostMapping("/mfa/step-up/verify")
+    public ResponseEntity<Void> verifyStepUp(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails,
+            @Valid @RequestBody StepUpVerificationRequestDto request) {
+        mfaService.verifyStepUp(userDetails.getUserId(), request.getCode());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<Map<String, String>> forgotPassword(
             @RequestBody Map<String, String> request) {
@@ -0,0 +1,110 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.BulkExportStatusDto;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.BulkExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * FHIR Bulk Data system-level export: kick-off, status polling and file download
+ */
+@RestController
+@RequestMapping(path = "/fhir")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class BulkExportController {
+
+    private static final MediaType FHIR_NDJSON = MediaType.parseMediaType("application/fhir+ndjson");
+
+    private final BulkExportService bulkExportService;
+
+    /**
+     * Start an export; poll the returned Content-Location until it answers 200
+     */
+    @GetMapping("/$export")
+    public ResponseEntity<Void> startExport(
+            @RequestParam(name = "_type", required = false) String types,
+            @RequestParam(name = "_since", required = false) String since,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        String requestUrl = ServletUriComponentsBuilder.fromCurrentRequest().toUriString();
+        UUID jobId = bulkExportService.startExport(userDetails.getUserId(), types, since, requestUrl);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.CONTENT_LOCATION, fhirBaseUrl() + "/$export-status/" + jobId)
+                .build();
+    }
+
+    /**
+     * 202 with X-Progress while running, 200 with the manifest when complete
+     */
+    @GetMapping("/$export-status/{jobId}")
+    public ResponseEntity<?> getStatus(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        BulkExportStatusDto status = bulkExportService.getStatus(jobId, userDetails.getUserId(), fhirBaseUrl());
+        return switch (status.getStatus()) {
+            case COMPLETED -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(status.getManifest());
+            case FAILED -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(operationOutcome(status.getError()));
+            default -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("X-Progress", status.getProgress())
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        };
+    }
+
+    /**
+     * Cancel the export and delete its files
+     */
+    @DeleteMapping("/$export-status/{jobId}")
+    public ResponseEntity<Void> cancelExport(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        bulkExportService.cancelExport(jobId, userDetails.getUserId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+
+    /**
+     * One output file, sent gzip-encoded as stored
+     */
+    @GetMapping("/$export-files/{jobId}/{fileName}")
+    public ResponseEntity<Resource> getFile(
+            @PathVariable UUID jobId,
+            @PathVariable String fileName,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        Resource file = new FileSystemResource(
+                bulkExportService.getOutputFile(jobId, userDetails.getUserId(), fileName));
+        return ResponseEntity.ok()
+                .contentType(FHIR_NDJSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(file);
+    }
+
+    private static Map<String, Object> operationOutcome(String message) {
+        return Map.of(
+                "resourceType", "OperationOutcome",
+                "issue", List.of(Map.of(
+                        "severity", "error",
+                        "code", "exception",
+                        "diagnostics", message == null ? "Export failed" : message)));
+    }
+
+    private static String fhirBaseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path("/fhir").toUriString();
+    }
+}
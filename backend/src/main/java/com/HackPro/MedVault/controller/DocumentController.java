@@ -8,9 +8,12 @@ import com.HackPro.MedVault.services.DocumentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +23,9 @@ import java.util.List;
 @Slf4j
 public class DocumentController {
 
+    // Clients may keep the list but must revalidate it with If-None-Match before use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final DocumentService documentService;
 
     /**
@@ -47,12 +53,21 @@ public class DocumentController {
 
     /**
      * Get all documents for authenticated patient
+     * Answers 304 without loading documents when If-None-Match carries the current ETag
      */
     @GetMapping
     public ResponseEntity<List<DocumentResponseDto>> getMyDocuments(
-            @AuthenticationPrincipal MedVaultUserDetails userDetails
+            @AuthenticationPrincipal MedVaultUserDetails userDetails,
+            WebRequest webRequest
     ) {
+        // Version first: a change committed in between only makes the ETag older than the body
+        long version = documentService.getDocumentsVersion(userDetails.getUserId());
+        String eTag = "\"documents-" + userDetails.getUserId() + "-" + version + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+
         List<DocumentResponseDto> documents = documentService.getPatientDocuments(userDetails.getUserId());
-        return ResponseEntity.ok(documents);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(documents);
     }
 }
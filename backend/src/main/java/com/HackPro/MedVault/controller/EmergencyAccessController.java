@@ -0,0 +1,34 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.EmergencyAccessRequestDto;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.EmergencyAccessService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(path = "/api/v1/doctors/emergency-access")
+@RequiredArgsConstructor
+public class EmergencyAccessController {
+
+    private final EmergencyAccessService emergencyAccessService;
+
+    /**
+     * Read a patient's emergency profile with the patient's Aadhaar OTP (audited)
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('DOCTOR')")
+    public ResponseEntity<String> getEmergencyProfile(
+            @Valid @RequestBody EmergencyAccessRequestDto request,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        // The snapshot is already serialized, so it is written as-is
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(emergencyAccessService.getEmergencySnapshot(userDetails.getUserId(), request));
+    }
+}
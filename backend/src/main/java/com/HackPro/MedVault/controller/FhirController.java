@@ -0,0 +1,87 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.FhirImportReportDto;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.FhirImportService;
+import com.HackPro.MedVault.services.FhirService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/fhir")
+@RequiredArgsConstructor
+public class FhirController {
+
+    private static final MediaType FHIR_JSON = MediaType.parseMediaType("application/fhir+json");
+
+    private final FhirService fhirService;
+    private final FhirImportService fhirImportService;
+
+    /**
+     * CapabilityStatement (public)
+     */
+    @GetMapping("/metadata")
+    public ResponseEntity<Map<String, Object>> getMetadata() {
+        return ResponseEntity.ok()
+                .contentType(FHIR_JSON)
+                .body(fhirService.getCapabilityStatement(fhirBaseUrl()));
+    }
+
+    /**
+     * Search a patient's resources, e.g. {@code GET /fhir/Observation?patient=...&code=http://loinc.org|4548-4&date=ge2024-01-01}
+     */
+    @GetMapping("/{resourceType}")
+    @PreAuthorize("@accessDecisionService.canRead(authentication, #patient)")
+    public ResponseEntity<StreamingResponseBody> search(
+            @PathVariable String resourceType,
+            @RequestParam UUID patient,
+            @RequestParam MultiValueMap<String, String> params) {
+        return ResponseEntity.ok()
+                .contentType(FHIR_JSON)
+                .body(fhirService.search(resourceType, patient, params, fhirBaseUrl()));
+    }
+
+    /**
+     * Import a batch or transaction Bundle (admin only)
+     */
+    @PostMapping(consumes = {"application/fhir+json", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> importBundle(
+            InputStream body,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) throws IOException {
+        try (body) {
+            return ResponseEntity.ok()
+                    .contentType(FHIR_JSON)
+                    .body(fhirImportService.importBundle(body, userDetails.getUserId()));
+        }
+    }
+
+    /**
+     * Import newline-delimited resources, e.g. a bulk export file (admin only)
+     */
+    @PostMapping(consumes = {"application/fhir+ndjson", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FhirImportReportDto> importNdjson(
+            InputStream body,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) throws IOException {
+        try (body) {
+            return ResponseEntity.ok(fhirImportService.importNdjson(body, userDetails.getUserId()));
+        }
+    }
+
+    private static String fhirBaseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path("/fhir").toUriString();
+    }
+}
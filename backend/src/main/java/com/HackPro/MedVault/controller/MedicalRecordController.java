@@ -0,0 +1,77 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.MedicalRecordDetailDto;
+import com.HackPro.MedVault.domain.dtos.MedicalRecordPageDto;
+import com.HackPro.MedVault.domain.dtos.MedicalRecordRequestDto;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.RecordType;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.MedicalRecordService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/v1/patients/{patientId}/medical-records")
+@RequiredArgsConstructor
+public class MedicalRecordController {
+
+    private final MedicalRecordService medicalRecordService;
+
+    /**
+     * Records page, newest record date first; pass the returned nextCursor to get the following page
+     */
+    @GetMapping
+    @PreAuthorize("@accessDecisionService.canRead(authentication, #patientId)")
+    public ResponseEntity<MedicalRecordPageDto> getRecords(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) RecordType recordType,
+            @RequestParam(defaultValue = "false") boolean emergencyVisible,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(medicalRecordService.getRecords(patientId, recordType, emergencyVisible, cursor, limit));
+    }
+
+    @GetMapping("/{recordId}")
+    @PreAuthorize("@accessDecisionService.canRead(authentication, #patientId)")
+    public ResponseEntity<MedicalRecordDetailDto> getRecord(
+            @PathVariable UUID patientId,
+            @PathVariable UUID recordId) {
+        return ResponseEntity.ok(medicalRecordService.getRecord(patientId, recordId));
+    }
+
+    @PostMapping
+    @PreAuthorize("@accessDecisionService.canWrite(authentication, #patientId)")
+    public ResponseEntity<MedicalRecordDetailDto> createRecord(
+            @PathVariable UUID patientId,
+            @Valid @RequestBody MedicalRecordRequestDto request,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(medicalRecordService.createRecord(patientId, request, userDetails.getUserId()));
+    }
+
+    @PutMapping("/{recordId}")
+    @PreAuthorize("@accessDecisionService.canWrite(authentication, #patientId)")
+    public ResponseEntity<MedicalRecordDetailDto> updateRecord(
+            @PathVariable UUID patientId,
+            @PathVariable UUID recordId,
+            @Valid @RequestBody MedicalRecordRequestDto request,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(medicalRecordService.updateRecord(patientId, recordId, request, userDetails.getUserId()));
+    }
+
+    @DeleteMapping("/{recordId}")
+    @PreAuthorize("@accessDecisionService.canWrite(authentication, #patientId)")
+    public ResponseEntity<Void> deleteRecord(
+            @PathVariable UUID patientId,
+            @PathVariable UUID recordId,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        medicalRecordService.deleteRecord(patientId, recordId, userDetails.getUserId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.HackPro.MedVault.controller;
+
+import com.HackPro.MedVault.domain.dtos.NotificationPageDto;
+import com.HackPro.MedVault.domain.dtos.NotificationReadDto;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.HackPro.MedVault.services.NotificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping(path = "/api/v1/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    /**
+     * Inbox page, newest first; pass the returned nextCursor to get the following page
+     */
+    @GetMapping
+    public ResponseEntity<NotificationPageDto> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(notificationService.getInbox(userDetails.getUserId(), cursor, limit, unreadOnly));
+    }
+
+    /**
+     * Unread badge count
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(userDetails.getUserId())));
+    }
+
+    /**
+     * Mark the given notifications as read
+     */
+    @PostMapping("/read")
+    public ResponseEntity<Map<String, Long>> markRead(
+            @Valid @RequestBody NotificationReadDto request,
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        int updated = notificationService.markRead(userDetails.getUserId(), request.getIds());
+        return ResponseEntity.ok(Map.of(
+                "updated", (long) updated,
+                "unreadCount", notificationService.getUnreadCount(userDetails.getUserId())));
+    }
+
+    /**
+     * Mark all notifications as read
+     */
+    @PostMapping("/read-all")
+    public ResponseEntity<Map<String, Long>> markAllRead(
+            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        int updated = notificationService.markAllRead(userDetails.getUserId());
+        return ResponseEntity.ok(Map.of(
+                "updated", (long) updated,
+                "unreadCount", notificationService.getUnreadCount(userDetails.getUserId())));
+    }
+
+    /**
+     * Server-sent events: "notification" for each new notification, "unread-count" on changes
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal MedVaultUserDetails userDetails) {
+        return notificationService.subscribe(userDetails.getUserId());
+    }
+}
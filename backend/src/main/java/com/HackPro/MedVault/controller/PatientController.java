@@ -4,10 +4,13 @@ import com.HackPro.MedVault.domain.dtos.PatientResponseDto;
 import com.HackPro.MedVault.security.MedVaultUserDetails;
 import com.HackPro.MedVault.services.PatientService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -16,10 +19,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PatientController {
 
+    // Clients may keep the profile but must revalidate it with If-None-Match before use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final PatientService patientService;
 
     /**
      * Get current authenticated patient's profile
+     * The ETag comes from the profile's updatedAt; a matching If-None-Match gets 304 without a body
      *
      * @param userDetails Authenticated user details from JWT token
      * @return PatientResponseDto with patient information
@@ -27,10 +34,16 @@ public class PatientController {
     @GetMapping("/profile")
     @PreAuthorize("hasRole('PATIENT')")
     public ResponseEntity<PatientResponseDto> getPatientProfile(
-            @AuthenticationPrincipal MedVaultUserDetails userDetails) {
+            @AuthenticationPrincipal MedVaultUserDetails userDetails,
+            WebRequest webRequest) {
 
+        // Served from PatientProfileCache, so revalidation costs no query
         PatientResponseDto profile = patientService.getPatientProfile(userDetails.getUserId());
-        return ResponseEntity.ok(profile);
+        String eTag = "\"profile-" + profile.getId() + "-" + profile.getUpdatedAt() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(profile);
     }
 
     /**
@@ -0,0 +1,38 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.AccessControl.PermissionLevel;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccessPermissionResponseDto {
+    private UUID id;
+
+    // Doctor holding the grant
+    private UUID doctorId;
+    private String doctorFirstName;
+    private String doctorLastName;
+    private String specialization;
+    private String hospitalAffiliation;
+
+    private PermissionLevel permissionLevel;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private Date validFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private Date validUntil;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+}
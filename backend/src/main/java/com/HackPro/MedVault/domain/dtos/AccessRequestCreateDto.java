@@ -0,0 +1,37 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.AccessControl.PermissionLevel;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccessRequestCreateDto {
+
+    @NotNull(message = "Patient ID is required")
+    private UUID patientId;
+
+    @NotBlank(message = "Reason for access is required")
+    @Size(max = 500, message = "Reason for access must be at most 500 characters")
+    private String reasonForAccess;
+
+    @NotNull(message = "Permission level is required")
+    private PermissionLevel permissionLevel;
+
+    // How long the grant lasts once the patient's OTP is verified
+    @Min(value = 1, message = "Access duration must be at least 1 hour")
+    @Max(value = 720, message = "Access duration must be at most 720 hours")
+    @Builder.Default
+    private int accessDurationHours = 24;
+}
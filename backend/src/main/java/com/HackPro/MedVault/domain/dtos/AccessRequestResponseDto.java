@@ -0,0 +1,45 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessRequestStatus;
+import com.HackPro.MedVault.domain.entities.AccessControl.PermissionLevel;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccessRequestResponseDto {
+    private UUID id;
+    private UUID patientId;
+
+    // Requesting doctor
+    private UUID doctorId;
+    private String doctorFirstName;
+    private String doctorLastName;
+    private String specialization;
+    private String hospitalAffiliation;
+
+    private AccessRequestStatus status;
+    private PermissionLevel permissionLevel;
+    private String reasonForAccess;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private Date otpExpiryTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private Date accessGrantedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private Date accessExpiryTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+}
@@ -18,6 +18,9 @@ public class AuthResponseDto {
     private String accessToken;
     private String refreshToken;
 
+    // Short-lived token for /verify-mfa; issued instead of the access and refresh tokens when MFA is pending
+    private String tempToken;
+
     @Builder.Default
     private String tokenType = "Bearer";
 
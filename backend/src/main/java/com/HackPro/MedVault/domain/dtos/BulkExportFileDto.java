@@ -0,0 +1,16 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkExportFileDto {
+    private String type;
+    private String url;
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bulk Data complete-status body: one NDJSON file per resource type and partition
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkExportManifestDto {
+    private Instant transactionTime;
+    private String request;
+    private boolean requiresAccessToken;
+    private List<BulkExportFileDto> output;
+    private List<BulkExportFileDto> error;
+}
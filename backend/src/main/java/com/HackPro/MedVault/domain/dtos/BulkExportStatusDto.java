@@ -0,0 +1,23 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkExportStatusDto {
+    private ExportJobStatus status;
+
+    // e.g. "3/16 partitions", sent as X-Progress while the job runs
+    private String progress;
+
+    // Set once the job has completed
+    private BulkExportManifestDto manifest;
+
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorStatusUpdateDto {
+
+    @NotEmpty(message = "Doctor IDs are required")
+    @Size(max = 500, message = "At most 500 doctors can be updated at once")
+    private List<UUID> doctorIds;
+
+    @NotNull(message = "Target status is required")
+    private VerificationStatus status;
+
+    @Size(max = 500, message = "Reason must be at most 500 characters")
+    private String reason;
+}
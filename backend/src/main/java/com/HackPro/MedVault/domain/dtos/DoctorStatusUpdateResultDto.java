@@ -0,0 +1,22 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorStatusUpdateResultDto {
+    private VerificationStatus status;
+    private List<UUID> updated;
+
+    // Unknown doctors, or doctors whose current status does not allow the transition
+    private List<UUID> skipped;
+}
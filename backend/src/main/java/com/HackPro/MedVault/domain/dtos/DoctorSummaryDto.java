@@ -0,0 +1,29 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorSummaryDto {
+    private UUID id;
+    private String email;
+    private String phoneNumber;
+    private String firstName;
+    private String lastName;
+    private String licenseNumber;
+    private Date licenseExpiryDate;
+    private String specialization;
+    private String hospitalAffiliation;
+    private VerificationStatus verificationStatus;
+    private LocalDateTime registeredAt;
+}
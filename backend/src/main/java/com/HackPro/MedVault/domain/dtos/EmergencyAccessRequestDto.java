@@ -0,0 +1,29 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmergencyAccessRequestDto {
+
+    @NotBlank(message = "License number is required")
+    @Size(max = 50, message = "License number cannot exceed 50 characters")
+    private String licenseNumber;
+
+    @NotBlank(message = "Aadhaar number is required")
+    @Pattern(regexp = "^\\d{12}$", message = "Aadhaar number must be exactly 12 digits")
+    private String aadhaarNumber;
+
+    @NotBlank(message = "Aadhaar OTP is required")
+    @Pattern(regexp = "^[0-9]{6}$", message = "Aadhaar OTP must be 6 digits")
+    private String otp;
+
+    @Size(max = 500, message = "Reason cannot exceed 500 characters")
+    private String reason;
+}
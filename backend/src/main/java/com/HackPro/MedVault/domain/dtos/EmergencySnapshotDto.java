@@ -0,0 +1,32 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compact emergency view of a patient, precomputed by EmergencySnapshotCache
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmergencySnapshotDto {
+    private UUID patientId;
+    private String bloodGroup;
+    private String criticalAllergies;
+    private String chronicDiseases;
+    private String currentMedications;
+    private String emergencyContactName;
+    private String emergencyContactPhone;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastUpdated;
+}
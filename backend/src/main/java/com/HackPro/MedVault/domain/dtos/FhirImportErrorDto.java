@@ -0,0 +1,19 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FhirImportErrorDto {
+    // Zero-based position in the input: NDJSON line or Bundle entry
+    private long index;
+    private String resourceType;
+    private String id;
+    private int status;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FhirImportReportDto {
+    private long received;
+    private long imported;
+    private long failed;
+    private Map<String, Long> importedByType;
+
+    // Capped at fhir.import.max-reported-errors; errorsTruncated tells whether more were dropped
+    private List<FhirImportErrorDto> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,44 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.MedicalRecords.EncryptionStatus;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.RecordType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MedicalRecordDetailDto {
+    private UUID id;
+    private UUID patientId;
+    private RecordType recordType;
+    private String title;
+    private String description;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate recordDate;
+
+    private String documentUrl;
+    private EncryptionStatus encryptionStatus;
+    private boolean emergencyVisible;
+    private UUID uploadedBy;
+
+    // Stored FHIR resource, written out as JSON rather than as a string
+    @JsonRawValue
+    private String fhirResource;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MedicalRecordPageDto {
+    private List<MedicalRecordSummaryDto> items;
+
+    // Opaque keyset cursor for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,39 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.MedicalRecords.RecordType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalRecordRequestDto {
+
+    @NotNull(message = "Record type is required")
+    private RecordType recordType;
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
+    private String title;
+
+    @Size(max = 2000, message = "Description must be at most 2000 characters")
+    private String description;
+
+    @NotNull(message = "Record date is required")
+    @PastOrPresent(message = "Record date cannot be in the future")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate recordDate;
+
+    @Size(max = 255, message = "Document URL must be at most 255 characters")
+    private String documentUrl;
+
+    private boolean emergencyVisible;
+}
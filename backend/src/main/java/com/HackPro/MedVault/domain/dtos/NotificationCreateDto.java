@@ -0,0 +1,24 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import com.HackPro.MedVault.domain.entities.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationCreateDto {
+    private UUID userId;
+    private NotificationType type;
+    private String title;
+    private String message;
+
+    // Additional context, stored as JSON
+    private Map<String, Object> metadata;
+}
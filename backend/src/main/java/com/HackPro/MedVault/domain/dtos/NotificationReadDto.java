@@ -0,0 +1,20 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadDto {
+
+    @NotEmpty(message = "Notification IDs are required")
+    @Size(max = 500, message = "At most 500 notifications can be marked read at once")
+    private List<UUID> ids;
+}
@@ -0,0 +1,20 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * First code from the authenticator app, confirming a TOTP enrollment
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotpConfirmRequestDto {
+
+    @NotBlank(message = "Code is required")
+    @Pattern(regexp = "^[0-9]{6}$", message = "Code must be 6 digits")
+    private String code;
+}
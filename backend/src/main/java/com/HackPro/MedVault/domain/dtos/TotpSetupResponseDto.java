@@ -0,0 +1,18 @@
+package com.HackPro.MedVault.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pending TOTP enrollment: the secret to add to an authenticator app, directly or as a QR code of the URI
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotpSetupResponseDto {
+    private String secret;
+    private String otpauthUri;
+}
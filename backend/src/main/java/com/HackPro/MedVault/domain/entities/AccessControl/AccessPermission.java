@@ -2,6 +2,7 @@ package com.HackPro.MedVault.domain.entities.AccessControl;
 
 import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.generators.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -20,7 +21,7 @@ import java.util.UUID;
 @Builder
 public class AccessPermission {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
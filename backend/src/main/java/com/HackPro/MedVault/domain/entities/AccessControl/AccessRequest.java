@@ -2,6 +2,7 @@ package com.HackPro.MedVault.domain.entities.AccessControl;
 
 import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.generators.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -19,7 +20,7 @@ import java.util.UUID;
 @Builder
 public class AccessRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,7 +36,12 @@ public class AccessRequest {
 
     private AccessType accessType; // OTP_CONSENT, EMERGENCY_ACCESS
 
-    private String otpCode; // For OTP-based access
+    private String otpCode; // HMAC-SHA256 hex of the OTP sent to the patient
+
+    private Integer otpAttempts;
+
+    @Enumerated(EnumType.STRING)
+    private PermissionLevel requestedPermissionLevel;
 
     @Temporal(TemporalType.TIMESTAMP)
     private Date otpExpiryTime;
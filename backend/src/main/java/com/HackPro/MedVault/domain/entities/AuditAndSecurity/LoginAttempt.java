@@ -1,5 +1,6 @@
 package com.HackPro.MedVault.domain.entities.AuditAndSecurity;
 
+import com.HackPro.MedVault.domain.generators.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,7 +16,7 @@ import java.util.UUID;
 @Builder
 public class LoginAttempt {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -0,0 +1,27 @@
+package com.HackPro.MedVault.domain.entities.AuditAndSecurity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "revoked_tokens")
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@Builder
+public class RevokedToken {
+    // The token's jti claim
+    @Id
+    private UUID jti;
+
+    // When the token expires anyway; the row is purged after that
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,45 @@
+package com.HackPro.MedVault.domain.entities.BulkExport;
+
+import com.HackPro.MedVault.domain.generators.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "export_jobs")
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@Builder
+public class ExportJob {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    private ExportJobStatus status;
+
+    @Column(length = 1000)
+    private String resourceTypes; // Comma-separated _type filter, null exports every type
+
+    private LocalDateTime since; // _since filter on last update
+
+    @Column(length = 2000)
+    private String requestUrl;
+
+    @Column(length = 1000)
+    private String error;
+
+    // Also the Bulk Data transactionTime
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,10 @@
+package com.HackPro.MedVault.domain.entities.BulkExport;
+
+public enum ExportJobStatus {
+    ACCEPTED,     // Partitions planned, none started yet
+    IN_PROGRESS,  // At least one partition claimed
+    COMPLETED,    // Every partition completed; files can be downloaded
+    FAILED,       // A partition ran out of attempts
+    CANCELLED,    // Deleted by the requester
+    EXPIRED       // Output files removed after the retention period
+}
@@ -0,0 +1,49 @@
+package com.HackPro.MedVault.domain.entities.BulkExport;
+
+import com.HackPro.MedVault.domain.generators.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Entity
+@Table(name = "export_partitions")
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@Builder
+public class ExportPartition {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    private ExportJob job;
+
+    @Column(nullable = false)
+    private Integer partitionIndex;
+
+    // Patient IDs in [rangeStart, rangeEnd); null means unbounded
+    private UUID rangeStart;
+    private UUID rangeEnd;
+
+    @Enumerated(EnumType.STRING)
+    private ExportPartitionStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Resources written per FHIR resource type, one output file each
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Long> resourceCounts;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,9 @@
+package com.HackPro.MedVault.domain.entities.BulkExport;
+
+public enum ExportPartitionStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -1,6 +1,7 @@
 package com.HackPro.MedVault.domain.entities.MedicalRecords;
 
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.generators.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -19,7 +20,7 @@ import java.util.UUID;
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
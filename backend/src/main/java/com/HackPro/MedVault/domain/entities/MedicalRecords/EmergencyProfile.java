@@ -1,6 +1,8 @@
 package com.HackPro.MedVault.domain.entities.MedicalRecords;
 
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.generators.UuidV7;
+import com.HackPro.MedVault.events.EmergencyProfileChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -10,6 +12,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "emergency_profiles")
+@EntityListeners(EmergencyProfileChangeListener.class)
 @AllArgsConstructor
 @NoArgsConstructor
 @Setter
@@ -17,7 +20,7 @@ import java.util.UUID;
 @Builder
 public class EmergencyProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @OneToOne
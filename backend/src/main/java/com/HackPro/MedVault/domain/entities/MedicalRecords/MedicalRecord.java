@@ -2,10 +2,13 @@ package com.HackPro.MedVault.domain.entities.MedicalRecords;
 
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
 import com.HackPro.MedVault.domain.entities.UserManagement.User;
+import com.HackPro.MedVault.domain.generators.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.Date;
@@ -20,7 +23,8 @@ import java.util.UUID;
 @Builder
 public class MedicalRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    // FHIR import generates the id up front to embed it in the stored resource
+    @UuidV7(allowAssigned = true)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,11 +41,12 @@ public class MedicalRecord {
     private String description;
 
     @Temporal(TemporalType.DATE)
+    @Column(nullable = false)
     private Date recordDate;
     private String documentUrl; // S3/Cloud storage path
 
-    @Column(columnDefinition = "TEXT")
-    private String fhirResource; // Serialized FHIR resource (JSON)
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String fhirResource; // FHIR resource JSON, stored as JSONB and searched through its indexed paths
 
     @Enumerated(EnumType.STRING)
     private EncryptionStatus encryptionStatus;
@@ -0,0 +1,6 @@
+package com.HackPro.MedVault.domain.entities.Messaging;
+
+public enum MessageChannel {
+    EMAIL,
+    SMS
+}
@@ -0,0 +1,56 @@
+package com.HackPro.MedVault.domain.entities.Messaging;
+
+import com.HackPro.MedVault.domain.generators.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbound_messages")
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@Builder
+public class OutboundMessage {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MessageChannel channel;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    // Template name, rendered by MessageTemplateRenderer when the message is sent
+    @Column(nullable = false)
+    private String template;
+
+    // Template parameters as JSON, encrypted with EncryptionService; cleared once sent
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboundMessageStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Due time while PENDING, lease expiry while SENDING
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,8 @@
+package com.HackPro.MedVault.domain.entities.Messaging;
+
+public enum OutboundMessageStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -1,7 +1,7 @@
 package com.HackPro.MedVault.domain.entities.UserManagement;
 
-import com.HackPro.MedVault.domain.entities.MedicalRecords.EmergencyProfile;
 import com.HackPro.MedVault.domain.entities.MedicalRecords.MedicalRecord;
+import com.HackPro.MedVault.events.PatientChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -12,6 +12,7 @@ import java.util.List;
 @Entity
 @Table(name = "patients")
 @PrimaryKeyJoinColumn(name = "user_id")
+@EntityListeners(PatientChangeListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 @Setter
@@ -45,9 +46,10 @@ public class Patient extends User {
 
     private String emergencyContactPhone;
 
-    @OneToMany(mappedBy = "patient", cascade = CascadeType.ALL)
+    // A patient can have thousands of records: never traverse this collection, page through
+    // MedicalRecordRepository instead. Kept only as the inverse side of MedicalRecord.patient.
+    @OneToMany(mappedBy = "patient")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     private List<MedicalRecord> medicalRecords;
-
-    @OneToOne(mappedBy = "patient", cascade = CascadeType.ALL)
-    private EmergencyProfile emergencyProfile;
 }
\ No newline at end of file
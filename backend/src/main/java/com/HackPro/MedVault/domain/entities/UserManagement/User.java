@@ -1,9 +1,14 @@
 package com.HackPro.MedVault.domain.entities.UserManagement;
 
+import com.HackPro.MedVault.domain.generators.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +17,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "users")
 @Inheritance(strategy = InheritanceType.JOINED)
+// One region for the whole hierarchy: a Doctor or Patient is cached under its User id
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
@@ -19,9 +27,10 @@ import java.util.UUID;
 @Getter
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -36,6 +45,13 @@ public class User {
 
     private Boolean mfaEnabled = false;
 
+    // Base32 TOTP secret, encrypted with EncryptionService; set on enrollment, used once confirmed
+    private String totpSecret;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean totpEnabled = false;
+
     private Boolean isActive = true;
 
     @CreationTimestamp
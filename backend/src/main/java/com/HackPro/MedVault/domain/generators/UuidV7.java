@@ -0,0 +1,25 @@
+package com.HackPro.MedVault.domain.generators;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a time-ordered UUIDv7 (RFC 9562) primary key for a {@link java.util.UUID} id field.
+ * Keys created close together land next to each other in the primary key B-tree instead of
+ * on random pages, which keeps inserts append-mostly and indexes compact.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+
+    /**
+     * Keep an id already set on the entity when it is persisted instead of generating one. Only for
+     * entities whose id must be known before insert; other entities always get a generated id.
+     */
+    boolean allowAssigned() default false;
+}
@@ -0,0 +1,64 @@
+package com.HackPro.MedVault.domain.generators;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 layout: 48-bit Unix epoch milliseconds, 4-bit version, 12-bit sub-millisecond counter,
+ * 2-bit variant and 62 random bits. The counter (RFC 9562 method 1) keeps ids generated within
+ * the same millisecond in this JVM strictly increasing.
+ * <p>
+ * An id assigned before persist is kept only where the field is annotated
+ * {@code @UuidV7(allowAssigned = true)}.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (unixMillis << 12) | counter of the last generated id
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    private final boolean allowAssigned;
+
+    public UuidV7Generator(UuidV7 config) {
+        this.allowAssigned = config.allowAssigned();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return allowAssigned && currentValue != null ? currentValue : next();
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return allowAssigned;
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << 12;
+        // A counter overflow simply borrows the next millisecond, so ordering is never violated
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(
+                last -> Math.max(candidate, last + 1));
+
+        long unixMillis = timestampAndCounter >>> 12;
+        long counter = timestampAndCounter & 0xFFFL;
+
+        long mostSigBits = (unixMillis << 16) | 0x7000L | counter;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,14 @@
+package com.HackPro.MedVault.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a doctor's access to a patient is granted, revoked or expires.
+ * Listeners that cache grant state must drop what they hold for {@code doctorId}.
+ */
+public record AccessGrantChangedEvent(UUID doctorId, UUID patientId, Reason reason) {
+
+    public enum Reason {
+        GRANTED, REVOKED, EXPIRED
+    }
+}
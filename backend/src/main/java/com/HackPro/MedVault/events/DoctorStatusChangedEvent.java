@@ -0,0 +1,13 @@
+package com.HackPro.MedVault.events;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when the verification status of one or more doctors changes.
+ * Listeners that cache principals or grants must drop what they hold for these doctors.
+ */
+public record DoctorStatusChangedEvent(List<UUID> doctorIds, VerificationStatus status) {
+}
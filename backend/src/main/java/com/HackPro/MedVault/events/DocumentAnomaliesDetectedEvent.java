@@ -0,0 +1,11 @@
+package com.HackPro.MedVault.events;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when n8n processing reports anomalies that were not already recorded on the document.
+ */
+public record DocumentAnomaliesDetectedEvent(UUID documentId, UUID patientId, String documentTitle,
+                                             String category, List<String> anomalies) {
+}
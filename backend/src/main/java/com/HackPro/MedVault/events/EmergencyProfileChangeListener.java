@@ -0,0 +1,29 @@
+package com.HackPro.MedVault.events;
+
+import com.HackPro.MedVault.domain.entities.MedicalRecords.EmergencyProfile;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns every write to an {@link EmergencyProfile} into an
+ * {@link EmergencyProfileChangedEvent}, whichever code path made the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmergencyProfileChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(EmergencyProfile profile) {
+        if (profile.getPatient() != null) {
+            eventPublisher.publishEvent(new EmergencyProfileChangedEvent(profile.getPatient().getId()));
+        }
+    }
+}
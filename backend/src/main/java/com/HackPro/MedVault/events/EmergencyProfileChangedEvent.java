@@ -0,0 +1,9 @@
+package com.HackPro.MedVault.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a patient's emergency profile is created, updated or deleted.
+ */
+public record EmergencyProfileChangedEvent(UUID patientId) {
+}
@@ -0,0 +1,12 @@
+package com.HackPro.MedVault.events;
+
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+
+import java.util.UUID;
+
+/**
+ * Published when an email or SMS is queued; once the queuing transaction commits the dispatcher
+ * picks it up without waiting for its next poll.
+ */
+public record OutboundMessageQueuedEvent(UUID messageId, MessageChannel channel) {
+}
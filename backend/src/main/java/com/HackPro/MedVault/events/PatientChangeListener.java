@@ -0,0 +1,28 @@
+package com.HackPro.MedVault.events;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns every update or removal of a {@link Patient} into a
+ * {@link PatientProfileChangedEvent}. Updates that only touch the inherited {@code users} columns
+ * (e.g. a password reset) are included, since the managed instance is still a Patient.
+ */
+@Component
+@RequiredArgsConstructor
+public class PatientChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Patient patient) {
+        if (patient.getId() != null) {
+            eventPublisher.publishEvent(new PatientProfileChangedEvent(patient.getId()));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.HackPro.MedVault.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a patient's user or patient row is updated or deleted.
+ */
+public record PatientProfileChangedEvent(UUID patientId) {
+}
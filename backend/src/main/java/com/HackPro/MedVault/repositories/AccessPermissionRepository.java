@@ -0,0 +1,68 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessPermission;
+import com.HackPro.MedVault.domain.entities.AccessControl.PermissionLevel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccessPermissionRepository extends JpaRepository<AccessPermission, UUID> {
+
+    /**
+     * Grants of a doctor that are not revoked and not yet expired (uses idx_access_permissions_doctor_patient)
+     */
+    @Query("""
+            SELECT p.patient.id AS patientId, p.permissionLevel AS permissionLevel,
+                   p.validFrom AS validFrom, p.validUntil AS validUntil
+            FROM AccessPermission p
+            WHERE p.doctor.id = :doctorId
+              AND p.isRevoked = false
+              AND (p.validUntil IS NULL OR p.validUntil > :now)
+            """)
+    List<ActiveGrant> findActiveGrants(@Param("doctorId") UUID doctorId, @Param("now") Date now);
+
+    /**
+     * Live grants given by a patient (uses idx_access_permissions_patient_active)
+     */
+    @Query("""
+            SELECT p FROM AccessPermission p JOIN FETCH p.doctor
+            WHERE p.patient.id = :patientId AND p.isRevoked = false
+            ORDER BY p.createdAt DESC
+            """)
+    List<AccessPermission> findActiveByPatientId(@Param("patientId") UUID patientId);
+
+    Optional<AccessPermission> findByIdAndPatientId(UUID id, UUID patientId);
+
+    /**
+     * Doctors currently holding a live grant for the patient (uses idx_access_permissions_patient_active)
+     */
+    @Query("""
+            SELECT DISTINCT p.doctor.id FROM AccessPermission p
+            WHERE p.patient.id = :patientId
+              AND p.isRevoked = false
+              AND p.permissionLevel <> com.HackPro.MedVault.domain.entities.AccessControl.PermissionLevel.NO_ACCESS
+              AND (p.validFrom IS NULL OR p.validFrom <= :now)
+              AND (p.validUntil IS NULL OR p.validUntil > :now)
+            """)
+    List<UUID> findPermittedDoctorIds(@Param("patientId") UUID patientId, @Param("now") Date now);
+
+    /**
+     * Minimal grant view used by the access decision cache
+     */
+    interface ActiveGrant {
+        UUID getPatientId();
+
+        PermissionLevel getPermissionLevel();
+
+        Date getValidFrom();
+
+        Date getValidUntil();
+    }
+}
@@ -0,0 +1,75 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessRequest;
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessRequestStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccessRequestRepository extends JpaRepository<AccessRequest, UUID> {
+
+    /**
+     * Lock the request row for an OTP check, so concurrent guesses count one after another and only
+     * one of them can move it out of PENDING
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AccessRequest> findByIdAndDoctorId(UUID id, UUID doctorId);
+
+    /**
+     * Lock the request row while the patient denies it, so a concurrent OTP check cannot approve it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AccessRequest> findByIdAndPatientId(UUID id, UUID patientId);
+
+    boolean existsByDoctorIdAndPatientIdAndStatus(UUID doctorId, UUID patientId, AccessRequestStatus status);
+
+    /**
+     * Pending requests of a patient, newest first (uses idx_access_requests_patient_status)
+     */
+    @Query("""
+            SELECT r FROM AccessRequest r JOIN FETCH r.doctor
+            WHERE r.patient.id = :patientId
+              AND r.status = com.HackPro.MedVault.domain.entities.AccessControl.AccessRequestStatus.PENDING
+            ORDER BY r.createdAt DESC
+            """)
+    List<AccessRequest> findPendingByPatientId(@Param("patientId") UUID patientId);
+
+    /**
+     * OTP deadlines of all pending requests, used to seed the in-memory expiry wheel on startup
+     */
+    @Query("""
+            SELECT r.id AS id, r.otpExpiryTime AS otpExpiryTime FROM AccessRequest r
+            WHERE r.status = com.HackPro.MedVault.domain.entities.AccessControl.AccessRequestStatus.PENDING
+              AND r.otpExpiryTime IS NOT NULL
+            """)
+    List<PendingDeadline> findPendingDeadlines();
+
+    /**
+     * Expire every pending request whose OTP has lapsed in one statement
+     * (uses idx_access_requests_pending_otp_expiry)
+     */
+    @Modifying
+    @Query("""
+            UPDATE AccessRequest r
+            SET r.status = com.HackPro.MedVault.domain.entities.AccessControl.AccessRequestStatus.EXPIRED
+            WHERE r.status = com.HackPro.MedVault.domain.entities.AccessControl.AccessRequestStatus.PENDING
+              AND r.otpExpiryTime < :now
+            """)
+    int expirePending(@Param("now") Date now);
+
+    interface PendingDeadline {
+        UUID getId();
+
+        Date getOtpExpiryTime();
+    }
+}
@@ -1,11 +1,136 @@
 package com.HackPro.MedVault.repositories;
 
 import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface DoctorRepository extends JpaRepository<Doctor, UUID> {
+
+    /**
+     * Emergency access login. The result (a doctor id) is query-cached; the Doctor itself comes
+     * from the second-level cache. Any write to users or doctors invalidates the cached result.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-lookups")
+    })
     Optional<Doctor> findByLicenseNumber(String licenseNumber);
+
+    /**
+     * Next keyset batch of verified doctors whose license expires on the given date
+     * (uses idx_doctors_verified_license_expiry)
+     */
+    @Query("""
+            SELECT d.id FROM Doctor d
+            WHERE d.verificationStatus = com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus.VERIFIED
+              AND d.licenseExpiryDate = :expiryDate
+              AND d.id > :afterId
+            ORDER BY d.id
+            """)
+    List<UUID> findVerifiedIdsExpiringOn(@Param("expiryDate") Date expiryDate,
+                                         @Param("afterId") UUID afterId,
+                                         Limit limit);
+
+    /**
+     * Verified doctors whose license expired before the given date. Expired doctors leave the
+     * partial index once flipped, so repeating this query walks forward without a cursor.
+     */
+    @Query("""
+            SELECT d.id FROM Doctor d
+            WHERE d.verificationStatus = com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus.VERIFIED
+              AND d.licenseExpiryDate < :today
+            ORDER BY d.licenseExpiryDate, d.id
+            """)
+    List<UUID> findVerifiedIdsExpiredBefore(@Param("today") Date today, Limit limit);
+
+    // Native updates bypass the second-level cache; naming the table evicts the users region
+    // (shared by the whole User hierarchy) and leaves other regions alone
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "doctors"))
+    @Query(value = """
+            UPDATE doctors SET verification_status = 'EXPIRED'
+            WHERE user_id IN (:ids) AND verification_status = 'VERIFIED'
+            """, nativeQuery = true)
+    int expireLicenses(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Keyset page of the admin verification queue, oldest registration first
+     * (uses idx_doctors_status_user)
+     */
+    @Query("""
+            SELECT d.id AS id, d.email AS email, d.phoneNumber AS phoneNumber,
+                   d.firstName AS firstName, d.lastName AS lastName, d.licenseNumber AS licenseNumber,
+                   d.licenseExpiryDate AS licenseExpiryDate, d.specialization AS specialization,
+                   d.hospitalAffiliation AS hospitalAffiliation, d.verificationStatus AS verificationStatus,
+                   d.createdAt AS createdAt
+            FROM Doctor d
+            WHERE d.verificationStatus = :status
+              AND d.id > :afterId
+              AND (:specialization IS NULL OR d.specialization = :specialization)
+            ORDER BY d.id
+            """)
+    List<DoctorQueueItem> findQueue(@Param("status") VerificationStatus status,
+                                    @Param("afterId") UUID afterId,
+                                    @Param("specialization") String specialization,
+                                    Limit limit);
+
+    /**
+     * Lock the requested doctors that may move to the target status; the rest are left untouched
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT d.id FROM Doctor d
+            WHERE d.id IN :ids
+              AND d.verificationStatus IN :fromStatuses
+              AND (:requireValidLicense = false OR d.licenseExpiryDate >= :today)
+            """)
+    List<UUID> lockTransitionable(@Param("ids") Collection<UUID> ids,
+                                  @Param("fromStatuses") Collection<VerificationStatus> fromStatuses,
+                                  @Param("requireValidLicense") boolean requireValidLicense,
+                                  @Param("today") Date today);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "doctors"))
+    @Query(value = "UPDATE doctors SET verification_status = :status WHERE user_id IN (:ids)", nativeQuery = true)
+    int updateVerificationStatus(@Param("ids") Collection<UUID> ids, @Param("status") String status);
+
+    interface DoctorQueueItem {
+        UUID getId();
+
+        String getEmail();
+
+        String getPhoneNumber();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getLicenseNumber();
+
+        Date getLicenseExpiryDate();
+
+        String getSpecialization();
+
+        String getHospitalAffiliation();
+
+        VerificationStatus getVerificationStatus();
+
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -1,13 +1,57 @@
 package com.HackPro.MedVault.repositories;
 
 import com.HackPro.MedVault.domain.entities.MedicalRecords.Document;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
     List<Document> findByPatientIdOrderByCreatedAtDesc(UUID patientId);
+
+    /**
+     * Documents of the patients in an ID range for bulk export. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT d.id AS id, d.patient.id AS patientId, d.title AS title, d.fileUrl AS fileUrl,
+                   d.fileName AS fileName, d.category AS category, d.documentType AS documentType,
+                   d.summary AS summary, d.createdAt AS createdAt
+            FROM Document d
+            WHERE (:fromId IS NULL OR d.patient.id >= :fromId)
+              AND (:toId IS NULL OR d.patient.id < :toId)
+              AND (:since IS NULL OR d.updatedAt >= :since)
+            """)
+    Stream<ExportDocument> streamForExport(@Param("fromId") UUID fromId,
+                                           @Param("toId") UUID toId,
+                                           @Param("since") LocalDateTime since);
+
+    interface ExportDocument {
+        UUID getId();
+
+        UUID getPatientId();
+
+        String getTitle();
+
+        String getFileUrl();
+
+        String getFileName();
+
+        String getCategory();
+
+        String getDocumentType();
+
+        String getSummary();
+
+        LocalDateTime getCreatedAt();
+    }
 }
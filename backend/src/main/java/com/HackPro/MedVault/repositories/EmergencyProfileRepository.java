@@ -2,8 +2,45 @@ package com.HackPro.MedVault.repositories;
 
 import com.HackPro.MedVault.domain.entities.MedicalRecords.EmergencyProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface EmergencyProfileRepository extends JpaRepository<EmergencyProfile, UUID> {
+
+    /**
+     * Only the fields served on the emergency path (uses uk_emergency_profiles_patient)
+     */
+    @Query("""
+            SELECT e.bloodGroup AS bloodGroup, e.criticalAllergies AS criticalAllergies,
+                   e.chronicDiseases AS chronicDiseases, e.currentMedications AS currentMedications,
+                   e.emergencyContactName AS emergencyContactName,
+                   e.emergencyContactPhone AS emergencyContactPhone, e.lastUpdated AS lastUpdated
+            FROM EmergencyProfile e
+            WHERE e.patient.id = :patientId
+            """)
+    Optional<EmergencySummary> findSummaryByPatientId(@Param("patientId") UUID patientId);
+
+    List<EmergencyProfile> findByPatientIdIn(Collection<UUID> patientIds);
+
+    interface EmergencySummary {
+        String getBloodGroup();
+
+        String getCriticalAllergies();
+
+        String getChronicDiseases();
+
+        String getCurrentMedications();
+
+        String getEmergencyContactName();
+
+        String getEmergencyContactPhone();
+
+        LocalDateTime getLastUpdated();
+    }
 }
@@ -0,0 +1,76 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportJob;
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ExportJobRepository extends JpaRepository<ExportJob, UUID> {
+
+    Optional<ExportJob> findByIdAndRequestedBy(UUID id, UUID requestedBy);
+
+    @Query("SELECT j.id FROM ExportJob j WHERE j.status IN :statuses")
+    List<UUID> findIdsByStatusIn(@Param("statuses") Collection<ExportJobStatus> statuses);
+
+    @Modifying
+    @Query("""
+            UPDATE ExportJob j SET j.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.IN_PROGRESS
+            WHERE j.id = :id AND j.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.ACCEPTED
+            """)
+    int markStarted(@Param("id") UUID id);
+
+    /**
+     * Complete running jobs whose partitions have all completed
+     */
+    @Modifying
+    @Query("""
+            UPDATE ExportJob j
+            SET j.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.COMPLETED, j.completedAt = :now
+            WHERE j.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.IN_PROGRESS
+              AND NOT EXISTS (
+                  SELECT 1 FROM ExportPartition p
+                  WHERE p.job = j
+                    AND p.status <> com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.COMPLETED)
+            """)
+    int completeFinished(@Param("now") LocalDateTime now);
+
+    /**
+     * Fail open jobs that have a partition out of attempts
+     */
+    @Modifying
+    @Query("""
+            UPDATE ExportJob j
+            SET j.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.FAILED,
+                j.completedAt = :now, j.error = :error
+            WHERE j.status IN (com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.ACCEPTED,
+                               com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.IN_PROGRESS)
+              AND EXISTS (
+                  SELECT 1 FROM ExportPartition p
+                  WHERE p.job = j
+                    AND p.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.FAILED)
+            """)
+    int failBroken(@Param("now") LocalDateTime now, @Param("error") String error);
+
+    /**
+     * Terminal jobs whose output is past the retention period
+     */
+    @Query("""
+            SELECT j.id FROM ExportJob j
+            WHERE j.status IN (com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.COMPLETED,
+                               com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.FAILED)
+              AND j.completedAt < :before
+            """)
+    List<UUID> findExpirable(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = :status WHERE j.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") ExportJobStatus status);
+}
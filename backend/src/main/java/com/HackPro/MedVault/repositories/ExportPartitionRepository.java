@@ -0,0 +1,63 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportPartition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExportPartitionRepository extends JpaRepository<ExportPartition, UUID> {
+
+    List<ExportPartition> findByJobIdOrderByPartitionIndex(UUID jobId);
+
+    /**
+     * Claimable partitions of open jobs, oldest job first (uses idx_export_partitions_open)
+     */
+    @Query("""
+            SELECT p FROM ExportPartition p JOIN FETCH p.job j
+            WHERE p.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.PENDING
+              AND j.status IN (com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.ACCEPTED,
+                               com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus.IN_PROGRESS)
+            ORDER BY j.createdAt, p.partitionIndex
+            """)
+    List<ExportPartition> findClaimable(Limit limit);
+
+    /**
+     * Claim a pending partition; 0 means another dispatcher got it first
+     */
+    @Modifying
+    @Query("""
+            UPDATE ExportPartition p
+            SET p.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.RUNNING,
+                p.attempts = p.attempts + 1, p.startedAt = :now
+            WHERE p.id = :id
+              AND p.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.PENDING
+            """)
+    int claim(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Partitions left running by a previous process go back to the queue
+     */
+    @Modifying
+    @Query("""
+            UPDATE ExportPartition p
+            SET p.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.PENDING
+            WHERE p.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.RUNNING
+            """)
+    int requeueRunning();
+
+    @Modifying
+    @Query("""
+            UPDATE ExportPartition p
+            SET p.status = com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.CANCELLED
+            WHERE p.job.id = :jobId
+              AND p.status IN (com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.PENDING,
+                               com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus.RUNNING)
+            """)
+    int cancelOpen(@Param("jobId") UUID jobId);
+}
@@ -0,0 +1,48 @@
+package com.HackPro.MedVault.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * FHIR search over {@code medical_records.fhir_resource}. Every supported search parameter maps
+ * to a predicate on an indexed JSONB expression (see V7__medical_record_fhir_jsonb.sql).
+ */
+public interface FhirSearchRepository {
+
+    /**
+     * Stream one page of matching resources, newest first, without materializing the page
+     *
+     * @param criteria Search predicates
+     * @param offset   Rows to skip
+     * @param limit    Maximum rows to return
+     * @param sink     Receives each record ID and its raw resource JSON
+     * @return number of resources streamed
+     */
+    int streamResources(FhirSearchCriteria criteria, long offset, int limit, BiConsumer<UUID, String> sink);
+
+    /**
+     * Whether any resource matches beyond the first {@code offset} rows
+     */
+    boolean hasResourcesBeyond(FhirSearchCriteria criteria, long offset);
+
+    record FhirSearchCriteria(UUID patientId,
+                              String resourceType,
+                              List<Coding> codes,
+                              String status,
+                              List<DateBound> dates) {
+    }
+
+    /**
+     * One token of a {@code code} parameter; a null system matches codes from any system
+     */
+    record Coding(String system, String code) {
+    }
+
+    /**
+     * Date range {@code [from, until)} on the resource date; either end may be null
+     */
+    record DateBound(LocalDate from, LocalDate until) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.HackPro.MedVault.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Builds the search SQL from {@link FhirSearchCriteria}. The JSONB expressions below are the ones
+ * indexed in V7__medical_record_fhir_jsonb.sql; PostgreSQL only uses an expression index when the
+ * query repeats the indexed expression verbatim, so change both together.
+ */
+@RequiredArgsConstructor
+public class FhirSearchRepositoryImpl implements FhirSearchRepository {
+
+    private static final String RESOURCE_TYPE = "(fhir_resource ->> 'resourceType')";
+    private static final String RESOURCE_DATE = "(COALESCE(fhir_resource ->> 'effectiveDateTime', "
+            + "fhir_resource ->> 'authoredOn', fhir_resource ->> 'onsetDateTime'))";
+    private static final String CODINGS = "(fhir_resource -> 'code' -> 'coding')";
+    private static final String STATUS = "(fhir_resource ->> 'status')";
+
+    // Rows fetched per round trip while streaming; needs a transaction on PostgreSQL to take effect
+    private static final int FETCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public int streamResources(FhirSearchCriteria criteria, long offset, int limit, BiConsumer<UUID, String> sink) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT CAST(id AS VARCHAR) AS id, CAST(fhir_resource AS TEXT) AS resource FROM medical_records"
+                + where(criteria, args)
+                // Same order and NULL placement as idx_medical_records_fhir_type_date, so a page with a
+                // resource type is read in index order instead of sorted
+                + " ORDER BY " + RESOURCE_DATE + " DESC NULLS LAST, id DESC"
+                + " OFFSET ? LIMIT ?";
+        args.add(offset);
+        args.add(limit);
+
+        AtomicInteger count = new AtomicInteger();
+        RowCallbackHandler handler = rs -> {
+            sink.accept(UUID.fromString(rs.getString("id")), rs.getString("resource"));
+            count.incrementAndGet();
+        };
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, handler);
+        return count.get();
+    }
+
+    @Override
+    public boolean hasResourcesBeyond(FhirSearchCriteria criteria, long offset) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT EXISTS (SELECT 1 FROM medical_records" + where(criteria, args) + " OFFSET ?)";
+        args.add(offset);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, args.toArray()));
+    }
+
+    private String where(FhirSearchCriteria criteria, List<Object> args) {
+        StringBuilder sql = new StringBuilder(" WHERE patient_id = ? AND fhir_resource IS NOT NULL");
+        args.add(criteria.patientId());
+
+        if (criteria.resourceType() != null) {
+            sql.append(" AND ").append(RESOURCE_TYPE).append(" = ?");
+            args.add(criteria.resourceType());
+        }
+
+        if (criteria.status() != null) {
+            sql.append(" AND ").append(STATUS).append(" = ?");
+            args.add(criteria.status());
+        }
+
+        // Comma-separated codes are alternatives; each is one containment probe on the GIN index
+        if (criteria.codes() != null && !criteria.codes().isEmpty()) {
+            sql.append(" AND (");
+            for (int i = 0; i < criteria.codes().size(); i++) {
+                sql.append(i == 0 ? "" : " OR ").append(CODINGS).append(" @> CAST(? AS jsonb)");
+                args.add(codingFilter(criteria.codes().get(i)));
+            }
+            sql.append(')');
+        }
+
+        // FHIR dates are ISO-8601 strings, so day bounds compare correctly as text
+        if (criteria.dates() != null) {
+            for (DateBound bound : criteria.dates()) {
+                if (bound.from() != null) {
+                    sql.append(" AND ").append(RESOURCE_DATE).append(" >= ?");
+                    args.add(bound.from().toString());
+                }
+                if (bound.until() != null) {
+                    sql.append(" AND ").append(RESOURCE_DATE).append(" < ?");
+                    args.add(bound.until().toString());
+                }
+            }
+        }
+        return sql.toString();
+    }
+
+    private String codingFilter(Coding coding) {
+        ObjectNode node = objectMapper.createObjectNode();
+        if (coding.system() != null) {
+            node.put("system", coding.system());
+        }
+        node.put("code", coding.code());
+        ArrayNode filter = objectMapper.createArrayNode().add(node);
+        try {
+            return objectMapper.writeValueAsString(filter);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize coding filter", e);
+        }
+    }
+}
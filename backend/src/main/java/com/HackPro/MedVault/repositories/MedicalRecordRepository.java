@@ -0,0 +1,137 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.MedicalRecords.MedicalRecord;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.RecordType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, UUID>, FhirSearchRepository {
+
+    /*
+     * Record list pages, newest first, after the keyset (recordDate, id) of the previous page's
+     * last item; the first page passes a keyset above every row. One query per filter combination
+     * so each predicate matches its index from V9__medical_record_keyset_indexes.sql.
+     */
+
+    // idx_medical_records_patient_date
+    @Query("""
+            SELECT m.id AS id, m.recordType AS recordType, m.title AS title, m.recordDate AS recordDate,
+                   m.documentUrl AS documentUrl, m.isEmergencyVisible AS isEmergencyVisible,
+                   m.createdAt AS createdAt, m.updatedAt AS updatedAt
+            FROM MedicalRecord m
+            WHERE m.patient.id = :patientId
+              AND (m.recordDate, m.id) < (:recordDate, :id)
+            ORDER BY m.recordDate DESC, m.id DESC
+            """)
+    List<MedicalRecordSummary> findPage(@Param("patientId") UUID patientId,
+                                        @Param("recordDate") Date recordDate,
+                                        @Param("id") UUID id,
+                                        Limit limit);
+
+    // idx_medical_records_patient_type_date
+    @Query("""
+            SELECT m.id AS id, m.recordType AS recordType, m.title AS title, m.recordDate AS recordDate,
+                   m.documentUrl AS documentUrl, m.isEmergencyVisible AS isEmergencyVisible,
+                   m.createdAt AS createdAt, m.updatedAt AS updatedAt
+            FROM MedicalRecord m
+            WHERE m.patient.id = :patientId AND m.recordType = :recordType
+              AND (m.recordDate, m.id) < (:recordDate, :id)
+            ORDER BY m.recordDate DESC, m.id DESC
+            """)
+    List<MedicalRecordSummary> findPageByType(@Param("patientId") UUID patientId,
+                                              @Param("recordType") RecordType recordType,
+                                              @Param("recordDate") Date recordDate,
+                                              @Param("id") UUID id,
+                                              Limit limit);
+
+    // idx_medical_records_patient_emergency_date (partial)
+    @Query("""
+            SELECT m.id AS id, m.recordType AS recordType, m.title AS title, m.recordDate AS recordDate,
+                   m.documentUrl AS documentUrl, m.isEmergencyVisible AS isEmergencyVisible,
+                   m.createdAt AS createdAt, m.updatedAt AS updatedAt
+            FROM MedicalRecord m
+            WHERE m.patient.id = :patientId AND m.isEmergencyVisible = true
+              AND (m.recordDate, m.id) < (:recordDate, :id)
+            ORDER BY m.recordDate DESC, m.id DESC
+            """)
+    List<MedicalRecordSummary> findEmergencyPage(@Param("patientId") UUID patientId,
+                                                 @Param("recordDate") Date recordDate,
+                                                 @Param("id") UUID id,
+                                                 Limit limit);
+
+    // idx_medical_records_patient_type_date, emergency flag checked on the index hits
+    @Query("""
+            SELECT m.id AS id, m.recordType AS recordType, m.title AS title, m.recordDate AS recordDate,
+                   m.documentUrl AS documentUrl, m.isEmergencyVisible AS isEmergencyVisible,
+                   m.createdAt AS createdAt, m.updatedAt AS updatedAt
+            FROM MedicalRecord m
+            WHERE m.patient.id = :patientId AND m.recordType = :recordType AND m.isEmergencyVisible = true
+              AND (m.recordDate, m.id) < (:recordDate, :id)
+            ORDER BY m.recordDate DESC, m.id DESC
+            """)
+    List<MedicalRecordSummary> findEmergencyPageByType(@Param("patientId") UUID patientId,
+                                                       @Param("recordType") RecordType recordType,
+                                                       @Param("recordDate") Date recordDate,
+                                                       @Param("id") UUID id,
+                                                       Limit limit);
+
+    /**
+     * Full record, only if it belongs to the patient
+     */
+    Optional<MedicalRecord> findByIdAndPatientId(UUID id, UUID patientId);
+
+    /**
+     * FHIR resources of the patients in an ID range for bulk export. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT m.id AS id, m.fhirResource AS fhirResource
+            FROM MedicalRecord m
+            WHERE m.fhirResource IS NOT NULL
+              AND (:fromId IS NULL OR m.patient.id >= :fromId)
+              AND (:toId IS NULL OR m.patient.id < :toId)
+              AND (:since IS NULL OR m.updatedAt >= :since)
+            """)
+    Stream<ExportRecord> streamForExport(@Param("fromId") UUID fromId,
+                                         @Param("toId") UUID toId,
+                                         @Param("since") LocalDateTime since);
+
+    /**
+     * List view of a record; leaves out description and FHIR resource
+     */
+    interface MedicalRecordSummary {
+        UUID getId();
+
+        RecordType getRecordType();
+
+        String getTitle();
+
+        Date getRecordDate();
+
+        String getDocumentUrl();
+
+        Boolean getIsEmergencyVisible();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface ExportRecord {
+        UUID getId();
+
+        String getFhirResource();
+    }
+}
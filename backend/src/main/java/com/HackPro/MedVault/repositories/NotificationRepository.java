@@ -0,0 +1,80 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.Notification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, UUID> {
+
+    /**
+     * First inbox page (uses idx_notifications_user_created_at_id)
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.id = :userId
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findInbox(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Inbox page after the keyset cursor (createdAt, id) of the previous page's last item
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.id = :userId
+              AND (n.createdAt, n.id) < (:createdAt, :id)
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findInboxAfter(@Param("userId") UUID userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
+    /**
+     * First page of unread notifications (uses idx_notifications_user_read_created_at)
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.id = :userId AND n.isRead = false
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findUnread(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.id = :userId AND n.isRead = false
+              AND (n.createdAt, n.id) < (:createdAt, :id)
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findUnreadAfter(@Param("userId") UUID userId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") UUID id,
+                                       Limit limit);
+
+    /**
+     * Unread count used to seed the in-memory counter (uses idx_notifications_user_unread)
+     */
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
+    long countUnread(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.isRead = true
+            WHERE n.user.id = :userId AND n.id IN :ids AND n.isRead = false
+            """)
+    int markRead(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") UUID userId);
+}
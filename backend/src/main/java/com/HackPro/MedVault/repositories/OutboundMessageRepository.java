@@ -0,0 +1,94 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.Messaging.OutboundMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboundMessageRepository extends JpaRepository<OutboundMessage, UUID> {
+
+    // Hibernate renders a lock timeout of -2 as SKIP LOCKED
+    String LOCK_SKIP_LOCKED = "-2";
+
+    /**
+     * Lock due messages, oldest first, skipping rows another dispatcher holds (uses idx_outbound_messages_due)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = LOCK_SKIP_LOCKED))
+    @Query("""
+            SELECT m.id FROM OutboundMessage m
+            WHERE m.status IN (com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.PENDING,
+                               com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.SENDING)
+              AND m.nextAttemptAt <= :now
+            ORDER BY m.nextAttemptAt
+            """)
+    List<UUID> lockDue(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Lease locked messages to this dispatcher until {@code leaseUntil}
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE OutboundMessage m
+            SET m.status = com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.SENDING,
+                m.attempts = m.attempts + 1, m.nextAttemptAt = :leaseUntil
+            WHERE m.id IN :ids
+            """)
+    int lease(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // The outcome updates below only apply to the attempt that holds the lease
+
+    @Modifying
+    @Query("""
+            UPDATE OutboundMessage m
+            SET m.status = com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.SENT,
+                m.sentAt = :now, m.payload = NULL, m.lastError = NULL
+            WHERE m.id = :id AND m.attempts = :attempt
+              AND m.status = com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.SENDING
+            """)
+    int markSent(@Param("id") UUID id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE OutboundMessage m
+            SET m.status = com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.PENDING,
+                m.nextAttemptAt = :nextAttemptAt, m.lastError = :error
+            WHERE m.id = :id AND m.attempts = :attempt
+              AND m.status = com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.SENDING
+            """)
+    int markRetry(@Param("id") UUID id, @Param("attempt") int attempt,
+                  @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("""
+            UPDATE OutboundMessage m
+            SET m.status = com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.FAILED,
+                m.payload = NULL, m.lastError = :error
+            WHERE m.id = :id AND m.attempts = :attempt
+              AND m.status = com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.SENDING
+            """)
+    int markFailed(@Param("id") UUID id, @Param("attempt") int attempt, @Param("error") String error);
+
+    /**
+     * Retention purge of sent and failed messages (uses idx_outbound_messages_finished)
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM OutboundMessage m
+            WHERE m.createdAt < :cutoff
+              AND m.status IN (com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.SENT,
+                               com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus.FAILED)
+            """)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
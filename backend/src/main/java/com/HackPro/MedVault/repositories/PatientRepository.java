@@ -1,16 +1,100 @@
 package com.HackPro.MedVault.repositories;
 
+import com.HackPro.MedVault.domain.entities.UserManagement.Gender;
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, UUID> {
 
     boolean existsByAadhaarNumber(String encryptedAadhaarNumber);
 
+    /**
+     * Version of the patient's document list (V10); empty if the patient does not exist
+     */
+    @Query(value = "SELECT documents_version FROM patients WHERE user_id = :patientId", nativeQuery = true)
+    Optional<Long> findDocumentsVersion(@Param("patientId") UUID patientId);
+
+    /**
+     * Atomically bump the document list version. The column is not mapped on Patient, so the
+     * query space is a name of its own and no second-level cache region is evicted.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "patients.documents_version"))
+    @Query(value = "UPDATE patients SET documents_version = documents_version + 1 WHERE user_id = :patientId",
+            nativeQuery = true)
+    int incrementDocumentsVersion(@Param("patientId") UUID patientId);
+
     Optional<Patient> findByAadhaarNumber(String encryptedAadhaarNumber);
+
+    @Query("SELECT p.id FROM Patient p WHERE p.aadhaarNumber = :aadhaarNumber")
+    Optional<UUID> findIdByAadhaarNumber(@Param("aadhaarNumber") String encryptedAadhaarNumber);
+
+    @Query("SELECT p.aadhaarNumber FROM Patient p WHERE p.aadhaarNumber IN :aadhaarNumbers")
+    List<String> findExistingAadhaarNumbers(@Param("aadhaarNumbers") Collection<String> encryptedAadhaarNumbers);
+
+    @Query("SELECT p.id FROM Patient p WHERE p.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Patient IDs in primary key order; a page of size 1 at offset k yields the k-th ID,
+     * which is how export partition boundaries are placed
+     */
+    @Query("SELECT p.id FROM Patient p ORDER BY p.id")
+    List<UUID> findIdsOrderById(Pageable pageable);
+
+    /**
+     * Patients in an ID range for bulk export. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT p.id AS id, p.email AS email, p.phoneNumber AS phoneNumber, p.firstName AS firstName,
+                   p.lastName AS lastName, p.gender AS gender, p.dateOfBirth AS dateOfBirth, p.address AS address,
+                   p.updatedAt AS updatedAt
+            FROM Patient p
+            WHERE (:fromId IS NULL OR p.id >= :fromId)
+              AND (:toId IS NULL OR p.id < :toId)
+              AND (:since IS NULL OR p.updatedAt >= :since)
+            """)
+    Stream<ExportPatient> streamForExport(@Param("fromId") UUID fromId,
+                                          @Param("toId") UUID toId,
+                                          @Param("since") LocalDateTime since);
+
+    interface ExportPatient {
+        UUID getId();
+
+        String getEmail();
+
+        String getPhoneNumber();
+
+        String getFirstName();
+
+        String getLastName();
+
+        Gender getGender();
+
+        Date getDateOfBirth();
+
+        String getAddress();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
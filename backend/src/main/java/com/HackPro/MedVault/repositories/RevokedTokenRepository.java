@@ -0,0 +1,30 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.AuditAndSecurity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    /**
+     * Revocations recorded since {@code since} whose tokens are still live (uses idx_revoked_tokens_revoked_at)
+     */
+    @Query("""
+            SELECT t FROM RevokedToken t
+            WHERE t.revokedAt >= :since AND t.expiresAt > :now
+            """)
+    List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Purge of revocations for tokens that have expired (uses idx_revoked_tokens_expires_at)
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
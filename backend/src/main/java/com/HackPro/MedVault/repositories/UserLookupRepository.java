@@ -0,0 +1,17 @@
+package com.HackPro.MedVault.repositories;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.User;
+
+import java.util.Optional;
+
+/**
+ * User lookups served from the second-level cache.
+ */
+public interface UserLookupRepository {
+
+    /**
+     * User (Patient, Doctor or admin) by email, resolved through the cached email natural id.
+     * A hit costs no query; a miss loads and caches both the id mapping and the user.
+     */
+    Optional<User> findByEmail(String email);
+}
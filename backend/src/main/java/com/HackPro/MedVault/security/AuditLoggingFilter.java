@@ -20,6 +20,7 @@ import java.io.IOException;
 public class AuditLoggingFilter extends OncePerRequestFilter {
 
     private final AuditLogService auditLogService;
+    private final RouteClassifier routeClassifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -31,7 +32,11 @@ public class AuditLoggingFilter extends OncePerRequestFilter {
             String path = request.getRequestURI();
             String method = request.getMethod();
 
-            log.debug("Request: {} {} by user: {}", method, path, userDetails.getEmail());
+            if (routeClassifier.classify(request).emergency()) {
+                log.info("Emergency request: {} {} by user: {}", method, path, userDetails.getEmail());
+            } else {
+                log.debug("Request: {} {} by user: {}", method, path, userDetails.getEmail());
+            }
         }
 
         filterChain.doFilter(request, response);
@@ -26,6 +26,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final MedVaultUserDetailsService userDetailsService;
     private final AuditLogService auditLogService;
+    private final RouteClassifier routeClassifier;
 
     @Override
     protected void doFilterInternal(
@@ -38,7 +39,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         final String userEmail;
 
         // Skip JWT validation for public endpoints
-        if (isPublicEndpoint(request)) {
+        if (routeClassifier.classify(request).publicRoute()) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -106,13 +107,5 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-
-    private boolean isPublicEndpoint(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        return path.startsWith("/api/v1/auth/register") ||
-                path.startsWith("/api/v1/auth/login") ||
-                path.startsWith("/api/v1/auth/forgot-password") ||
-                path.equals("/fhir/metadata");
-    }
 }
 
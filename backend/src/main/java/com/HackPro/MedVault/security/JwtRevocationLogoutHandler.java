@@ -0,0 +1,74 @@
+package com.HackPro.MedVault.security;
+
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Revokes the bearer access token on logout, and the refresh token when the body carries one as
+ * {@code {"refreshToken": "..."}}, so neither can be used again before it expires.
+ * <p>
+ * The logout filter runs ahead of {@link JwtAuthFilter}, so the request is not authenticated here;
+ * the user is taken from the access token itself.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtRevocationLogoutHandler implements LogoutHandler {
+
+    private final JwtService jwtService;
+    private final AuditLogService auditLogService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return;
+        }
+        String accessToken = authHeader.substring(7);
+        if (!jwtService.isTokenValid(accessToken)) {
+            return;
+        }
+
+        UUID userId = jwtService.extractUserId(accessToken);
+        jwtService.revokeToken(accessToken);
+        String refreshToken = refreshTokenFrom(request);
+        if (refreshToken != null && userId.equals(jwtService.extractUserId(refreshToken))) {
+            jwtService.revokeToken(refreshToken);
+        }
+
+        log.info("User logged out: {}", userId);
+        auditLogService.logAuthenticationEvent(userId, "LOGOUT", request.getRemoteAddr());
+    }
+
+    private String refreshTokenFrom(HttpServletRequest request) {
+        try {
+            if (request.getContentType() == null
+                    || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))) {
+                return null;
+            }
+            JsonNode body = objectMapper.readTree(request.getInputStream());
+            JsonNode refreshToken = body == null ? null : body.get("refreshToken");
+            return refreshToken != null && refreshToken.isTextual() && jwtService.isValidRefreshToken(refreshToken.asText())
+                    ? refreshToken.asText()
+                    : null;
+        } catch (IOException | InvalidMediaTypeException e) {
+            log.debug("Unreadable logout body: {}", e.getMessage());
+            return null;
+        }
+    }
+}
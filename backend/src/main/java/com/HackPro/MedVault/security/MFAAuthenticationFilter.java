@@ -13,14 +13,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 
-// Additional: MFA Authentication Filter
+/**
+ * Step-up check for routes {@link RouteClassifier} tags as sensitive ({@code mfa.step-up.routes}):
+ * users with MFA enabled must have verified a code within the route's window. Users without MFA
+ * have no second factor to step up with and are let through.
+ */
 @Component
 @RequiredArgsConstructor
 public class MFAAuthenticationFilter extends OncePerRequestFilter {
 
     private final MFAService mfaService;
     private final AuditLogService auditLogService;
+    private final RouteClassifier routeClassifier;
 
     @Override
     protected void doFilterInternal(
@@ -30,11 +36,13 @@ public class MFAAuthenticationFilter extends OncePerRequestFilter {
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication != null && authentication.isAuthenticated()) {
-            MedVaultUserDetails userDetails = (MedVaultUserDetails) authentication.getPrincipal();
-
-            // Check if this is a sensitive operation requiring re-authentication
-            if (isSensitiveOperation(request) && !mfaService.hasRecentMFAVerification(userDetails.getUserId())) {
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof MedVaultUserDetails userDetails
+                && userDetails.isMfaEnabled()) {
+            Duration window = routeClassifier.classify(request).stepUpWindow();
+            if (window != null && !mfaService.hasRecentMFAVerification(userDetails.getUserId(), window)) {
+                auditLogService.logSecurityEvent("STEP_UP_REQUIRED", request.getRemoteAddr(),
+                        request.getMethod() + " " + request.getRequestURI());
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                 response.getWriter().write("{\"error\": \"Re-authentication required for sensitive operation\"}");
                 return;
@@ -43,17 +51,4 @@ public class MFAAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-
-    private boolean isSensitiveOperation(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        // Sensitive operations requiring re-authentication
-        return (path.contains("/access-permissions") && method.equals("DELETE")) ||
-                path.contains("/emergency-profile") ||
-                path.contains("/export-data") ||
-                (path.contains("/medical-records") && method.equals("DELETE"));
-    }
 }
-
-
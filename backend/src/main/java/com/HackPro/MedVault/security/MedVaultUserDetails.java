@@ -50,6 +50,7 @@ public class MedVaultUserDetails implements UserDetails {
         this.authorities = getAuthoritiesForUser(user);
     }
 
+    // Must depend only on role and verification status: JwtTokenMinter caches the claim per pair
     private Collection<? extends GrantedAuthority> getAuthoritiesForUser(User user) {
         List<GrantedAuthority> authorities = new ArrayList<>();
 
@@ -123,13 +124,13 @@ public class MedVaultUserDetails implements UserDetails {
         // Account is enabled if:
         // 1. User is active (accountNonLocked)
         // 2. For doctors: must NOT be rejected (pending and verified are allowed)
-        // 3. MFA must be verified if enabled
+        // A pending MFA step does not disable the account: login hands out a temporary token
+        // instead, and JwtAuthFilter rejects access tokens without the mfaVerified claim
         if (role == UserRole.DOCTOR) {
             return accountNonLocked &&
-                    verificationStatus != VerificationStatus.REJECTED &&
-                    (!mfaEnabled || mfaVerified);
+                    verificationStatus != VerificationStatus.REJECTED;
         }
-        return accountNonLocked && (!mfaEnabled || mfaVerified);
+        return accountNonLocked;
     }
 
     // Additional helper methods
@@ -4,7 +4,9 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -14,22 +16,33 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class RateLimitingFilter extends OncePerRequestFilter {
 
+    private final RouteClassifier routeClassifier;
+
     private final Map<String, RateLimitEntry> requestCounts = new ConcurrentHashMap<>();
     private static final int MAX_REQUESTS_PER_MINUTE = 60;
 
+    // Emergency lookups are counted in their own lane, so general traffic can never use up
+    // their budget and they do not count against it either
+    @Value("${emergency-access.rate-limit.max-requests-per-minute:30}")
+    private int maxEmergencyRequestsPerMinute;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         String clientIp = getClientIP(request);
-        String key = clientIp + ":" + (System.currentTimeMillis() / 60000);
+        boolean emergency = routeClassifier.classify(request).rateLimitClass() == RouteClassifier.RateLimitClass.EMERGENCY;
+        String lane = emergency ? "emergency:" : "";
+        String key = lane + clientIp + ":" + (System.currentTimeMillis() / 60000);
 
         RateLimitEntry entry = requestCounts.computeIfAbsent(key, k -> new RateLimitEntry());
+        int limit = emergency ? maxEmergencyRequestsPerMinute : MAX_REQUESTS_PER_MINUTE;
 
-        if (entry.count.incrementAndGet() > MAX_REQUESTS_PER_MINUTE) {
-            log.warn("Rate limit exceeded for IP: {}", clientIp);
+        if (entry.count.incrementAndGet() > limit) {
+            log.warn("Rate limit exceeded for IP: {}{}", clientIp, emergency ? " (emergency lane)" : "");
             response.setStatus(429); // Too Many Requests
             response.getWriter().write("{\"error\": \"Rate limit exceeded. Please try again later.\"}");
             return;
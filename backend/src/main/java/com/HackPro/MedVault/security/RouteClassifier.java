@@ -0,0 +1,123 @@
+package com.HackPro.MedVault.security;
+
+import com.HackPro.MedVault.config.StepUpProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classifies each request once for the security filters: whether the route is public, whether it is
+ * the emergency lookup, its rate-limit class and, for sensitive routes, the step-up window.
+ * <p>
+ * All route lists are compiled into one {@link PathPattern} table at startup and a request is matched
+ * against it in a single pass. The tags are kept as a request attribute, so later filters and the
+ * authorization rules in {@code MedVaultSecurityConfig} read the same answer instead of scanning the
+ * URI again.
+ */
+@Component
+public class RouteClassifier {
+
+    public static final String TAGS_ATTRIBUTE = RouteClassifier.class.getName() + ".TAGS";
+
+    // Reachable without a token
+    private static final List<String> PUBLIC_ROUTES = List.of(
+            "/api/v1/auth/register/patient",
+            "/api/v1/auth/register/doctor",
+            "/api/v1/auth/login",
+            "/api/v1/auth/verify-mfa",
+            "/api/v1/auth/forgot-password",
+            "/api/v1/auth/reset-password",
+            "/api/v1/auth/refresh-token",
+            "/fhir/metadata"
+    );
+
+    // Break-glass lookup; rate limited in its own lane
+    private static final String EMERGENCY_ROUTE = "/api/v1/doctors/emergency-access";
+
+    private static final RouteTags DEFAULT_TAGS = new RouteTags(false, false, RateLimitClass.STANDARD, null);
+
+    private final List<RouteRule> rules = new ArrayList<>();
+
+    public RouteClassifier(StepUpProperties stepUpProperties) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        PUBLIC_ROUTES.forEach(route -> rules.add(new RouteRule(null, parser.parse(route), true, false, null)));
+        rules.add(new RouteRule(null, parser.parse(EMERGENCY_ROUTE), false, true, null));
+        for (StepUpProperties.Route route : stepUpProperties.getRoutes()) {
+            if (route.getPattern() == null) {
+                throw new IllegalStateException("mfa.step-up.routes entries need a pattern");
+            }
+            Duration window = route.getWindow() != null ? route.getWindow() : stepUpProperties.getDefaultWindow();
+            rules.add(new RouteRule(route.getMethod(), parser.parse(route.getPattern()), false, false, window));
+        }
+    }
+
+    /**
+     * Tags for the request, computed on first use and then read from the request attribute
+     */
+    public RouteTags classify(HttpServletRequest request) {
+        if (request.getAttribute(TAGS_ATTRIBUTE) instanceof RouteTags tags) {
+            return tags;
+        }
+        RouteTags tags = match(request.getMethod(),
+                RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication());
+        request.setAttribute(TAGS_ATTRIBUTE, tags);
+        return tags;
+    }
+
+    /**
+     * Matcher for the authorization rules, so they permit exactly the routes the filters treat as public
+     */
+    public RequestMatcher publicRoutes() {
+        return request -> classify(request).publicRoute();
+    }
+
+    private RouteTags match(String method, PathContainer path) {
+        boolean publicRoute = false;
+        boolean emergency = false;
+        Duration stepUpWindow = null;
+        boolean matched = false;
+        for (RouteRule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method)) && rule.pattern().matches(path)) {
+                matched = true;
+                publicRoute |= rule.publicRoute();
+                emergency |= rule.emergency();
+                // The first matching step-up route decides the window
+                if (stepUpWindow == null) {
+                    stepUpWindow = rule.stepUpWindow();
+                }
+            }
+        }
+        if (!matched) {
+            return DEFAULT_TAGS;
+        }
+        return new RouteTags(publicRoute, emergency,
+                emergency ? RateLimitClass.EMERGENCY : RateLimitClass.STANDARD, stepUpWindow);
+    }
+
+    public enum RateLimitClass {
+        STANDARD, EMERGENCY
+    }
+
+    /**
+     * @param stepUpWindow how recent the user's MFA verification must be, or null if the route is not sensitive
+     */
+    public record RouteTags(boolean publicRoute, boolean emergency, RateLimitClass rateLimitClass,
+                            Duration stepUpWindow) {
+
+        public boolean sensitive() {
+            return stepUpWindow != null;
+        }
+    }
+
+    private record RouteRule(String method, PathPattern pattern, boolean publicRoute, boolean emergency,
+                             Duration stepUpWindow) {
+    }
+}
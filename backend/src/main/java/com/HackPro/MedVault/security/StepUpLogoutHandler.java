@@ -0,0 +1,37 @@
+package com.HackPro.MedVault.security;
+
+import com.HackPro.MedVault.services.JwtService;
+import com.HackPro.MedVault.services.MFAService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forgets the user's step-up verification on logout, so the next session has to verify MFA again
+ * before a sensitive operation.
+ * <p>
+ * The logout filter runs ahead of {@link JwtAuthFilter}, so the user is taken from the bearer token.
+ * Registered before {@link JwtRevocationLogoutHandler}, which revokes that token.
+ */
+@Component
+@RequiredArgsConstructor
+public class StepUpLogoutHandler implements LogoutHandler {
+
+    private final JwtService jwtService;
+    private final MFAService mfaService;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return;
+        }
+        String accessToken = authHeader.substring(7);
+        if (jwtService.isTokenValid(accessToken)) {
+            mfaService.clearStepUpVerification(jwtService.extractUserId(accessToken));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.AccessControl.PermissionLevel;
+import com.HackPro.MedVault.domain.entities.UserManagement.UserRole;
+import com.HackPro.MedVault.events.AccessGrantChangedEvent;
+import com.HackPro.MedVault.events.DoctorStatusChangedEvent;
+import com.HackPro.MedVault.repositories.AccessPermissionRepository;
+import com.HackPro.MedVault.repositories.AccessPermissionRepository.ActiveGrant;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a doctor may access a patient's data.
+ * <p>
+ * Active grants are cached per doctor as sorted arrays keyed by patient id, so a decision is a
+ * binary search without a DB round trip. A doctor's entry is reloaded when one of its grants
+ * starts or ends, and dropped when an {@link AccessGrantChangedEvent} is published for that doctor.
+ * <p>
+ * Usable from method security, e.g. {@code @PreAuthorize("@accessDecisionService.canRead(authentication, #patientId)")}.
+ */
+@Service
+@Slf4j
+public class AccessDecisionService {
+
+    private final AccessPermissionRepository accessPermissionRepository;
+    private final Timer decisionTimer;
+
+    private final Map<UUID, DoctorGrants> grantsByDoctor = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a load racing with an invalidation is never kept
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AccessDecisionService(AccessPermissionRepository accessPermissionRepository, MeterRegistry meterRegistry) {
+        this.accessPermissionRepository = accessPermissionRepository;
+        this.decisionTimer = Timer.builder("medvault.access.decision")
+                .description("Latency of access decisions, including cache reloads")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Patients can always read their own data; doctors need a live LIMITED_ACCESS or FULL_ACCESS grant.
+     */
+    public boolean canRead(Authentication authentication, UUID patientId) {
+        return isAllowed(authentication, patientId, PermissionLevel.LIMITED_ACCESS);
+    }
+
+    /**
+     * Patients can always modify their own data; doctors need a live FULL_ACCESS grant.
+     */
+    public boolean canWrite(Authentication authentication, UUID patientId) {
+        return isAllowed(authentication, patientId, PermissionLevel.FULL_ACCESS);
+    }
+
+    private boolean isAllowed(Authentication authentication, UUID patientId, PermissionLevel required) {
+        if (authentication == null || patientId == null
+                || !(authentication.getPrincipal() instanceof MedVaultUserDetails user)) {
+            return false;
+        }
+
+        if (user.getRole() == UserRole.PATIENT) {
+            return user.getUserId().equals(patientId);
+        }
+
+        return user.getRole() == UserRole.DOCTOR
+                && user.isDoctorVerified()
+                && hasAccess(user.getUserId(), patientId, required);
+    }
+
+    /**
+     * Check whether the doctor currently holds a grant for the patient at the required level or higher.
+     */
+    public boolean hasAccess(UUID doctorId, UUID patientId, PermissionLevel required) {
+        long start = System.nanoTime();
+        try {
+            long now = System.currentTimeMillis();
+            PermissionLevel granted = grantsFor(doctorId, now).levelFor(patientId, now);
+            return granted != null && satisfies(granted, required);
+        } finally {
+            decisionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccessGrantChanged(AccessGrantChangedEvent event) {
+        invalidateDoctor(event.doctorId());
+        log.debug("Access grants invalidated for doctor {} ({})", event.doctorId(), event.reason());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorStatusChanged(DoctorStatusChangedEvent event) {
+        event.doctorIds().forEach(this::invalidateDoctor);
+        log.debug("Access grants invalidated for {} doctors ({})", event.doctorIds().size(), event.status());
+    }
+
+    public void invalidateDoctor(UUID doctorId) {
+        invalidations.incrementAndGet();
+        grantsByDoctor.remove(doctorId);
+    }
+
+    private DoctorGrants grantsFor(UUID doctorId, long now) {
+        DoctorGrants cached = grantsByDoctor.get(doctorId);
+        if (cached != null && now < cached.refreshAt) {
+            return cached;
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+        List<ActiveGrant> grants = accessPermissionRepository.findActiveGrants(doctorId, new Date(now));
+        DoctorGrants loaded = DoctorGrants.of(grants, now);
+
+        if (invalidations.get() == invalidationsBeforeLoad) {
+            grantsByDoctor.put(doctorId, loaded);
+            // An invalidation between the check and the put must still win
+            if (invalidations.get() != invalidationsBeforeLoad) {
+                grantsByDoctor.remove(doctorId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private static boolean satisfies(PermissionLevel granted, PermissionLevel required) {
+        return switch (granted) {
+            case FULL_ACCESS -> required != PermissionLevel.NO_ACCESS;
+            case LIMITED_ACCESS -> required == PermissionLevel.LIMITED_ACCESS;
+            case NO_ACCESS -> false;
+        };
+    }
+
+    /**
+     * Immutable snapshot of one doctor's grants. Patient ids are split into two long arrays sorted
+     * by (most, least) significant bits; the remaining arrays are parallel to them.
+     */
+    private static final class DoctorGrants {
+
+        private static final long NO_BOUND = Long.MAX_VALUE;
+
+        private final long[] patientMsb;
+        private final long[] patientLsb;
+        private final PermissionLevel[] levels;
+        private final long[] validFrom;
+        private final long[] validUntil;
+        // Earliest instant at which a grant starts or ends; the snapshot is reloaded after it
+        private final long refreshAt;
+
+        private DoctorGrants(long[] patientMsb, long[] patientLsb, PermissionLevel[] levels,
+                             long[] validFrom, long[] validUntil, long refreshAt) {
+            this.patientMsb = patientMsb;
+            this.patientLsb = patientLsb;
+            this.levels = levels;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+            this.refreshAt = refreshAt;
+        }
+
+        static DoctorGrants of(List<ActiveGrant> grants, long now) {
+            ActiveGrant[] sorted = grants.stream()
+                    .filter(grant -> grant.getPermissionLevel() != null
+                            && grant.getPermissionLevel() != PermissionLevel.NO_ACCESS)
+                    .sorted(Comparator.comparing(ActiveGrant::getPatientId))
+                    .toArray(ActiveGrant[]::new);
+
+            int size = sorted.length;
+            long[] msb = new long[size];
+            long[] lsb = new long[size];
+            PermissionLevel[] levels = new PermissionLevel[size];
+            long[] from = new long[size];
+            long[] until = new long[size];
+            long refreshAt = NO_BOUND;
+
+            // Several grants for the same patient are collapsed into the strongest one
+            int count = 0;
+            for (ActiveGrant grant : sorted) {
+                UUID patientId = grant.getPatientId();
+                long grantFrom = grant.getValidFrom() != null ? grant.getValidFrom().getTime() : Long.MIN_VALUE;
+                long grantUntil = grant.getValidUntil() != null ? grant.getValidUntil().getTime() : NO_BOUND;
+
+                if (grantFrom > now) {
+                    refreshAt = Math.min(refreshAt, grantFrom);
+                }
+                refreshAt = Math.min(refreshAt, grantUntil);
+
+                boolean samePatient = count > 0
+                        && msb[count - 1] == patientId.getMostSignificantBits()
+                        && lsb[count - 1] == patientId.getLeastSignificantBits();
+                if (samePatient) {
+                    // Prefer a grant that is active now, then the higher level
+                    boolean activeNow = grantFrom <= now;
+                    boolean previousActiveNow = from[count - 1] <= now;
+                    boolean stronger = grant.getPermissionLevel() == PermissionLevel.FULL_ACCESS
+                            && levels[count - 1] != PermissionLevel.FULL_ACCESS;
+                    if ((activeNow && !previousActiveNow) || (activeNow == previousActiveNow && stronger)) {
+                        levels[count - 1] = grant.getPermissionLevel();
+                        from[count - 1] = grantFrom;
+                        until[count - 1] = grantUntil;
+                    }
+                    continue;
+                }
+
+                msb[count] = patientId.getMostSignificantBits();
+                lsb[count] = patientId.getLeastSignificantBits();
+                levels[count] = grant.getPermissionLevel();
+                from[count] = grantFrom;
+                until[count] = grantUntil;
+                count++;
+            }
+
+            return new DoctorGrants(
+                    Arrays.copyOf(msb, count), Arrays.copyOf(lsb, count), Arrays.copyOf(levels, count),
+                    Arrays.copyOf(from, count), Arrays.copyOf(until, count), refreshAt);
+        }
+
+        PermissionLevel levelFor(UUID patientId, long now) {
+            int index = indexOf(patientId.getMostSignificantBits(), patientId.getLeastSignificantBits());
+            if (index < 0 || now < validFrom[index] || now >= validUntil[index]) {
+                return null;
+            }
+            return levels[index];
+        }
+
+        // Binary search in UUID.compareTo order (signed comparison of msb, then lsb)
+        private int indexOf(long msb, long lsb) {
+            int low = 0;
+            int high = patientMsb.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = Long.compare(patientMsb[mid], msb);
+                if (cmp == 0) {
+                    cmp = Long.compare(patientLsb[mid], lsb);
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+}
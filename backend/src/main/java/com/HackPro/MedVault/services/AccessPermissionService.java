@@ -0,0 +1,25 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.AccessPermissionResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AccessPermissionService {
+
+    /**
+     * List the live (not revoked) grants a patient has given to doctors
+     *
+     * @param patientId Patient's user ID
+     * @return grants, newest first
+     */
+    List<AccessPermissionResponseDto> getPatientPermissions(UUID patientId);
+
+    /**
+     * Revoke a grant owned by the patient
+     *
+     * @param permissionId Grant ID
+     * @param patientId    Patient's user ID (owner of the grant)
+     */
+    void revokePermission(UUID permissionId, UUID patientId);
+}
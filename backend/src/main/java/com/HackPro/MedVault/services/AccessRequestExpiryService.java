@@ -0,0 +1,87 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.repositories.AccessRequestRepository;
+import com.HackPro.MedVault.repositories.AccessRequestRepository.PendingDeadline;
+import com.HackPro.MedVault.util.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Expires pending access requests whose OTP has lapsed.
+ * <p>
+ * OTP deadlines are tracked in a {@link HierarchicalTimingWheel}, so checking for due requests
+ * costs the same however many are pending. When at least one deadline has passed, a single
+ * indexed bulk UPDATE expires every lapsed request at once; otherwise the database is not touched.
+ * A periodic safety sweep also catches requests created by other instances.
+ */
+@Service
+@Slf4j
+public class AccessRequestExpiryService {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 64;
+
+    private final AccessRequestRepository accessRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long safetySweepIntervalMs;
+
+    private final HierarchicalTimingWheel<UUID> deadlines =
+            new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+
+    // Set when a deadline was already due on arrival and could not be put on the wheel
+    private final AtomicBoolean sweepRequested = new AtomicBoolean();
+    private volatile long lastSweepAt = System.currentTimeMillis();
+
+    public AccessRequestExpiryService(
+            AccessRequestRepository accessRequestRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${access-request.expiry.safety-sweep-interval-ms:300000}") long safetySweepIntervalMs) {
+        this.accessRequestRepository = accessRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.safetySweepIntervalMs = safetySweepIntervalMs;
+    }
+
+    /**
+     * Track the OTP deadline of a pending request
+     */
+    public void track(UUID requestId, Date otpExpiryTime) {
+        if (!deadlines.add(requestId, otpExpiryTime.getTime())) {
+            sweepRequested.set(true);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingDeadlines() {
+        List<PendingDeadline> pending = accessRequestRepository.findPendingDeadlines();
+        pending.forEach(deadline -> track(deadline.getId(), deadline.getOtpExpiryTime()));
+        log.info("Tracking OTP expiry of {} pending access requests", pending.size());
+    }
+
+    @Scheduled(fixedDelayString = "${access-request.expiry.sweep-interval-ms:5000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        boolean due = !deadlines.advance(now).isEmpty();
+        due |= sweepRequested.getAndSet(false);
+
+        if (!due && now - lastSweepAt < safetySweepIntervalMs) {
+            return;
+        }
+
+        lastSweepAt = now;
+        Integer expired = transactionTemplate.execute(status -> accessRequestRepository.expirePending(new Date(now)));
+        if (expired != null && expired > 0) {
+            log.info("Expired {} pending access requests", expired);
+        }
+    }
+}
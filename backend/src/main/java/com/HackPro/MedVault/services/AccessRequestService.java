@@ -0,0 +1,46 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.AccessPermissionResponseDto;
+import com.HackPro.MedVault.domain.dtos.AccessRequestCreateDto;
+import com.HackPro.MedVault.domain.dtos.AccessRequestResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AccessRequestService {
+
+    /**
+     * Create a consent request and send a one-time password to the patient
+     *
+     * @param doctorId Requesting doctor's user ID
+     * @param request  Patient, reason, requested level and duration
+     * @return the pending request
+     */
+    AccessRequestResponseDto createRequest(UUID doctorId, AccessRequestCreateDto request);
+
+    /**
+     * Verify the OTP the patient shared with the doctor and grant access
+     *
+     * @param requestId Access request ID
+     * @param doctorId  Requesting doctor's user ID
+     * @param otp       OTP received by the patient
+     * @return the grant created for the doctor
+     */
+    AccessPermissionResponseDto verifyRequest(UUID requestId, UUID doctorId, String otp);
+
+    /**
+     * List the requests still waiting for the patient's consent
+     *
+     * @param patientId Patient's user ID
+     * @return pending requests, newest first
+     */
+    List<AccessRequestResponseDto> getPendingRequests(UUID patientId);
+
+    /**
+     * Deny a pending request
+     *
+     * @param requestId Access request ID
+     * @param patientId Patient's user ID (target of the request)
+     */
+    void denyRequest(UUID requestId, UUID patientId);
+}
@@ -0,0 +1,32 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.DoctorQueuePageDto;
+import com.HackPro.MedVault.domain.dtos.DoctorStatusUpdateDto;
+import com.HackPro.MedVault.domain.dtos.DoctorStatusUpdateResultDto;
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+
+import java.util.UUID;
+
+public interface AdminDoctorService {
+
+    /**
+     * One page of the verification queue for a status
+     *
+     * @param status         Verification status to list
+     * @param specialization Optional exact specialization filter
+     * @param cursor         nextCursor of the previous page, or null for the first page
+     * @param limit          Page size
+     * @return doctors in the queue, in keyset order
+     */
+    DoctorQueuePageDto getQueue(VerificationStatus status, String specialization, String cursor, int limit);
+
+    /**
+     * Move doctors to a new verification status in one set-based update. Doctors whose current
+     * status does not allow the transition are skipped rather than failing the whole batch.
+     *
+     * @param adminId Acting admin's user ID
+     * @param request Doctors, target status and reason
+     * @return updated and skipped doctor IDs
+     */
+    DoctorStatusUpdateResultDto updateStatus(UUID adminId, DoctorStatusUpdateDto request);
+}
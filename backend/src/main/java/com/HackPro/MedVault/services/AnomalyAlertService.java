@@ -0,0 +1,317 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.config.AnomalyAlertProperties;
+import com.HackPro.MedVault.config.AnomalyAlertProperties.Severity;
+import com.HackPro.MedVault.domain.dtos.NotificationCreateDto;
+import com.HackPro.MedVault.domain.entities.NotificationType;
+import com.HackPro.MedVault.events.DocumentAnomaliesDetectedEvent;
+import com.HackPro.MedVault.repositories.AccessPermissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Turns anomalies reported by n8n into {@link NotificationType#ANOMALY_ALERT} notifications.
+ * <p>
+ * Anomalies are classified by the configured rules on {@code anomalyAlertExecutor} once the
+ * callback transaction has committed, so ingestion never waits for alerting. Alerts are
+ * buffered per recipient: everything arriving within the coalesce window becomes one
+ * notification, and a token bucket caps notifications per recipient per hour. Alerts over the
+ * cap are not dropped; they keep merging into the pending notification until a slot frees up.
+ * Alerts that fail to send are merged back, with their token refunded, and retried on the next flush.
+ */
+@Service
+@Slf4j
+public class AnomalyAlertService {
+
+    private static final int MAX_LISTED_ANOMALIES = 5;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final AnomalyAlertProperties properties;
+    private final AccessPermissionRepository accessPermissionRepository;
+    private final NotificationService notificationService;
+    private final List<CompiledRule> rules;
+
+    private final Map<UUID, PendingAlert> pendingByRecipient = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public AnomalyAlertService(AnomalyAlertProperties properties,
+                               AccessPermissionRepository accessPermissionRepository,
+                               NotificationService notificationService) {
+        this.properties = properties;
+        this.accessPermissionRepository = accessPermissionRepository;
+        this.notificationService = notificationService;
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(rule.getName(),
+                        Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE),
+                        rule.getSeverity(), rule.isNotifyDoctors()))
+                .toList();
+    }
+
+    @Async("anomalyAlertExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnomaliesDetected(DocumentAnomaliesDetectedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        List<String> matched = new ArrayList<>();
+        Set<String> ruleNames = new LinkedHashSet<>();
+        Severity severity = null;
+        boolean notifyDoctors = false;
+        for (String anomaly : event.anomalies()) {
+            CompiledRule rule = classify(anomaly);
+            if (rule == null) {
+                continue;
+            }
+            matched.add(anomaly);
+            ruleNames.add(rule.name());
+            severity = severity == null || rule.severity().compareTo(severity) > 0 ? rule.severity() : severity;
+            notifyDoctors |= rule.notifyDoctors();
+        }
+        if (matched.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> recipients = new LinkedHashSet<>();
+        recipients.add(event.patientId());
+        if (notifyDoctors) {
+            recipients.addAll(accessPermissionRepository.findPermittedDoctorIds(event.patientId(), new Date()));
+        }
+
+        long now = System.currentTimeMillis();
+        long flushAt = severity.compareTo(properties.getImmediateSeverity()) >= 0
+                ? now
+                : now + properties.getCoalesceWindow().toMillis();
+
+        lock.lock();
+        try {
+            for (UUID recipient : recipients) {
+                pendingByRecipient.computeIfAbsent(recipient, id -> new PendingAlert(properties.getMaxAlertsPerHour(), now))
+                        .add(event, matched, ruleNames, severity, flushAt);
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Document {}: {} anomalies matched rules {}, {} recipients",
+                event.documentId(), matched.size(), ruleNames, recipients.size());
+    }
+
+    @Scheduled(fixedDelayString = "${alerts.anomaly.flush-interval-ms:5000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        List<DrainedAlert> due = new ArrayList<>();
+
+        lock.lock();
+        try {
+            Iterator<Map.Entry<UUID, PendingAlert>> iterator = pendingByRecipient.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, PendingAlert> entry = iterator.next();
+                PendingAlert pending = entry.getValue();
+                pending.refill(now, properties.getMaxAlertsPerHour());
+
+                if (pending.isDue(now) && pending.tryAcquire()) {
+                    due.add(pending.drain(entry.getKey()));
+                }
+                // Kept while alerts are pending or the bucket still remembers recent alerts
+                if (pending.isIdle(properties.getMaxAlertsPerHour())) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            notificationService.notifyAll(due.stream().map(DrainedAlert::toNotification).toList());
+            log.info("Sent {} anomaly alerts", due.size());
+        } catch (RuntimeException e) {
+            // notifyAll is one transaction, so none were stored; they go back to be retried next flush
+            log.error("Failed to send {} anomaly alerts; retrying", due.size(), e);
+            restore(due, now);
+        }
+    }
+
+    private void restore(List<DrainedAlert> alerts, long now) {
+        lock.lock();
+        try {
+            for (DrainedAlert alert : alerts) {
+                pendingByRecipient.computeIfAbsent(alert.recipientId(),
+                                id -> new PendingAlert(properties.getMaxAlertsPerHour(), now))
+                        .restore(alert, properties.getMaxAlertsPerHour());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CompiledRule classify(String anomaly) {
+        if (anomaly == null || anomaly.isBlank()) {
+            return null;
+        }
+        for (CompiledRule rule : rules) {
+            if (rule.pattern().matcher(anomaly.trim()).matches()) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private record CompiledRule(String name, Pattern pattern, Severity severity, boolean notifyDoctors) {
+    }
+
+    /**
+     * Alerts buffered for one recipient, plus that recipient's token bucket. Guarded by {@code lock}.
+     */
+    private static final class PendingAlert {
+
+        private final Set<UUID> documentIds = new LinkedHashSet<>();
+        private final Set<UUID> patientIds = new LinkedHashSet<>();
+        private final Set<String> ruleNames = new LinkedHashSet<>();
+        private final List<String> listedAnomalies = new ArrayList<>();
+        private int anomalyCount;
+        private Severity severity;
+        private String firstDocumentTitle;
+        private long flushAt = Long.MAX_VALUE;
+
+        private double tokens;
+        private long lastRefill;
+
+        PendingAlert(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        void add(DocumentAnomaliesDetectedEvent event, List<String> anomalies, Set<String> rules,
+                 Severity eventSeverity, long eventFlushAt) {
+            if (documentIds.isEmpty()) {
+                firstDocumentTitle = event.documentTitle();
+            }
+            documentIds.add(event.documentId());
+            patientIds.add(event.patientId());
+            ruleNames.addAll(rules);
+            for (String anomaly : anomalies) {
+                if (listedAnomalies.size() < MAX_LISTED_ANOMALIES) {
+                    listedAnomalies.add(anomaly.trim());
+                }
+            }
+            anomalyCount += anomalies.size();
+            severity = severity == null || eventSeverity.compareTo(severity) > 0 ? eventSeverity : severity;
+            flushAt = Math.min(flushAt, eventFlushAt);
+        }
+
+        void refill(long now, int capacity) {
+            double perMs = capacity / 3_600_000.0;
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * perMs);
+            lastRefill = now;
+        }
+
+        boolean isDue(long now) {
+            return anomalyCount > 0 && now >= flushAt;
+        }
+
+        boolean tryAcquire() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        boolean isIdle(int capacity) {
+            return anomalyCount == 0 && tokens >= capacity;
+        }
+
+        DrainedAlert drain(UUID recipientId) {
+            DrainedAlert drained = new DrainedAlert(recipientId, List.copyOf(documentIds), List.copyOf(patientIds),
+                    List.copyOf(ruleNames), List.copyOf(listedAnomalies), anomalyCount, severity,
+                    firstDocumentTitle, flushAt);
+
+            documentIds.clear();
+            patientIds.clear();
+            ruleNames.clear();
+            listedAnomalies.clear();
+            anomalyCount = 0;
+            severity = null;
+            firstDocumentTitle = null;
+            flushAt = Long.MAX_VALUE;
+            return drained;
+        }
+
+        /**
+         * Merge back alerts that could not be sent, ahead of anything that arrived since, and refund
+         * their token
+         */
+        void restore(DrainedAlert alert, int capacity) {
+            Set<UUID> laterDocumentIds = new LinkedHashSet<>(documentIds);
+            documentIds.clear();
+            documentIds.addAll(alert.documentIds());
+            documentIds.addAll(laterDocumentIds);
+            patientIds.addAll(alert.patientIds());
+            ruleNames.addAll(alert.ruleNames());
+
+            List<String> laterAnomalies = new ArrayList<>(listedAnomalies);
+            listedAnomalies.clear();
+            listedAnomalies.addAll(alert.listedAnomalies());
+            for (String anomaly : laterAnomalies) {
+                if (listedAnomalies.size() < MAX_LISTED_ANOMALIES) {
+                    listedAnomalies.add(anomaly);
+                }
+            }
+            anomalyCount += alert.anomalyCount();
+            severity = severity == null || alert.severity().compareTo(severity) > 0 ? alert.severity() : severity;
+            firstDocumentTitle = alert.firstDocumentTitle();
+            flushAt = Math.min(flushAt, alert.flushAt());
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+
+    /**
+     * Alerts taken from a {@link PendingAlert} for one notification
+     */
+    private record DrainedAlert(UUID recipientId, List<UUID> documentIds, List<UUID> patientIds,
+                                List<String> ruleNames, List<String> listedAnomalies, int anomalyCount,
+                                Severity severity, String firstDocumentTitle, long flushAt) {
+
+        NotificationCreateDto toNotification() {
+            String title = documentIds.size() == 1
+                    ? anomalyCount + (anomalyCount == 1 ? " anomaly" : " anomalies") + " detected in " + firstDocumentTitle
+                    : anomalyCount + " anomalies detected in " + documentIds.size() + " documents";
+            String message = String.join("; ", listedAnomalies)
+                    + (anomalyCount > listedAnomalies.size() ? " (+" + (anomalyCount - listedAnomalies.size()) + " more)" : "");
+            if (message.length() > MAX_MESSAGE_LENGTH) {
+                message = message.substring(0, MAX_MESSAGE_LENGTH - 3) + "...";
+            }
+
+            return NotificationCreateDto.builder()
+                    .userId(recipientId)
+                    .type(NotificationType.ANOMALY_ALERT)
+                    .title(title.length() > 255 ? title.substring(0, 252) + "..." : title)
+                    .message(message)
+                    .metadata(Map.of(
+                            "severity", severity.name(),
+                            "anomalyCount", anomalyCount,
+                            "documentIds", documentIds,
+                            "patientIds", patientIds,
+                            "rules", ruleNames))
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.HackPro.MedVault.services;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
@@ -10,28 +11,36 @@ import java.util.UUID;
 @Slf4j
 public class AuditLogService {
 
+    // Audit writes run on the auditLogExecutor (see AsyncConfig) and never block the calling request
+    // thread; when its queue is full a write is dropped and counted as medvault.executor.rejected
+
+    @Async("auditLogExecutor")
     public void logAuthenticationEvent(UUID userId, String eventType, String ipAddress) {
         log.info("Authentication Event - User: {}, Type: {}, IP: {}", userId, eventType, ipAddress);
         // TODO: Save to database
     }
 
+    @Async("auditLogExecutor")
     public void logAuthenticationEvent(UUID userId, String eventType, String ipAddress, Map<String, String> metadata) {
         log.info("Authentication Event - User: {}, Type: {}, IP: {}, Metadata: {}",
                 userId, eventType, ipAddress, metadata);
         // TODO: Save to database
     }
 
+    @Async("auditLogExecutor")
     public void logAccessEvent(UUID doctorId, UUID patientId, String actionType, String description) {
         log.info("Access Event - Doctor: {}, Patient: {}, Action: {}, Description: {}",
                 doctorId, patientId, actionType, description);
         // TODO: Save to database
     }
 
+    @Async("auditLogExecutor")
     public void logSecurityEvent(String eventType, String ipAddress, String details) {
         log.warn("Security Event - Type: {}, IP: {}, Details: {}", eventType, ipAddress, details);
         // TODO: Save to database and trigger alerts
     }
 
+    @Async("auditLogExecutor")
     public void logActivity(UUID userId, String activityType, String source) {
         log.info("Activity Log - User: {}, Activity: {}, Source: {}", userId, activityType, source);
         // TODO: Save to database
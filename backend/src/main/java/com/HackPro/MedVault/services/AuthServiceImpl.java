@@ -7,6 +7,7 @@ import com.HackPro.MedVault.domain.dtos.MFAVerificationRequestDto;
 import com.HackPro.MedVault.domain.dtos.PatientRegistrationDto;
 import com.HackPro.MedVault.domain.dtos.ResetPasswordDto;
 import com.HackPro.MedVault.domain.entities.MedicalRecords.EmergencyProfile;
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
 import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
 import com.HackPro.MedVault.domain.entities.UserManagement.UserRole;
@@ -23,6 +24,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -34,8 +36,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -55,6 +61,11 @@ public class AuthServiceImpl {
     private final JwtService jwtService;
     private final DoctorRepository doctorRepository;
     private final MFAService mfaService;
+    private final OutboundMessageQueue outboundMessageQueue;
+
+    // The signed reset token is appended to this URL in the reset email
+    @Value("${password-reset.url:http://localhost:5173/reset-password?token=}")
+    private String passwordResetUrl;
 
     /**
      * Register a new patient in the system
@@ -200,6 +211,21 @@ public class AuthServiceImpl {
             MedVaultUserDetails userDetails =
                     (MedVaultUserDetails) authentication.getPrincipal();
 
+            // MFA users only get a temporary token until /verify-mfa accepts their code
+            if (userDetails.requiresMFA()) {
+                mfaService.beginMFAChallenge(userDetails.getUserId(), userDetails.getEmail());
+                return AuthResponseDto.builder()
+                        .tempToken(jwtService.generateTempToken(userDetails))
+                        .userId(userDetails.getUserId())
+                        .email(userDetails.getEmail())
+                        .role(userDetails.getRole())
+                        .mfaEnabled(true)
+                        .requiresMfa(true)
+                        .issuedAt(System.currentTimeMillis())
+                        .message("MFA verification required")
+                        .build();
+            }
+
             // Generate tokens...
             return buildAuthResponse(userDetails);
 
@@ -317,8 +343,10 @@ public class AuthServiceImpl {
     public AuthResponseDto refreshToken(String refreshToken) {
         try {
             String email = jwtService.extractUsername(refreshToken);
-            MedVaultUserDetails userDetails =
-                    (MedVaultUserDetails) MedVaultUserDetailsService.loadUserByUsername(email);
+            // A refresh token from verifyMFA carries mfaVerified, so MFA users keep their session; one issued
+            // before the user enabled MFA does not, and they must sign in with MFA
+            MedVaultUserDetails userDetails = (MedVaultUserDetails) MedVaultUserDetailsService
+                    .loadUserWithMFAStatus(email, jwtService.isMFAVerifiedToken(refreshToken));
 
             if (jwtService.isValidRefreshToken(refreshToken)) {
                 String newAccessToken = jwtService.generateAccessToken(userDetails);
@@ -341,10 +369,19 @@ public class AuthServiceImpl {
     }
 
     public AuthResponseDto verifyMFA(MFAVerificationRequestDto request) {
+        // The temporary token proves the password step for this email
+        if (!jwtService.isValidTempToken(request.getTempToken())
+                || !request.getEmail().equals(jwtService.extractUsername(request.getTempToken()))) {
+            throw new BadCredentialsException("Invalid or expired MFA session");
+        }
+
         MedVaultUserDetails userDetails =
-                (MedVaultUserDetails) MedVaultUserDetailsService.loadUserByUsername(request.getEmail());
+                (MedVaultUserDetails) MedVaultUserDetailsService.loadUserWithMFAStatus(request.getEmail(), true);
 
-        if (mfaService.verifyMFACode(userDetails.getUserId(), request.getMfaCode())) {
+        // Temp tokens issued before they carried an id are counted per user
+        UUID tempTokenId = jwtService.extractTokenId(request.getTempToken());
+        UUID challengeId = tempTokenId != null ? tempTokenId : userDetails.getUserId();
+        if (mfaService.verifyMFACode(userDetails.getUserId(), challengeId, request.getMfaCode())) {
             String accessToken = jwtService.generateAccessToken(userDetails);
             String refreshToken = jwtService.generateRefreshToken(userDetails);
 
@@ -359,13 +396,19 @@ public class AuthServiceImpl {
                     .issuedAt(System.currentTimeMillis())
                     .build();
         }
+        if (mfaService.isChallengeExhausted(challengeId)) {
+            jwtService.revokeToken(request.getTempToken());
+            throw new BadCredentialsException("Too many invalid MFA codes; sign in again");
+        }
         throw new BadCredentialsException("Invalid MFA code");
     }
 
     public void initiatePasswordReset(String email) {
         userRepository.findByEmail(email).ifPresent(user -> {
             String resetToken = jwtService.generatePasswordResetToken(email);
-            // TODO: Send email with reset link
+            outboundMessageQueue.enqueue(MessageChannel.EMAIL, email, "password-reset", Map.of(
+                    "resetUrl", passwordResetUrl + URLEncoder.encode(resetToken, StandardCharsets.UTF_8),
+                    "validityMinutes", String.valueOf(JwtService.PASSWORD_RESET_VALIDITY_MINUTES)));
             log.info("Password reset initiated for: {}", email);
             auditLogService.logActivity(user.getId(), "PASSWORD_RESET_REQUESTED", "SYSTEM");
         });
@@ -0,0 +1,486 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus;
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportPartition;
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus;
+import com.HackPro.MedVault.repositories.DocumentRepository;
+import com.HackPro.MedVault.repositories.DocumentRepository.ExportDocument;
+import com.HackPro.MedVault.repositories.ExportJobRepository;
+import com.HackPro.MedVault.repositories.ExportPartitionRepository;
+import com.HackPro.MedVault.repositories.MedicalRecordRepository;
+import com.HackPro.MedVault.repositories.MedicalRecordRepository.ExportRecord;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import com.HackPro.MedVault.repositories.PatientRepository.ExportPatient;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs FHIR bulk export partitions.
+ * <p>
+ * A dispatcher claims pending partitions from the database and runs at most
+ * {@code bulk-export.max-concurrency} of them at once. Each partition streams the patients,
+ * medical records and documents of its patient-id range straight into gzipped NDJSON files, one
+ * per resource type, so memory stays constant however large the range is. A partition is the unit
+ * of resume: partitions left running by a previous process are requeued on startup and rewrite
+ * their files from scratch. Assumes a single application instance runs exports.
+ */
+@Service
+@Slf4j
+public class BulkExportRunner {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportJobRepository exportJobRepository;
+    private final ExportPartitionRepository exportPartitionRepository;
+    private final PatientRepository patientRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final DocumentRepository documentRepository;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Timer partitionTimer;
+
+    private final Path outputDir;
+    private final int maxConcurrency;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final Set<UUID> cancelledJobs = ConcurrentHashMap.newKeySet();
+
+    public BulkExportRunner(ExportJobRepository exportJobRepository,
+                            ExportPartitionRepository exportPartitionRepository,
+                            PatientRepository patientRepository,
+                            MedicalRecordRepository medicalRecordRepository,
+                            DocumentRepository documentRepository,
+                            ObjectMapper objectMapper,
+                            @Qualifier("bulkExportExecutor") AsyncTaskExecutor executor,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${bulk-export.output-dir:${java.io.tmpdir}/medvault-exports}") Path outputDir,
+                            @Value("${bulk-export.max-concurrency:4}") int maxConcurrency,
+                            @Value("${bulk-export.max-attempts:3}") int maxAttempts,
+                            @Value("${bulk-export.retention:24h}") Duration retention) {
+        this.exportJobRepository = exportJobRepository;
+        this.exportPartitionRepository = exportPartitionRepository;
+        this.patientRepository = patientRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.documentRepository = documentRepository;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Streaming queries need a transaction for the fetch size to take effect on PostgreSQL
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.partitionTimer = Timer.builder("medvault.export.partition")
+                .description("Duration of one bulk export partition")
+                .register(meterRegistry);
+        this.outputDir = outputDir;
+        this.maxConcurrency = maxConcurrency;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+    }
+
+    public Path outputDirectory(UUID jobId) {
+        return outputDir.resolve(jobId.toString());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedPartitions() {
+        Integer requeued = transactionTemplate.execute(status -> exportPartitionRepository.requeueRunning());
+        if (requeued != null && requeued > 0) {
+            log.info("Requeued {} bulk export partitions interrupted by the last shutdown", requeued);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bulk-export.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            exportJobRepository.completeFinished(now);
+            exportJobRepository.failBroken(now, "A partition failed after " + maxAttempts + " attempts");
+        });
+
+        int free = maxConcurrency - running.get();
+        if (free <= 0) {
+            return;
+        }
+
+        List<ExportPartition> claimable = transactionTemplate.execute(
+                status -> exportPartitionRepository.findClaimable(Limit.of(free)));
+        if (claimable == null) {
+            return;
+        }
+
+        for (ExportPartition partition : claimable) {
+            PartitionTask task = PartitionTask.of(partition);
+            Boolean claimed = transactionTemplate.execute(status -> {
+                if (exportPartitionRepository.claim(task.partitionId(), LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                exportJobRepository.markStarted(task.jobId());
+                return true;
+            });
+            if (!Boolean.TRUE.equals(claimed)) {
+                continue;
+            }
+
+            running.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(task);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                running.decrementAndGet();
+                finishPartition(task.partitionId(), ExportPartitionStatus.PENDING, null);
+            }
+        }
+    }
+
+    /**
+     * Stop the job's running partitions and remove its output
+     */
+    public void cancel(UUID jobId) {
+        cancelledJobs.add(jobId);
+        deleteDirectory(outputDirectory(jobId));
+    }
+
+    /**
+     * Remove the output of finished jobs once the retention period has passed
+     */
+    @Scheduled(fixedDelayString = "${bulk-export.cleanup-interval-ms:600000}")
+    public void removeExpiredOutput() {
+        List<UUID> expired = exportJobRepository.findExpirable(LocalDateTime.now().minus(retention));
+        if (expired.isEmpty()) {
+            return;
+        }
+        expired.forEach(jobId -> deleteDirectory(outputDirectory(jobId)));
+        transactionTemplate.executeWithoutResult(
+                status -> exportJobRepository.updateStatus(expired, ExportJobStatus.EXPIRED));
+        cancelledJobs.removeAll(expired);
+        log.info("Removed the output of {} expired bulk export jobs", expired.size());
+    }
+
+    private void run(PartitionTask task) {
+        Path dir = outputDirectory(task.jobId());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Files.createDirectories(dir);
+            deletePartitionFiles(dir, task.index());
+
+            Map<String, Long> counts;
+            try (PartitionWriter writer = new PartitionWriter(task, dir)) {
+                if (task.includes("Patient")) {
+                    readOnlyTransaction.executeWithoutResult(status -> {
+                        try (Stream<ExportPatient> patients = patientRepository.streamForExport(
+                                task.rangeStart(), task.rangeEnd(), task.since())) {
+                            patients.forEach(patient -> writer.write("Patient", toFhirPatient(patient)));
+                        }
+                    });
+                }
+
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<ExportRecord> records = medicalRecordRepository.streamForExport(
+                            task.rangeStart(), task.rangeEnd(), task.since())) {
+                        records.forEach(record -> {
+                            String type = resourceType(record.getFhirResource());
+                            if (type == null) {
+                                log.debug("Skipping medical record {} without a resourceType", record.getId());
+                            } else if (task.includes(type)) {
+                                writer.write(type, record.getFhirResource());
+                            }
+                        });
+                    }
+                });
+
+                if (task.includes("DocumentReference")) {
+                    readOnlyTransaction.executeWithoutResult(status -> {
+                        try (Stream<ExportDocument> documents = documentRepository.streamForExport(
+                                task.rangeStart(), task.rangeEnd(), task.since())) {
+                            documents.forEach(document ->
+                                    writer.write("DocumentReference", toFhirDocumentReference(document)));
+                        }
+                    });
+                }
+                counts = writer.counts();
+            }
+
+            finishPartition(task.partitionId(), ExportPartitionStatus.COMPLETED, counts);
+            log.debug("Bulk export {} partition {} wrote {}", task.jobId(), task.index(), counts);
+        } catch (CancellationException e) {
+            deletePartitionFiles(dir, task.index());
+            log.info("Bulk export {} partition {} stopped: job cancelled", task.jobId(), task.index());
+        } catch (Exception e) {
+            deletePartitionFiles(dir, task.index());
+            ExportPartitionStatus next = task.attempt() >= maxAttempts
+                    ? ExportPartitionStatus.FAILED
+                    : ExportPartitionStatus.PENDING;
+            finishPartition(task.partitionId(), next, null);
+            log.error("Bulk export {} partition {} failed (attempt {}), now {}",
+                    task.jobId(), task.index(), task.attempt(), next, e);
+        } finally {
+            sample.stop(partitionTimer);
+        }
+    }
+
+    private void finishPartition(UUID partitionId, ExportPartitionStatus status, Map<String, Long> counts) {
+        transactionTemplate.executeWithoutResult(tx -> exportPartitionRepository.findById(partitionId)
+                .filter(partition -> partition.getStatus() == ExportPartitionStatus.RUNNING)
+                .ifPresent(partition -> {
+                    partition.setStatus(status);
+                    partition.setResourceCounts(counts);
+                    partition.setCompletedAt(status == ExportPartitionStatus.COMPLETED ? LocalDateTime.now() : null);
+                }));
+    }
+
+    private String toFhirPatient(ExportPatient patient) {
+        ObjectNode resource = objectMapper.createObjectNode();
+        resource.put("resourceType", "Patient");
+        resource.put("id", patient.getId().toString());
+        if (patient.getUpdatedAt() != null) {
+            resource.putObject("meta").put("lastUpdated", instant(patient.getUpdatedAt()));
+        }
+        ObjectNode name = resource.putArray("name").addObject();
+        name.put("family", patient.getLastName());
+        name.putArray("given").add(patient.getFirstName());
+        var telecom = resource.putArray("telecom");
+        if (patient.getPhoneNumber() != null) {
+            telecom.addObject().put("system", "phone").put("value", patient.getPhoneNumber());
+        }
+        telecom.addObject().put("system", "email").put("value", patient.getEmail());
+        if (patient.getGender() != null) {
+            resource.put("gender", patient.getGender().name().toLowerCase());
+        }
+        if (patient.getDateOfBirth() != null) {
+            resource.put("birthDate", localDate(patient.getDateOfBirth()).toString());
+        }
+        if (patient.getAddress() != null) {
+            resource.putArray("address").addObject().put("text", patient.getAddress());
+        }
+        return serialize(resource);
+    }
+
+    private String toFhirDocumentReference(ExportDocument document) {
+        ObjectNode resource = objectMapper.createObjectNode();
+        resource.put("resourceType", "DocumentReference");
+        resource.put("id", document.getId().toString());
+        resource.put("status", "current");
+        if (document.getDocumentType() != null) {
+            resource.putObject("type").put("text", document.getDocumentType());
+        }
+        if (document.getCategory() != null) {
+            resource.putArray("category").addObject().put("text", document.getCategory());
+        }
+        resource.putObject("subject").put("reference", "Patient/" + document.getPatientId());
+        if (document.getCreatedAt() != null) {
+            resource.put("date", instant(document.getCreatedAt()));
+        }
+        resource.put("description", document.getTitle());
+        ObjectNode attachment = resource.putArray("content").addObject().putObject("attachment");
+        attachment.put("url", document.getFileUrl());
+        attachment.put("title", document.getFileName());
+        return serialize(resource);
+    }
+
+    /**
+     * Read only as far as the top-level resourceType instead of parsing the whole resource
+     */
+    private String resourceType(String resource) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(resource)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("resourceType".equals(field) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String serialize(ObjectNode resource) {
+        try {
+            return objectMapper.writeValueAsString(resource);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize FHIR resource", e);
+        }
+    }
+
+    private static String instant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+    }
+
+    private static LocalDate localDate(Date date) {
+        return date instanceof java.sql.Date sqlDate
+                ? sqlDate.toLocalDate()
+                : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static void deletePartitionFiles(Path dir, int index) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*-" + index + ".ndjson.gz")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove bulk export files of partition {} in {}", index, dir, e);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove bulk export output {}", dir, e);
+        }
+    }
+
+    private record PartitionTask(UUID jobId, UUID partitionId, int index, int attempt,
+                                 UUID rangeStart, UUID rangeEnd, Set<String> types, LocalDateTime since) {
+
+        static PartitionTask of(ExportPartition partition) {
+            String types = partition.getJob().getResourceTypes();
+            return new PartitionTask(
+                    partition.getJob().getId(),
+                    partition.getId(),
+                    partition.getPartitionIndex(),
+                    partition.getAttempts() + 1,
+                    partition.getRangeStart(),
+                    partition.getRangeEnd(),
+                    types == null ? null : Arrays.stream(types.split(",")).collect(Collectors.toUnmodifiableSet()),
+                    partition.getJob().getSince());
+        }
+
+        boolean includes(String type) {
+            return types == null || types.contains(type);
+        }
+    }
+
+    /**
+     * One gzipped NDJSON file per resource type, opened on first use
+     */
+    private final class PartitionWriter implements AutoCloseable {
+
+        private final PartitionTask task;
+        private final Path dir;
+        private final Map<String, Writer> writers = new HashMap<>();
+        private final Map<String, Long> counts = new HashMap<>();
+
+        PartitionWriter(PartitionTask task, Path dir) {
+            this.task = task;
+            this.dir = dir;
+        }
+
+        void write(String type, String resource) {
+            if (cancelledJobs.contains(task.jobId())) {
+                throw new CancellationException();
+            }
+            try {
+                Writer writer = writers.get(type);
+                if (writer == null) {
+                    writer = open(type);
+                    writers.put(type, writer);
+                }
+                writer.write(resource);
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            counts.merge(type, 1L, Long::sum);
+            meterRegistry.counter("medvault.export.resources", "type", type).increment();
+        }
+
+        Map<String, Long> counts() {
+            return Map.copyOf(counts);
+        }
+
+        private Writer open(String type) throws IOException {
+            Path file = dir.resolve(type + "-" + task.index() + ".ndjson.gz");
+            var out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            return new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (Writer writer : writers.values()) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.BulkExportStatusDto;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+public interface BulkExportService {
+
+    /**
+     * Kick off a system-level $export. The patient population is split into ID-range partitions
+     * that run asynchronously.
+     *
+     * @param adminId    Requesting admin's user ID
+     * @param types      Optional comma-separated _type filter
+     * @param since      Optional _since instant (ISO-8601)
+     * @param requestUrl Kick-off URL, echoed in the manifest
+     * @return job ID to poll
+     */
+    UUID startExport(UUID adminId, String types, String since, String requestUrl);
+
+    /**
+     * Job status; the manifest is set once the job has completed
+     *
+     * @param jobId   Export job ID
+     * @param adminId Requesting admin's user ID
+     * @param baseUrl FHIR base URL for the file links
+     */
+    BulkExportStatusDto getStatus(UUID jobId, UUID adminId, String baseUrl);
+
+    /**
+     * Cancel a running job, or delete the output of a finished one
+     */
+    void cancelExport(UUID jobId, UUID adminId);
+
+    /**
+     * Output file of a completed job
+     *
+     * @param fileName File name from the manifest
+     * @return path of the gzipped NDJSON file
+     */
+    Path getOutputFile(UUID jobId, UUID adminId, String fileName);
+}
@@ -13,5 +13,10 @@ public interface DocumentService {
     void updateProcessedData(N8nProcessedDataDto dto);
 
     List<DocumentResponseDto> getPatientDocuments(UUID patientId);
+
+    /**
+     * Counter that changes whenever the patient's document list changes (upload or processing)
+     */
+    long getDocumentsVersion(UUID patientId);
 }
 
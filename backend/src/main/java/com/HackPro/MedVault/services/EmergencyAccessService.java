@@ -0,0 +1,18 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.EmergencyAccessRequestDto;
+
+import java.util.UUID;
+
+public interface EmergencyAccessService {
+
+    /**
+     * Authenticate an emergency access attempt with the patient's Aadhaar OTP and return the
+     * patient's emergency snapshot
+     *
+     * @param doctorId Authenticated doctor's user ID
+     * @param request  Doctor's license number, patient's Aadhaar number and OTP
+     * @return emergency snapshot as a JSON document
+     */
+    String getEmergencySnapshot(UUID doctorId, EmergencyAccessRequestDto request);
+}
@@ -0,0 +1,163 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.EmergencySnapshotDto;
+import com.HackPro.MedVault.events.EmergencyProfileChangedEvent;
+import com.HackPro.MedVault.events.PatientProfileChangedEvent;
+import com.HackPro.MedVault.repositories.EmergencyProfileRepository;
+import com.HackPro.MedVault.repositories.EmergencyProfileRepository.EmergencySummary;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-optimized store of emergency profile snapshots for the emergency access path.
+ * <p>
+ * Each snapshot is the final JSON response, built once and kept encrypted with
+ * {@link EncryptionService}, so a hit costs one decryption and no database round trip or
+ * serialization. Snapshots that are held are rebuilt after an {@link EmergencyProfileChangedEvent}
+ * commits. Aadhaar lookups are cached by their ciphertext, so plain numbers are never held, and are
+ * dropped after a {@link PatientProfileChangedEvent} so a changed Aadhaar number stops resolving.
+ * Both caches are bounded by size and expire after a TTL.
+ */
+@Service
+@Slf4j
+public class EmergencySnapshotCache {
+
+    private final EmergencyProfileRepository emergencyProfileRepository;
+    private final PatientRepository patientRepository;
+    private final EncryptionService encryptionService;
+    private final ObjectMapper objectMapper;
+
+    private final Cache<UUID, String> encryptedSnapshots;
+    private final Cache<String, UUID> patientIdsByAadhaar;
+
+    // Bumped on every change so a load racing with a change is never kept
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong patientChanges = new AtomicLong();
+
+    public EmergencySnapshotCache(EmergencyProfileRepository emergencyProfileRepository,
+                                  PatientRepository patientRepository,
+                                  EncryptionService encryptionService,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${emergency-access.cache.max-size:10000}") long maxSize,
+                                  @Value("${emergency-access.cache.ttl:1h}") Duration ttl) {
+        this.emergencyProfileRepository = emergencyProfileRepository;
+        this.patientRepository = patientRepository;
+        this.encryptionService = encryptionService;
+        this.objectMapper = objectMapper;
+        this.encryptedSnapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.patientIdsByAadhaar = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, encryptedSnapshots, "emergencySnapshots");
+        CaffeineCacheMetrics.monitor(meterRegistry, patientIdsByAadhaar, "emergencyAadhaarLookups");
+    }
+
+    public Optional<UUID> findPatientId(String aadhaarNumber) {
+        String encryptedAadhaar = encryptionService.encrypt(aadhaarNumber);
+        UUID cached = patientIdsByAadhaar.getIfPresent(encryptedAadhaar);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long changesBeforeLoad = patientChanges.get();
+        Optional<UUID> patientId = patientRepository.findIdByAadhaarNumber(encryptedAadhaar);
+        patientId.ifPresent(id -> {
+            if (patientChanges.get() == changesBeforeLoad) {
+                patientIdsByAadhaar.put(encryptedAadhaar, id);
+                if (patientChanges.get() != changesBeforeLoad) {
+                    patientIdsByAadhaar.asMap().remove(encryptedAadhaar, id);
+                }
+            }
+        });
+        return patientId;
+    }
+
+    /**
+     * Snapshot of the patient's emergency profile as a JSON document
+     */
+    public Optional<String> getSnapshotJson(UUID patientId) {
+        String encrypted = encryptedSnapshots.getIfPresent(patientId);
+        if (encrypted == null) {
+            encrypted = load(patientId);
+        }
+        return Optional.ofNullable(encrypted).map(encryptionService::decrypt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProfileChanged(EmergencyProfileChangedEvent event) {
+        changes.incrementAndGet();
+        // Only snapshots already served are rebuilt; others are built on first emergency read
+        if (encryptedSnapshots.asMap().remove(event.patientId()) != null) {
+            load(event.patientId());
+            log.debug("Emergency snapshot rebuilt for patient {}", event.patientId());
+        }
+    }
+
+    // The patient's Aadhaar number may have changed; the mapping is found by value since only the
+    // ciphertext is the key (a scan of at most emergency-access.cache.max-size entries)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientProfileChangedEvent event) {
+        patientChanges.incrementAndGet();
+        patientIdsByAadhaar.asMap().values().removeIf(event.patientId()::equals);
+    }
+
+    private String load(UUID patientId) {
+        long changesBeforeLoad = changes.get();
+        Optional<EmergencySummary> summary = emergencyProfileRepository.findSummaryByPatientId(patientId);
+        if (summary.isEmpty()) {
+            return null;
+        }
+
+        String encrypted = encryptionService.encrypt(toJson(patientId, summary.get()));
+        if (changes.get() == changesBeforeLoad) {
+            encryptedSnapshots.put(patientId, encrypted);
+            // A change between the check and the put must still win
+            if (changes.get() != changesBeforeLoad) {
+                encryptedSnapshots.asMap().remove(patientId, encrypted);
+            }
+        }
+        return encrypted;
+    }
+
+    private String toJson(UUID patientId, EmergencySummary summary) {
+        EmergencySnapshotDto snapshot = EmergencySnapshotDto.builder()
+                .patientId(patientId)
+                .bloodGroup(summary.getBloodGroup())
+                .criticalAllergies(summary.getCriticalAllergies())
+                .chronicDiseases(summary.getChronicDiseases())
+                .currentMedications(summary.getCurrentMedications())
+                .emergencyContactName(summary.getEmergencyContactName())
+                .emergencyContactPhone(summary.getEmergencyContactPhone())
+                .lastUpdated(summary.getLastUpdated())
+                .build();
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize emergency snapshot", e);
+        }
+    }
+}
@@ -9,7 +9,9 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
 @Service
 @Slf4j
@@ -39,6 +41,27 @@ public class EncryptionService {
         }
     }
 
+    /**
+     * Encrypt many values with one key derivation and one cipher instance (bulk imports)
+     */
+    public List<String> encryptAll(List<String> plainTexts) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, getSecretKey());
+
+            List<String> encrypted = new ArrayList<>(plainTexts.size());
+            Base64.Encoder encoder = Base64.getEncoder();
+            for (String plainText : plainTexts) {
+                encrypted.add(encoder.encodeToString(cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8))));
+            }
+            return encrypted;
+
+        } catch (Exception e) {
+            log.error("Bulk encryption failed: {}", e.getMessage());
+            throw new EncryptionException("Failed to encrypt data", e);
+        }
+    }
+
     /**
      * Decrypt sensitive data
      */
@@ -0,0 +1,29 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.FhirImportReportDto;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.UUID;
+
+public interface FhirImportService {
+
+    /**
+     * Import a batch or transaction Bundle. Batch entries succeed or fail individually; a
+     * transaction is rejected as a whole if any entry is invalid.
+     *
+     * @param body    Bundle JSON, parsed incrementally
+     * @param adminId Importing admin's user ID (recorded as uploader)
+     * @return batch-response or transaction-response Bundle
+     */
+    Map<String, Object> importBundle(InputStream body, UUID adminId);
+
+    /**
+     * Import newline-delimited FHIR resources, committing every chunk separately
+     *
+     * @param body    NDJSON, one resource per line
+     * @param adminId Importing admin's user ID (recorded as uploader)
+     * @return counts and per-resource errors
+     */
+    FhirImportReportDto importNdjson(InputStream body, UUID adminId);
+}
@@ -0,0 +1,28 @@
+package com.HackPro.MedVault.services;
+
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface FhirService {
+
+    /**
+     * Search a patient's FHIR resources. Parameters are validated before this returns; the
+     * searchset Bundle is then streamed row by row, so a page is never held in memory.
+     *
+     * @param resourceType FHIR resource type, e.g. Observation
+     * @param patientId    Patient whose resources are searched
+     * @param params       All query parameters (code, date, status, _count, _page)
+     * @param baseUrl      Absolute URL of the FHIR base, used for fullUrl and paging links
+     * @return body that writes the searchset Bundle
+     */
+    StreamingResponseBody search(String resourceType, UUID patientId,
+                                 MultiValueMap<String, String> params, String baseUrl);
+
+    /**
+     * CapabilityStatement describing the supported resource types and search parameters
+     */
+    Map<String, Object> getCapabilityStatement(String baseUrl);
+}
@@ -5,24 +5,33 @@ import com.HackPro.MedVault.security.MedVaultUserDetails;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.security.Key;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @Getter
+@RequiredArgsConstructor
 public class JwtService {
 
+    public static final int PASSWORD_RESET_VALIDITY_MINUTES = 30;
+
+    @Getter(AccessLevel.NONE)
+    private final TokenRevocationService tokenRevocationService;
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -38,56 +47,43 @@ public class JwtService {
     // Track last activity for session timeout
     private final Map<String, Long> lastActivityMap = new ConcurrentHashMap<>();
 
+    // Decoded once; the parser and minter are immutable and shared by all requests
+    @Getter(AccessLevel.NONE)
+    private SecretKey signingKey;
+    @Getter(AccessLevel.NONE)
+    private JwtParser parser;
+    @Getter(AccessLevel.NONE)
+    private JwtTokenMinter minter;
+
+    @PostConstruct
+    void initSigning() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        minter = new JwtTokenMinter(signingKey);
+    }
+
     /**
      * Generate access token with full claims
      */
     public String generateAccessToken(MedVaultUserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userDetails.getUserId().toString());
-        claims.put("role", userDetails.getRole().toString());
-        claims.put("mfaVerified", userDetails.isMfaVerified());
-        claims.put("tokenType", "access");
-        claims.put("authorities", userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList()));
-
-        return buildToken(claims, userDetails.getEmail(), accessTokenExpiration);
+        long now = System.currentTimeMillis();
+        return minter.accessToken(userDetails, now, now + accessTokenExpiration);
     }
 
     /**
-     * Generate refresh token with minimal claims
+     * Generate refresh token with minimal claims and the MFA state of the session
      */
     public String generateRefreshToken(MedVaultUserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userDetails.getUserId().toString());
-        claims.put("tokenType", "refresh");
-
-        return buildToken(claims, userDetails.getEmail(), refreshTokenExpiration);
+        long now = System.currentTimeMillis();
+        return minter.refreshToken(userDetails, now, now + refreshTokenExpiration);
     }
 
     /**
      * Generate temporary token for MFA flow (short-lived)
      */
     public String generateTempToken(MedVaultUserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userDetails.getUserId().toString());
-        claims.put("tokenType", "temp");
-        claims.put("mfaPending", true);
-
-        return buildToken(claims, userDetails.getEmail(), tempTokenExpiration);
-    }
-
-    /**
-     * Build JWT token with claims
-     */
-    private String buildToken(Map<String, Object> claims, String subject, long expiration) {
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        long now = System.currentTimeMillis();
+        return minter.tempToken(userDetails, now, now + tempTokenExpiration);
     }
 
     /**
@@ -132,11 +128,7 @@ public class JwtService {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
@@ -157,6 +149,10 @@ public class JwtService {
                 return false;
             }
 
+            if (isRevoked(claims)) {
+                return false;
+            }
+
             // Check session timeout (15 minutes inactivity)
             Long lastActivity = lastActivityMap.get(token);
             if (lastActivity != null) {
@@ -188,7 +184,7 @@ public class JwtService {
 
             // Check token type
             String tokenType = claims.get("tokenType", String.class);
-            return "refresh".equals(tokenType);
+            return "refresh".equals(tokenType) && !isRevoked(claims);
 
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Refresh token validation failed: {}", e.getMessage());
@@ -212,7 +208,7 @@ public class JwtService {
             String tokenType = claims.get("tokenType", String.class);
             Boolean mfaPending = claims.get("mfaPending", Boolean.class);
 
-            return "temp".equals(tokenType) && Boolean.TRUE.equals(mfaPending);
+            return "temp".equals(tokenType) && Boolean.TRUE.equals(mfaPending) && !isRevoked(claims);
 
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Temp token validation failed: {}", e.getMessage());
@@ -247,12 +243,41 @@ public class JwtService {
         lastActivityMap.remove(token);
     }
 
+    /**
+     * Token id (jti), or null for a token issued without one
+     */
+    public UUID extractTokenId(String token) {
+        String jti = extractClaim(token, Claims::getId);
+        return jti != null ? UUID.fromString(jti) : null;
+    }
+
+    /**
+     * Revoke an access, refresh or temp token until it expires. Tokens without a jti, and tokens that are
+     * invalid or already expired, are ignored.
+     */
+    public void revokeToken(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            if (claims.getId() != null) {
+                tokenRevocationService.revoke(UUID.fromString(claims.getId()), claims.getExpiration().toInstant());
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token not revoked: {}", e.getMessage());
+        }
+        invalidateToken(token);
+    }
+
+    // Tokens issued before jti was added cannot be revoked and stay valid until they expire
+    private boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        return jti != null && tokenRevocationService.isRevoked(UUID.fromString(jti), claims.getExpiration().toInstant());
+    }
+
     /**
      * Get signing key for JWT
      */
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
 
@@ -271,7 +296,8 @@ public class JwtService {
         return Jwts.builder()
                 .setSubject(email)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 30)) // 30 minutes
+                .setExpiration(new Date(System.currentTimeMillis()
+                        + TimeUnit.MINUTES.toMillis(PASSWORD_RESET_VALIDITY_MINUTES)))
                 .claim("type", "PASSWORD_RESET")
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
@@ -0,0 +1,136 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.UserRole;
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Signs HS256 access, refresh and temporary tokens without going through the jjwt builder.
+ * <p>
+ * The encoded header is computed once. The claims that depend only on the role and the doctor's
+ * verification status (role, authorities, MFA flag) are cached as a JSON fragment, so each token only
+ * serializes the user id, subject, token id and timestamps. The HMAC is keyed once and cloned per token,
+ * because keying is most of the cost of a short MAC. The output is a compact JWS with the same header
+ * and claims jjwt writes, so {@link JwtService}'s parser reads it unchanged. Every token carries a
+ * random {@code jti} so it can be revoked.
+ */
+final class JwtTokenMinter {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final byte[] ENCODED_HEADER =
+            BASE64_URL.encode("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private final Mac keyedMac;
+
+    // Claim fragments for access tokens; authorities depend only on role and verification status
+    private final Map<AccessTemplateKey, String> accessTemplates = new ConcurrentHashMap<>();
+
+    JwtTokenMinter(SecretKey key) {
+        try {
+            keyedMac = Mac.getInstance(HMAC_ALGORITHM);
+            keyedMac.init(key);
+            // Fail at startup rather than on the first login if the provider's MAC cannot be cloned
+            keyedMac.clone();
+        } catch (GeneralSecurityException | CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC-SHA256 signing is not available", e);
+        }
+    }
+
+    String accessToken(MedVaultUserDetails userDetails, long issuedAtMillis, long expirationMillis) {
+        String template = accessTemplates.computeIfAbsent(
+                new AccessTemplateKey(userDetails.getRole(), userDetails.getVerificationStatus(),
+                        userDetails.isMfaVerified()),
+                key -> accessTemplate(userDetails));
+        return sign(userDetails.getUserId(), userDetails.getEmail(), template, newTokenId(), issuedAtMillis,
+                expirationMillis);
+    }
+
+    String refreshToken(MedVaultUserDetails userDetails, long issuedAtMillis, long expirationMillis) {
+        String claims = userDetails.isMfaVerified()
+                ? "\"tokenType\":\"refresh\",\"mfaVerified\":true"
+                : "\"tokenType\":\"refresh\",\"mfaVerified\":false";
+        return sign(userDetails.getUserId(), userDetails.getEmail(), claims, newTokenId(), issuedAtMillis,
+                expirationMillis);
+    }
+
+    String tempToken(MedVaultUserDetails userDetails, long issuedAtMillis, long expirationMillis) {
+        return sign(userDetails.getUserId(), userDetails.getEmail(), "\"tokenType\":\"temp\",\"mfaPending\":true",
+                newTokenId(), issuedAtMillis, expirationMillis);
+    }
+
+    private static String accessTemplate(MedVaultUserDetails userDetails) {
+        StringBuilder template = new StringBuilder(160)
+                .append("\"role\":\"").append(userDetails.getRole().name())
+                .append("\",\"mfaVerified\":").append(userDetails.isMfaVerified())
+                .append(",\"tokenType\":\"access\",\"authorities\":[");
+        boolean first = true;
+        for (GrantedAuthority authority : userDetails.getAuthorities()) {
+            template.append(first ? "" : ",").append('"').append(quote(authority.getAuthority())).append('"');
+            first = false;
+        }
+        return template.append(']').toString();
+    }
+
+    private String sign(UUID userId, String subject, String claims, UUID tokenId,
+                        long issuedAtMillis, long expirationMillis) {
+        StringBuilder payload = new StringBuilder(claims.length() + subject.length() + 144)
+                .append("{\"userId\":\"").append(userId)
+                .append("\",").append(claims)
+                .append(",\"sub\":\"").append(quote(subject))
+                .append("\",\"jti\":\"").append(tokenId)
+                // jjwt writes iat and exp in whole seconds
+                .append("\",\"iat\":").append(issuedAtMillis / 1000)
+                .append(",\"exp\":").append(expirationMillis / 1000)
+                .append('}');
+        byte[] encodedPayload = BASE64_URL.encode(payload.toString().getBytes(StandardCharsets.UTF_8));
+
+        byte[] token = new byte[ENCODED_HEADER.length + encodedPayload.length + 2 + 43];
+        System.arraycopy(ENCODED_HEADER, 0, token, 0, ENCODED_HEADER.length);
+        token[ENCODED_HEADER.length] = '.';
+        System.arraycopy(encodedPayload, 0, token, ENCODED_HEADER.length + 1, encodedPayload.length);
+        int signingInputLength = ENCODED_HEADER.length + 1 + encodedPayload.length;
+
+        Mac mac = newMac();
+        mac.update(token, 0, signingInputLength);
+        byte[] signature = BASE64_URL.encode(mac.doFinal());
+        token[signingInputLength] = '.';
+        System.arraycopy(signature, 0, token, signingInputLength + 1, signature.length);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) keyedMac.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC-SHA256 MAC cannot be cloned", e);
+        }
+    }
+
+    // Random (version 4) UUID; ThreadLocalRandom is enough for uniqueness and avoids SecureRandom contention
+    private static UUID newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & ~0xf000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(most, least);
+    }
+
+    private static String quote(String value) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+
+    private record AccessTemplateKey(UserRole role, VerificationStatus verificationStatus, boolean mfaVerified) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.NotificationCreateDto;
+import com.HackPro.MedVault.domain.entities.NotificationType;
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import com.HackPro.MedVault.events.DoctorStatusChangedEvent;
+import com.HackPro.MedVault.repositories.DoctorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Daily job that warns doctors before their license expires and flips expired licenses to
+ * {@link VerificationStatus#EXPIRED}, instead of waiting for the next login to notice.
+ * <p>
+ * Both phases walk idx_doctors_verified_license_expiry in batches of {@code batch-size}, each
+ * in its own transaction: warnings read exactly the doctors whose expiry date is one of the
+ * {@code warn-days} thresholds away, and expiry reads only verified doctors already past their
+ * date. The work done is proportional to the doctors affected, not to the size of the table.
+ */
+@Service
+@Slf4j
+public class LicenseExpiryService {
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final DoctorRepository doctorRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final List<Integer> warnDays;
+
+    private final Timer runTimer;
+    private final Counter warnedCounter;
+    private final Counter expiredCounter;
+    private final Counter batchCounter;
+    private final AtomicLong lastRunDoctors = new AtomicLong();
+
+    public LicenseExpiryService(DoctorRepository doctorRepository,
+                                NotificationService notificationService,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${license-expiry.batch-size:500}") int batchSize,
+                                @Value("${license-expiry.warn-days:30,7,1}") List<Integer> warnDays) {
+        this.doctorRepository = doctorRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.warnDays = warnDays;
+
+        this.runTimer = Timer.builder("medvault.license.scan")
+                .description("Duration of the license expiry scan")
+                .register(meterRegistry);
+        this.warnedCounter = Counter.builder("medvault.license.scan.doctors")
+                .description("Doctors processed by the license expiry scan")
+                .tag("phase", "warn")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("medvault.license.scan.doctors")
+                .description("Doctors processed by the license expiry scan")
+                .tag("phase", "expire")
+                .register(meterRegistry);
+        this.batchCounter = Counter.builder("medvault.license.scan.batches")
+                .description("Batches committed by the license expiry scan")
+                .register(meterRegistry);
+        meterRegistry.gauge("medvault.license.scan.last-run.doctors", lastRunDoctors);
+    }
+
+    @Scheduled(cron = "${license-expiry.cron:0 15 2 * * *}")
+    public void scan() {
+        runTimer.record(() -> {
+            LocalDate today = LocalDate.now();
+            long warned = warnExpiring(today);
+            long expired = expireLicenses(today);
+            lastRunDoctors.set(warned + expired);
+            log.info("License expiry scan: {} doctors warned, {} licenses expired", warned, expired);
+        });
+    }
+
+    private long warnExpiring(LocalDate today) {
+        long warned = 0;
+        for (int days : warnDays) {
+            LocalDate expiryDate = today.plusDays(days);
+            UUID afterId = MIN_UUID;
+            while (true) {
+                UUID cursor = afterId;
+                List<UUID> doctorIds = transactionTemplate.execute(status -> {
+                    List<UUID> batch = doctorRepository.findVerifiedIdsExpiringOn(
+                            Date.valueOf(expiryDate), cursor, Limit.of(batchSize));
+                    if (!batch.isEmpty()) {
+                        notificationService.notifyAll(batch.stream()
+                                .map(doctorId -> expiringNotification(doctorId, expiryDate, days))
+                                .toList());
+                    }
+                    return batch;
+                });
+                if (doctorIds == null || doctorIds.isEmpty()) {
+                    break;
+                }
+
+                warned += doctorIds.size();
+                warnedCounter.increment(doctorIds.size());
+                batchCounter.increment();
+                log.debug("License expiry warnings ({} days): batch of {}", days, doctorIds.size());
+                if (doctorIds.size() < batchSize) {
+                    break;
+                }
+                afterId = doctorIds.get(doctorIds.size() - 1);
+            }
+        }
+        return warned;
+    }
+
+    private long expireLicenses(LocalDate today) {
+        long expired = 0;
+        while (true) {
+            ExpiryBatch batch = transactionTemplate.execute(status -> {
+                List<UUID> doctorIds = doctorRepository.findVerifiedIdsExpiredBefore(
+                        Date.valueOf(today), Limit.of(batchSize));
+                if (doctorIds.isEmpty()) {
+                    return new ExpiryBatch(0, 0);
+                }
+                int updated = doctorRepository.expireLicenses(doctorIds);
+                notificationService.notifyAll(doctorIds.stream()
+                        .map(this::expiredNotification)
+                        .toList());
+                // Cached grants and principals are dropped once this batch commits
+                eventPublisher.publishEvent(new DoctorStatusChangedEvent(doctorIds, VerificationStatus.EXPIRED));
+                return new ExpiryBatch(doctorIds.size(), updated);
+            });
+            if (batch == null || batch.selected() == 0) {
+                break;
+            }
+
+            expired += batch.updated();
+            expiredCounter.increment(batch.updated());
+            batchCounter.increment();
+            log.debug("License expiry: batch of {} expired", batch.updated());
+            if (batch.selected() < batchSize) {
+                break;
+            }
+        }
+        return expired;
+    }
+
+    private NotificationCreateDto expiringNotification(UUID doctorId, LocalDate expiryDate, int days) {
+        return NotificationCreateDto.builder()
+                .userId(doctorId)
+                .type(NotificationType.LICENSE_EXPIRING)
+                .title(days == 1 ? "Your license expires tomorrow" : "Your license expires in " + days + " days")
+                .message("Your medical license expires on " + expiryDate
+                        + ". Renew it to keep access to patient records.")
+                .metadata(Map.of("licenseExpiryDate", expiryDate.toString(), "daysRemaining", days))
+                .build();
+    }
+
+    private NotificationCreateDto expiredNotification(UUID doctorId) {
+        return NotificationCreateDto.builder()
+                .userId(doctorId)
+                .type(NotificationType.LICENSE_EXPIRING)
+                .title("Your license has expired")
+                .message("Your medical license has expired and your account status is now EXPIRED. "
+                        + "Submit a renewed license to regain access.")
+                .metadata(Map.of("verificationStatus", VerificationStatus.EXPIRED.name()))
+                .build();
+    }
+
+    private record ExpiryBatch(int selected, int updated) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * SMS stub for local runs, tests and load runs: logs each message instead of sending it. Replace by
+ * a provider-backed {@link MessageSender} and set {@code messaging.sms.provider} accordingly.
+ * <p>
+ * Numbers in the body are masked, so one-time codes sent by SMS never reach the application log.
+ */
+@Service
+@ConditionalOnProperty(name = "messaging.sms.provider", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingSmsSender implements MessageSender {
+
+    // Runs of 4 or more digits: OTPs and MFA codes
+    private static final Pattern CODE = Pattern.compile("\\d{4,}");
+
+    @Override
+    public MessageChannel channel() {
+        return MessageChannel.SMS;
+    }
+
+    @Override
+    public String provider() {
+        return "sms-log";
+    }
+
+    @Override
+    public Map<UUID, Exception> send(List<RenderedMessage> messages) {
+        for (RenderedMessage message : messages) {
+            log.info("SMS stub - message {} to {}: {}", message.id(), mask(message.recipient()),
+                    CODE.matcher(message.body()).replaceAll(code -> "*".repeat(code.group().length())));
+        }
+        return Map.of();
+    }
+
+    private static String mask(String phoneNumber) {
+        return phoneNumber.length() <= 4 ? "****" : "****" + phoneNumber.substring(phoneNumber.length() - 4);
+    }
+}
@@ -1,19 +1,58 @@
 package com.HackPro.MedVault.services;
 
+import com.HackPro.MedVault.domain.dtos.TotpSetupResponseDto;
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+import com.HackPro.MedVault.domain.entities.UserManagement.User;
+import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class MFAService {
 
+    // How long a challenge's attempt count is kept after its last attempt
+    private static final Duration ATTEMPT_WINDOW = Duration.ofMinutes(15);
+
+    private final UserRepository userRepository;
+    private final EncryptionService encryptionService;
+    private final TotpService totpService;
+    private final OutboundMessageQueue outboundMessageQueue;
+    private final StepUpVerificationStore stepUpVerificationStore;
+
+    @Value("${mfa.code.channel:EMAIL}")
+    private MessageChannel codeChannel;
+
+    @Value("${mfa.code.validity-minutes:10}")
+    private int codeValidityMinutes;
+
+    @Value("${mfa.code.max-attempts:5}")
+    private int maxAttempts;
+
     private final Map<UUID, MFAVerification> mfaCache = new ConcurrentHashMap<>();
+
+    // Codes checked per challenge: the temp token of a login, or the user for step-up
+    private final Cache<UUID, Integer> attempts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(ATTEMPT_WINDOW)
+            .build();
     private final SecureRandom secureRandom = new SecureRandom();
 
     public String generateOTP() {
@@ -21,16 +60,97 @@ public class MFAService {
         return String.valueOf(otp);
     }
 
+    /**
+     * Start the second login step: users with TOTP use their authenticator app, everyone else is sent a code
+     */
+    public void beginMFAChallenge(UUID userId, String email) {
+        User user = findUser(userId);
+        if (!hasTotp(user)) {
+            sendMFACode(user);
+        }
+    }
+
     public void sendMFACode(UUID userId, String email) {
+        sendMFACode(findUser(userId));
+    }
+
+    // Queued for OutboundMessageDispatcher, so login does not wait for the mail server
+    private void sendMFACode(User user) {
         String code = generateOTP();
-        MFAVerification verification = new MFAVerification(code, LocalDateTime.now().plusMinutes(10));
-        mfaCache.put(userId, verification);
+        MFAVerification verification = new MFAVerification(code, LocalDateTime.now().plusMinutes(codeValidityMinutes));
+        mfaCache.put(user.getId(), verification);
 
-        log.info("MFA code generated for user: {} - Code: {}", email, code);
-        // TODO: Integrate with SMS/Email service
+        // Users without a phone number get the code by email even when SMS is configured
+        boolean bySms = codeChannel == MessageChannel.SMS
+                && user.getPhoneNumber() != null && !user.getPhoneNumber().isBlank();
+        MessageChannel channel = bySms ? MessageChannel.SMS : MessageChannel.EMAIL;
+        outboundMessageQueue.enqueue(channel, bySms ? user.getPhoneNumber() : user.getEmail(), "mfa-code", Map.of(
+                "code", code,
+                "validityMinutes", String.valueOf(codeValidityMinutes)));
+        log.info("MFA code generated for user: {} - sent by {}", user.getEmail(), channel);
     }
 
-    public boolean verifyMFACode(UUID userId, String code) {
+    /**
+     * Check a second-factor code: the TOTP code for users with a confirmed TOTP enrollment, otherwise
+     * the code sent by {@link #sendMFACode}. A valid code also counts as a step-up verification.
+     * <p>
+     * Each challenge accepts at most {@code mfa.code.max-attempts} codes. The attempt that uses up the
+     * limit discards the sent code, and later codes for the challenge are refused unchecked (see
+     * {@link #isChallengeExhausted}).
+     *
+     * @param challengeId id of the login's temp token, or the user id for step-up
+     */
+    public boolean verifyMFACode(UUID userId, UUID challengeId, String code) {
+        // Counted before the check, so parallel guesses cannot get past the limit
+        int attempt = attempts.asMap().merge(challengeId, 1, Integer::sum);
+        if (attempt > maxAttempts) {
+            log.warn("MFA code refused for user {}: attempts exhausted", userId);
+            return false;
+        }
+
+        boolean valid = checkMFACode(userId, code);
+        if (valid) {
+            attempts.invalidate(challengeId);
+            stepUpVerificationStore.recordVerification(userId);
+        } else if (attempt == maxAttempts) {
+            mfaCache.remove(userId);
+            log.warn("MFA challenge abandoned after {} invalid codes for user: {}", attempt, userId);
+        }
+        return valid;
+    }
+
+    /**
+     * Whether the challenge has used up its attempts; a login must then start over with the password
+     */
+    public boolean isChallengeExhausted(UUID challengeId) {
+        Integer made = attempts.getIfPresent(challengeId);
+        return made != null && made >= maxAttempts;
+    }
+
+    /**
+     * Re-verify a signed-in user before a sensitive operation
+     *
+     * @throws ValidationException if the code is invalid or the user has used up their attempts
+     */
+    public void verifyStepUp(UUID userId, String code) {
+        if (!verifyMFACode(userId, userId, code)) {
+            throw new ValidationException(isChallengeExhausted(userId)
+                    ? "Too many invalid MFA codes; try again later"
+                    : "Invalid MFA code");
+        }
+        log.info("Step-up verification for user: {}", userId);
+    }
+
+    private boolean checkMFACode(UUID userId, String code) {
+        User user = findUser(userId);
+        if (hasTotp(user)) {
+            boolean valid = totpService.verify(userId, encryptionService.decrypt(user.getTotpSecret()), code);
+            if (!valid) {
+                log.warn("Invalid or reused TOTP code for user: {}", userId);
+            }
+            return valid;
+        }
+
         MFAVerification verification = mfaCache.get(userId);
 
         if (verification == null) {
@@ -44,7 +164,8 @@ public class MFAService {
             return false;
         }
 
-        boolean isValid = verification.code.equals(code);
+        boolean isValid = code != null && MessageDigest.isEqual(
+                verification.code.getBytes(StandardCharsets.US_ASCII), code.getBytes(StandardCharsets.US_ASCII));
         if (isValid) {
             mfaCache.remove(userId);
         }
@@ -52,10 +173,68 @@ public class MFAService {
         return isValid;
     }
 
-    public boolean hasRecentMFAVerification(UUID userId) {
-        // Check if user verified MFA in last 30 minutes for sensitive operations
-        // TODO: Implement with database/cache
-        return true;
+    /**
+     * Generate and store (encrypted) a new TOTP secret; it is not used for logins until confirmed
+     *
+     * @throws ValidationException if TOTP is already enabled for the user
+     */
+    @Transactional
+    public TotpSetupResponseDto startTotpEnrollment(UUID userId) {
+        User user = findUser(userId);
+        if (hasTotp(user)) {
+            throw new ValidationException("TOTP is already enabled");
+        }
+
+        String secret = totpService.generateSecret();
+        user.setTotpSecret(encryptionService.encrypt(secret));
+        userRepository.save(user);
+        log.info("TOTP enrollment started for user: {}", userId);
+
+        return TotpSetupResponseDto.builder()
+                .secret(secret)
+                .otpauthUri(totpService.provisioningUri(user.getEmail(), secret))
+                .build();
+    }
+
+    /**
+     * Enable TOTP (and with it MFA) once the user proves their app produces valid codes for the pending secret
+     *
+     * @throws ValidationException if there is no pending enrollment or the code is invalid
+     */
+    @Transactional
+    public void confirmTotpEnrollment(UUID userId, String code) {
+        User user = findUser(userId);
+        if (hasTotp(user) || user.getTotpSecret() == null) {
+            throw new ValidationException("No pending TOTP enrollment");
+        }
+        if (!totpService.verify(userId, encryptionService.decrypt(user.getTotpSecret()), code)) {
+            throw new ValidationException("Invalid TOTP code");
+        }
+
+        user.setTotpEnabled(true);
+        user.setMfaEnabled(true);
+        userRepository.save(user);
+        log.info("TOTP enabled for user: {}", userId);
+    }
+
+    /**
+     * Whether the user passed MFA within {@code window}; reads memory only
+     */
+    public boolean hasRecentMFAVerification(UUID userId, Duration window) {
+        return stepUpVerificationStore.verifiedWithin(userId, window);
+    }
+
+    public void clearStepUpVerification(UUID userId) {
+        stepUpVerificationStore.forget(userId);
+    }
+
+    private User findUser(UUID userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    private static boolean hasTotp(User user) {
+        return Boolean.TRUE.equals(user.getTotpEnabled()) && user.getTotpSecret() != null;
     }
 
     private record MFAVerification(String code, LocalDateTime expiryTime) {}
@@ -0,0 +1,35 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.MedicalRecordDetailDto;
+import com.HackPro.MedVault.domain.dtos.MedicalRecordPageDto;
+import com.HackPro.MedVault.domain.dtos.MedicalRecordRequestDto;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.RecordType;
+
+import java.util.UUID;
+
+public interface MedicalRecordService {
+
+    /**
+     * One page of a patient's records, newest record date first
+     *
+     * @param patientId        Patient ID
+     * @param recordType       Only records of this type, or null for all
+     * @param emergencyVisible Only records visible in emergencies
+     * @param cursor           Cursor returned with the previous page, or null for the first page
+     * @param limit            Page size
+     * @return summaries without description or FHIR resource, with the cursor of the next page
+     */
+    MedicalRecordPageDto getRecords(UUID patientId, RecordType recordType, boolean emergencyVisible,
+                                    String cursor, int limit);
+
+    /**
+     * Full record including description and FHIR resource
+     */
+    MedicalRecordDetailDto getRecord(UUID patientId, UUID recordId);
+
+    MedicalRecordDetailDto createRecord(UUID patientId, MedicalRecordRequestDto request, UUID userId);
+
+    MedicalRecordDetailDto updateRecord(UUID patientId, UUID recordId, MedicalRecordRequestDto request, UUID userId);
+
+    void deleteRecord(UUID patientId, UUID recordId, UUID userId);
+}
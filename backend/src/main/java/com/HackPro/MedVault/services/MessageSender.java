@@ -0,0 +1,29 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivers rendered messages of one channel through one provider. Called by
+ * {@link OutboundMessageDispatcher} on its sender pool, never on a request thread.
+ */
+public interface MessageSender {
+
+    MessageChannel channel();
+
+    // Key of the provider's rate limit (messaging.outbound.rate-limits)
+    String provider();
+
+    /**
+     * Send a batch, reusing one provider connection where the provider allows it.
+     *
+     * @return the failure of every message that was not sent; empty if all were sent
+     */
+    Map<UUID, Exception> send(List<RenderedMessage> messages);
+
+    record RenderedMessage(UUID id, String recipient, String subject, String body) {
+    }
+}
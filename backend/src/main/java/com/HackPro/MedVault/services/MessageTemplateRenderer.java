@@ -0,0 +1,86 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders outbound message templates from {@code classpath:templates/messages/<template>.<channel>.txt}.
+ * <p>
+ * Parameters are referenced as {@code {{name}}}. Email templates start with a {@code Subject:} line
+ * followed by a blank line. Templates are read once and kept in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class MessageTemplateRenderer {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final ResourceLoader resourceLoader;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @throws IllegalArgumentException if the template does not exist or a parameter is missing
+     */
+    public Rendered render(String template, MessageChannel channel, Map<String, String> params) {
+        Template parsed = templates.computeIfAbsent(
+                template + "." + channel.name().toLowerCase(Locale.ROOT), this::load);
+        return new Rendered(
+                parsed.subject() != null ? substitute(parsed.subject(), params) : null,
+                substitute(parsed.body(), params));
+    }
+
+    // Single pass: parameter values are inserted verbatim, never expanded themselves
+    private static String substitute(String text, Map<String, String> params) {
+        StringBuilder result = new StringBuilder(text.length() + 64);
+        int position = 0;
+        while (true) {
+            int start = text.indexOf("{{", position);
+            int end = start < 0 ? -1 : text.indexOf("}}", start + 2);
+            if (end < 0) {
+                return result.append(text, position, text.length()).toString();
+            }
+            String name = text.substring(start + 2, end).strip();
+            String value = params.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing message template parameter: " + name);
+            }
+            result.append(text, position, start).append(value);
+            position = end + 2;
+        }
+    }
+
+    private Template load(String name) {
+        Resource resource = resourceLoader.getResource("classpath:templates/messages/" + name + ".txt");
+        if (!resource.exists()) {
+            throw new IllegalArgumentException("Unknown message template: " + name);
+        }
+        try {
+            String content = resource.getContentAsString(StandardCharsets.UTF_8);
+            if (!content.startsWith(SUBJECT_PREFIX)) {
+                return new Template(null, content.strip());
+            }
+            int endOfLine = content.indexOf('\n');
+            String subject = content.substring(SUBJECT_PREFIX.length(), endOfLine < 0 ? content.length() : endOfLine);
+            String body = endOfLine < 0 ? "" : content.substring(endOfLine + 1);
+            return new Template(subject.strip(), body.strip());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read message template " + name, e);
+        }
+    }
+
+    public record Rendered(String subject, String body) {
+    }
+
+    private record Template(String subject, String body) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.NotificationCreateDto;
+import com.HackPro.MedVault.domain.dtos.NotificationPageDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface NotificationService {
+
+    /**
+     * Create a notification; it is pushed to the user once the surrounding transaction commits
+     */
+    void notify(NotificationCreateDto notification);
+
+    /**
+     * Create many notifications with batched inserts (fan-out)
+     */
+    void notifyAll(List<NotificationCreateDto> notifications);
+
+    /**
+     * One page of the user's inbox, newest first
+     *
+     * @param userId     User ID
+     * @param cursor     Cursor returned with the previous page, or null for the first page
+     * @param limit      Page size
+     * @param unreadOnly Only unread notifications
+     * @return page with the cursor of the next page
+     */
+    NotificationPageDto getInbox(UUID userId, String cursor, int limit, boolean unreadOnly);
+
+    /**
+     * Unread badge count, served from memory after the first call
+     */
+    long getUnreadCount(UUID userId);
+
+    /**
+     * Mark the given notifications of the user as read
+     *
+     * @return number of notifications that were unread
+     */
+    int markRead(UUID userId, List<UUID> notificationIds);
+
+    /**
+     * Mark every notification of the user as read
+     *
+     * @return number of notifications that were unread
+     */
+    int markAllRead(UUID userId);
+
+    /**
+     * Open a server-sent event stream of new notifications and unread count changes
+     */
+    SseEmitter subscribe(UUID userId);
+}
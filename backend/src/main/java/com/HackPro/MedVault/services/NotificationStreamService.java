@@ -0,0 +1,91 @@
+package com.HackPro.MedVault.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Registry of open server-sent event streams, one set of emitters per user.
+ * <p>
+ * Pushes run on {@code notificationPushExecutor}, so a slow client never delays the request
+ * that created the notification. A periodic heartbeat keeps idle connections open through
+ * proxies and drops streams whose client has gone away.
+ */
+@Service
+@Slf4j
+public class NotificationStreamService {
+
+    private final AsyncTaskExecutor notificationPushExecutor;
+    private final long streamTimeoutMs;
+
+    private final Map<UUID, Set<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
+
+    public NotificationStreamService(
+            AsyncTaskExecutor notificationPushExecutor,
+            @Value("${notifications.stream.timeout-ms:1800000}") long streamTimeoutMs) {
+        this.notificationPushExecutor = notificationPushExecutor;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    public SseEmitter open(UUID userId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        emittersByUser.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(error -> remove(userId, emitter));
+
+        send(userId, emitter, SseEmitter.event().name("unread-count").data(unreadCount));
+        return emitter;
+    }
+
+    public boolean isConnected(UUID userId) {
+        return emittersByUser.containsKey(userId);
+    }
+
+    /**
+     * Send an event to every open stream of the user; a no-op when the user is not connected
+     */
+    public void push(UUID userId, String eventName, Object data) {
+        Set<SseEmitter> emitters = emittersByUser.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        notificationPushExecutor.execute(() -> emitters.forEach(emitter ->
+                send(userId, emitter, SseEmitter.event().name(eventName).data(data))));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emittersByUser.forEach((userId, emitters) -> emitters.forEach(emitter ->
+                notificationPushExecutor.execute(() ->
+                        send(userId, emitter, SseEmitter.event().comment("heartbeat")))));
+    }
+
+    private void send(UUID userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream of user {}: {}", userId, e.getMessage());
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(UUID userId, SseEmitter emitter) {
+        emittersByUser.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,346 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.config.OutboundMessagingProperties;
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+import com.HackPro.MedVault.domain.entities.Messaging.OutboundMessage;
+import com.HackPro.MedVault.events.OutboundMessageQueuedEvent;
+import com.HackPro.MedVault.repositories.OutboundMessageRepository;
+import com.HackPro.MedVault.services.MessageSender.RenderedMessage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued emails and SMS.
+ * <p>
+ * Due messages are claimed with {@code FOR UPDATE SKIP LOCKED} and leased, so several application
+ * instances can dispatch from the same table without sending a message twice. Claimed messages are
+ * grouped by channel and handed to the bounded {@code outboundMessageExecutor} in batches; the
+ * templates are rendered there, each provider's rate limit is applied, and a whole batch goes to
+ * the sender at once so SMTP reuses one connection. Failed messages are retried with exponential
+ * backoff and jitter until {@code messaging.outbound.max-attempts}; a message whose sender died
+ * is claimed again once its lease runs out.
+ */
+@Service
+@Slf4j
+public class OutboundMessageDispatcher {
+
+    private static final TypeReference<Map<String, String>> PARAMS_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboundMessageRepository outboundMessageRepository;
+    private final EncryptionService encryptionService;
+    private final ObjectMapper objectMapper;
+    private final MessageTemplateRenderer templateRenderer;
+    private final Map<MessageChannel, MessageSender> senders = new EnumMap<>(MessageChannel.class);
+    private final AsyncTaskExecutor executor;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboundMessagingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+
+    public OutboundMessageDispatcher(OutboundMessageRepository outboundMessageRepository,
+                                     EncryptionService encryptionService,
+                                     ObjectMapper objectMapper,
+                                     MessageTemplateRenderer templateRenderer,
+                                     List<MessageSender> messageSenders,
+                                     @Qualifier("outboundMessageExecutor") AsyncTaskExecutor executor,
+                                     TaskScheduler taskScheduler,
+                                     PlatformTransactionManager transactionManager,
+                                     OutboundMessagingProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.outboundMessageRepository = outboundMessageRepository;
+        this.encryptionService = encryptionService;
+        this.objectMapper = objectMapper;
+        this.templateRenderer = templateRenderer;
+        for (MessageSender sender : messageSenders) {
+            MessageSender previous = senders.put(sender.channel(), sender);
+            if (previous != null) {
+                throw new IllegalStateException("Two message senders for " + sender.channel() + ": "
+                        + previous.provider() + ", " + sender.provider());
+            }
+        }
+        this.executor = executor;
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Send a freshly queued message right away instead of at the next poll
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageQueued(OutboundMessageQueuedEvent event) {
+        taskScheduler.schedule(this::dispatch, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.outbound.poll-interval-ms:1000}")
+    public void dispatch() {
+        // A request that arrives while another thread is dispatching makes that thread go round again
+        dispatchRequested.set(true);
+        while (dispatchRequested.get() && dispatching.compareAndSet(false, true)) {
+            try {
+                dispatchRequested.set(false);
+                drain();
+            } catch (RuntimeException e) {
+                log.error("Outbound message dispatch failed", e);
+            } finally {
+                dispatching.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.outbound.purge-interval-ms:3600000}", initialDelay = 60_000)
+    public void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        Integer deleted = transactionTemplate.execute(status -> outboundMessageRepository.deleteFinishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent or failed outbound messages", deleted);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            int capacity = Math.min(properties.getClaimBatchSize(), properties.getMaxInFlight() - inFlight.get());
+            if (capacity <= 0) {
+                return;
+            }
+
+            List<ClaimedMessage> claimed = claim(capacity);
+            if (claimed.isEmpty()) {
+                return;
+            }
+            inFlight.addAndGet(claimed.size());
+
+            Map<MessageChannel, List<ClaimedMessage>> byChannel = claimed.stream()
+                    .collect(Collectors.groupingBy(ClaimedMessage::channel));
+            byChannel.forEach(this::submit);
+
+            if (claimed.size() < capacity) {
+                return;
+            }
+        }
+    }
+
+    private List<ClaimedMessage> claim(int limit) {
+        List<ClaimedMessage> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> ids = outboundMessageRepository.lockDue(now, Limit.of(limit));
+            if (ids.isEmpty()) {
+                return List.<ClaimedMessage>of();
+            }
+            outboundMessageRepository.lease(ids, now.plus(properties.getLease()));
+            return outboundMessageRepository.findAllById(ids).stream()
+                    .map(ClaimedMessage::of)
+                    .toList();
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void submit(MessageChannel channel, List<ClaimedMessage> messages) {
+        MessageSender sender = senders.get(channel);
+        int batchSize = Math.max(1, properties.getSendBatchSize());
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            List<ClaimedMessage> batch = messages.subList(from, Math.min(from + batchSize, messages.size()));
+            if (sender == null) {
+                settle(batch, failAll(batch, new IllegalStateException("No sender configured for " + channel)), true);
+                inFlight.addAndGet(-batch.size());
+                continue;
+            }
+            try {
+                executor.execute(() -> deliver(sender, batch));
+            } catch (TaskRejectedException e) {
+                settle(batch, failAll(batch, e), false);
+                inFlight.addAndGet(-batch.size());
+            }
+        }
+    }
+
+    private void deliver(MessageSender sender, List<ClaimedMessage> batch) {
+        try {
+            List<RenderedMessage> rendered = new ArrayList<>(batch.size());
+            Map<UUID, Exception> unrenderable = new HashMap<>();
+            for (ClaimedMessage message : batch) {
+                try {
+                    Map<String, String> params = objectMapper.readValue(
+                            encryptionService.decrypt(message.payload()), PARAMS_TYPE);
+                    MessageTemplateRenderer.Rendered content =
+                            templateRenderer.render(message.template(), message.channel(), params);
+                    rendered.add(new RenderedMessage(message.id(), message.recipient(), content.subject(), content.body()));
+                } catch (Exception e) {
+                    unrenderable.put(message.id(), e);
+                }
+            }
+            // A message that cannot be rendered will not render on a retry either
+            settle(batch.stream().filter(m -> unrenderable.containsKey(m.id())).toList(), unrenderable, true);
+
+            List<ClaimedMessage> sendable = batch.stream().filter(m -> !unrenderable.containsKey(m.id())).toList();
+            if (sendable.isEmpty()) {
+                return;
+            }
+            Map<UUID, Exception> failures;
+            try {
+                rateLimiter(sender.provider()).acquire(rendered.size());
+                failures = sender.send(rendered);
+            } catch (RuntimeException e) {
+                failures = failAll(sendable, e);
+            }
+            settle(sendable, failures, false);
+        } finally {
+            inFlight.addAndGet(-batch.size());
+        }
+    }
+
+    // Record the outcome of each message; messages without a failure were sent
+    private void settle(List<ClaimedMessage> messages, Map<UUID, Exception> failures, boolean permanent) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ClaimedMessage message : messages) {
+                Exception failure = failures.get(message.id());
+                String result;
+                if (failure == null) {
+                    outboundMessageRepository.markSent(message.id(), message.attempt(), now);
+                    Timer.builder("medvault.messages.delivery")
+                            .description("Time from queuing to delivery of outbound messages")
+                            .tag("channel", message.channel().name())
+                            .register(meterRegistry)
+                            .record(Duration.between(message.createdAt(), now));
+                    result = "sent";
+                } else if (permanent || message.attempt() >= properties.getMaxAttempts()) {
+                    outboundMessageRepository.markFailed(message.id(), message.attempt(), describe(failure));
+                    log.error("Outbound {} message {} failed after {} attempts: {}",
+                            message.channel(), message.id(), message.attempt(), describe(failure));
+                    result = "failed";
+                } else {
+                    outboundMessageRepository.markRetry(message.id(), message.attempt(),
+                            now.plus(backoff(message.attempt())), describe(failure));
+                    log.warn("Outbound {} message {} attempt {} failed, will retry: {}",
+                            message.channel(), message.id(), message.attempt(), describe(failure));
+                    result = "retry";
+                }
+                Counter.builder("medvault.messages.outcome")
+                        .description("Outbound message delivery attempts by outcome")
+                        .tag("channel", message.channel().name())
+                        .tag("result", result)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        });
+    }
+
+    // Exponential backoff with equal jitter: half the delay is fixed, the other half random
+    private Duration backoff(int attempt) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        long delay = Math.min(max, initial << Math.min(attempt - 1, 30));
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private RateLimiter rateLimiter(String provider) {
+        return rateLimiters.computeIfAbsent(provider, p -> new RateLimiter(properties.getRateLimits().get(p)));
+    }
+
+    private static Map<UUID, Exception> failAll(List<ClaimedMessage> messages, Exception failure) {
+        Map<UUID, Exception> failures = new HashMap<>();
+        messages.forEach(message -> failures.put(message.id(), failure));
+        return failures;
+    }
+
+    private static String describe(Exception failure) {
+        String description = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        return description.length() > 1000 ? description.substring(0, 1000) : description;
+    }
+
+    private record ClaimedMessage(UUID id, int attempt, MessageChannel channel, String recipient,
+                                  String template, String payload, LocalDateTime createdAt) {
+
+        static ClaimedMessage of(OutboundMessage message) {
+            return new ClaimedMessage(message.getId(), message.getAttempts(), message.getChannel(),
+                    message.getRecipient(), message.getTemplate(), message.getPayload(),
+                    message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Token bucket holding up to one second of permits. Callers reserve permits up front and sleep
+     * off any deficit, so concurrent senders of one provider are paced together.
+     */
+    private static final class RateLimiter {
+
+        private final double permitsPerNano;
+        private final double capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+        private double available;
+        private long refilledAt = System.nanoTime();
+
+        RateLimiter(Double permitsPerSecond) {
+            boolean limited = permitsPerSecond != null && permitsPerSecond > 0;
+            this.permitsPerNano = limited ? permitsPerSecond / 1e9 : 0;
+            this.capacity = limited ? Math.max(1, permitsPerSecond) : 0;
+            this.available = capacity;
+        }
+
+        void acquire(int permits) {
+            if (permitsPerNano == 0) {
+                return;
+            }
+            long waitNanos;
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                available = Math.min(capacity, available + (now - refilledAt) * permitsPerNano);
+                refilledAt = now;
+                available -= permits;
+                waitNanos = available < 0 ? (long) (-available / permitsPerNano) : 0;
+            } finally {
+                lock.unlock();
+            }
+            if (waitNanos > 0) {
+                try {
+                    Thread.sleep(Duration.ofNanos(waitNanos));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the provider rate limit", e);
+                }
+            }
+        }
+    }
+}
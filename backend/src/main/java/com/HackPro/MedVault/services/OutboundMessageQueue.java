@@ -0,0 +1,61 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+import com.HackPro.MedVault.domain.entities.Messaging.OutboundMessage;
+import com.HackPro.MedVault.domain.entities.Messaging.OutboundMessageStatus;
+import com.HackPro.MedVault.events.OutboundMessageQueuedEvent;
+import com.HackPro.MedVault.repositories.OutboundMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Entry point for sending emails and SMS. Messages are only written to {@code outbound_messages}
+ * here, in the caller's transaction if there is one, so a rolled-back operation sends nothing and
+ * the caller never waits on a mail server. {@link OutboundMessageDispatcher} delivers them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboundMessageQueue {
+
+    private final OutboundMessageRepository outboundMessageRepository;
+    private final EncryptionService encryptionService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Queue {@code template} for {@code recipient}; {@code params} are stored encrypted until the message is sent
+     */
+    @Transactional
+    public UUID enqueue(MessageChannel channel, String recipient, String template, Map<String, String> params) {
+        String payload;
+        try {
+            payload = encryptionService.encrypt(objectMapper.writeValueAsString(params));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Message parameters are not serializable", e);
+        }
+
+        OutboundMessage message = outboundMessageRepository.save(OutboundMessage.builder()
+                .channel(channel)
+                .recipient(recipient)
+                .template(template)
+                .payload(payload)
+                .status(OutboundMessageStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued {} message {} ({})", channel, message.getId(), template);
+
+        eventPublisher.publishEvent(new OutboundMessageQueuedEvent(message.getId(), channel));
+        return message.getId();
+    }
+}
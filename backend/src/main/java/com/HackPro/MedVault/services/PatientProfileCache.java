@@ -0,0 +1,67 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.PatientResponseDto;
+import com.HackPro.MedVault.events.PatientProfileChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of patient profile DTOs, bounded by size and expired after a TTL.
+ * <p>
+ * Concurrent misses for the same patient share one load. Entries are dropped once a
+ * {@link PatientProfileChangedEvent} commits; an invalidation that arrives while the entry is
+ * loading waits for the load and then removes it, so a stale profile is never kept. Cached DTOs are
+ * immutable and handed out as is.
+ */
+@Service
+@Slf4j
+public class PatientProfileCache {
+
+    private final Cache<UUID, PatientResponseDto> profiles;
+    private final Timer loadTimer;
+
+    public PatientProfileCache(MeterRegistry meterRegistry,
+                               @Value("${patient-profile.cache.max-size:10000}") long maxSize,
+                               @Value("${patient-profile.cache.ttl:10m}") Duration ttl) {
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.loadTimer = Timer.builder("medvault.patient.profile.load")
+                .description("Latency of patient profile loads on cache misses")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "patientProfiles");
+        Gauge.builder("medvault.patient.profile.cache.hit.ratio", profiles, cache -> cache.stats().hitRate())
+                .description("Share of profile lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached profile, or the result of the loader; a loader exception is propagated and nothing is cached
+     */
+    public PatientResponseDto get(UUID patientId, Function<UUID, PatientResponseDto> loader) {
+        return profiles.get(patientId, id -> loadTimer.record(() -> loader.apply(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientProfileChangedEvent event) {
+        profiles.invalidate(event.patientId());
+        log.debug("Profile cache entry invalidated for patient {}", event.patientId());
+    }
+}
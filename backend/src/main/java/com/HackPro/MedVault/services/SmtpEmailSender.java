@@ -0,0 +1,85 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.config.OutboundMessagingProperties;
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Emails over SMTP ({@code spring.mail.*}; mailpit from docker-compose locally). A batch is sent
+ * over a single SMTP connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class SmtpEmailSender implements MessageSender {
+
+    private final JavaMailSender mailSender;
+    private final OutboundMessagingProperties properties;
+
+    @Override
+    public MessageChannel channel() {
+        return MessageChannel.EMAIL;
+    }
+
+    @Override
+    public String provider() {
+        return "smtp";
+    }
+
+    @Override
+    public Map<UUID, Exception> send(List<RenderedMessage> messages) {
+        Map<UUID, Exception> failures = new HashMap<>();
+        Map<MimeMessage, UUID> ids = new IdentityHashMap<>();
+        for (RenderedMessage message : messages) {
+            try {
+                ids.put(toMimeMessage(message), message.id());
+            } catch (MessagingException e) {
+                failures.put(message.id(), e);
+            }
+        }
+        if (ids.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(ids.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Nothing was sent, e.g. the connection failed
+                ids.values().forEach(id -> failures.put(id, e));
+            }
+            e.getFailedMessages().forEach((failed, cause) -> {
+                UUID id = ids.get(failed);
+                if (id != null) {
+                    failures.put(id, cause);
+                }
+            });
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(RenderedMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
+        helper.setFrom(properties.getFrom());
+        helper.setTo(message.recipient());
+        helper.setSubject(message.subject());
+        helper.setText(message.body());
+        return mimeMessage;
+    }
+}
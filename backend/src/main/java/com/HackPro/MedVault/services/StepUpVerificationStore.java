@@ -0,0 +1,54 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.config.StepUpProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Time of each user's last successful MFA verification, for step-up checks on sensitive routes.
+ * <p>
+ * Held in memory only, so the check never touches the database. An entry expires once it is older
+ * than the longest configured window, since no route could accept it after that. The store is
+ * node-local: behind several nodes a user may have to verify again on a node that has not seen them.
+ */
+@Service
+public class StepUpVerificationStore {
+
+    // userId -> epoch millis of the last verification
+    private final Cache<UUID, Long> verifications;
+
+    public StepUpVerificationStore(StepUpProperties properties) {
+        Duration longestWindow = Stream.concat(
+                        Stream.of(properties.getDefaultWindow()),
+                        properties.getRoutes().stream().map(StepUpProperties.Route::getWindow))
+                .filter(Objects::nonNull)
+                .max(Duration::compareTo)
+                .orElseThrow();
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterWrite(longestWindow)
+                .build();
+    }
+
+    public void recordVerification(UUID userId) {
+        verifications.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Whether the user verified MFA on this node within {@code window}
+     */
+    public boolean verifiedWithin(UUID userId, Duration window) {
+        Long verifiedAt = verifications.getIfPresent(userId);
+        return verifiedAt != null && System.currentTimeMillis() - verifiedAt <= window.toMillis();
+    }
+
+    public void forget(UUID userId) {
+        verifications.invalidate(userId);
+    }
+}
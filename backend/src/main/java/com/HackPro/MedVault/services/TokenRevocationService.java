@@ -0,0 +1,147 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.AuditAndSecurity.RevokedToken;
+import com.HackPro.MedVault.repositories.RevokedTokenRepository;
+import com.HackPro.MedVault.util.ExpiringBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Denylist of revoked token ids (jti) for access and refresh tokens that must stop working before
+ * they expire.
+ * <p>
+ * The {@code revoked_tokens} table is the source of truth. Each node mirrors it into an
+ * {@link ExpiringBloomFilter} bucketed by token expiry, so checking a token that was not revoked,
+ * which is nearly every request, is a single filter probe in memory. Only a filter hit (a revoked
+ * token or a rare false positive) reads the table. The table is loaded once when the application is
+ * ready; after that nodes pick up revocations made elsewhere when they sync, so another node can accept
+ * a revoked token for up to {@code jwt.revocation.sync-interval-ms}.
+ * <p>
+ * Metrics: {@code medvault.jwt.revocation.checks{result=clear|revoked|false_positive}} and the
+ * {@code medvault.jwt.revocation.buckets} gauge.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    // Overlap between syncs, for revocations committed late or stamped by a node with a slow clock
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiringBloomFilter revoked;
+    private final Counter clear;
+    private final Counter confirmed;
+    private final Counter falsePositive;
+
+    // Revocation time up to which this node has loaded the table; null until the first sync
+    private volatile LocalDateTime syncedUntil;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.access-token-expiration}") long accessTokenExpirationMs,
+                                  @Value("${jwt.revocation.expected-per-bucket:10000}") long expectedPerBucket,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        // Buckets as wide as an access token's lifetime; a bucket is dropped once its last token has expired
+        this.revoked = new ExpiringBloomFilter(accessTokenExpirationMs, expectedPerBucket, falsePositiveRate);
+        this.clear = checkCounter(meterRegistry, "clear");
+        this.confirmed = checkCounter(meterRegistry, "revoked");
+        this.falsePositive = checkCounter(meterRegistry, "false_positive");
+
+        Gauge.builder("medvault.jwt.revocation.buckets", revoked, ExpiringBloomFilter::bucketCount)
+                .description("Live Bloom filter buckets of revoked token ids")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revoke the token with id {@code jti} until it expires. Takes effect on this node at once and on
+     * other nodes at their next sync.
+     */
+    public void revoke(UUID jti, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revoked.add(jti, expiresAt.toEpochMilli());
+        try {
+            // Assigned id, so save merges and revoking the same token again is a no-op
+            transactionTemplate.executeWithoutResult(status -> revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                    .revokedAt(LocalDateTime.now())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was revoked concurrently", jti);
+        }
+    }
+
+    public boolean isRevoked(UUID jti, Instant expiresAt) {
+        if (!revoked.mightContain(jti, expiresAt.toEpochMilli())) {
+            clear.increment();
+            return false;
+        }
+        boolean isRevoked = revokedTokenRepository.existsById(jti);
+        (isRevoked ? confirmed : falsePositive).increment();
+        return isRevoked;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevokedTokens() {
+        sync();
+    }
+
+    // Synchronized so a scheduled sync cannot overlap a slow startup load; a failed load is retried in full
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // The first sync loads every revocation whose token is still live
+        LocalDateTime since = syncedUntil == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : syncedUntil.minus(SYNC_OVERLAP);
+        try {
+            List<RevokedToken> tokens = revokedTokenRepository.findRevokedSince(since, now);
+            for (RevokedToken token : tokens) {
+                revoked.add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            if (syncedUntil == null) {
+                log.info("Loaded {} revoked token ids", tokens.size());
+            }
+            syncedUntil = now;
+        } catch (RuntimeException e) {
+            log.error("Revoked token sync failed", e);
+        }
+        revoked.dropExpired(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}", initialDelay = 60_000)
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} revoked token ids past their expiry", deleted);
+        }
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("medvault.jwt.revocation.checks")
+                .description("Token revocation checks; false positives were Bloom filter hits for tokens not revoked")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
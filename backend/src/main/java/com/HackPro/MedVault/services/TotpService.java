@@ -0,0 +1,211 @@
+package com.HackPro.MedVault.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * RFC 6238 time-based one-time passwords (HMAC-SHA1, 6 digits), compatible with common
+ * authenticator apps.
+ * <p>
+ * A code is checked against every step within the allowed drift without stopping at the first
+ * match, so the time taken does not reveal which step (if any) matched. Verification needs nothing
+ * but the secret and the clock; the only state is a replay guard holding the last accepted step per
+ * user, kept in memory for as long as that step can still be presented. It is node-local: behind
+ * several nodes a code can be replayed once per node within its validity window.
+ */
+@Service
+public class TotpService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA1";
+    private static final int SECRET_BYTES = 20;
+    private static final int DIGITS = 6;
+    private static final int MODULUS = 1_000_000;
+    private static final char[] BASE32 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+
+    private final long periodSeconds;
+    private final int driftSteps;
+    private final String issuer;
+    private final Timer verifyTimer;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // userId -> last accepted time step
+    private final Cache<UUID, Long> lastAcceptedSteps;
+
+    public TotpService(MeterRegistry meterRegistry,
+                       @Value("${mfa.totp.period:30s}") Duration period,
+                       @Value("${mfa.totp.allowed-drift-steps:1}") int driftSteps,
+                       @Value("${mfa.totp.issuer:MedVault}") String issuer,
+                       @Value("${mfa.totp.replay-guard.max-size:100000}") long replayGuardMaxSize) {
+        if (period.toSeconds() <= 0 || driftSteps < 0) {
+            throw new IllegalArgumentException("mfa.totp.period must be at least 1s and allowed-drift-steps not negative");
+        }
+        this.periodSeconds = period.toSeconds();
+        this.driftSteps = driftSteps;
+        this.issuer = issuer;
+        this.lastAcceptedSteps = Caffeine.newBuilder()
+                .maximumSize(replayGuardMaxSize)
+                // A step is only accepted while it is within the drift of the current step
+                .expireAfterWrite(period.multipliedBy(2L * driftSteps + 2))
+                .build();
+        this.verifyTimer = Timer.builder("medvault.mfa.totp.verify")
+                .description("Latency of TOTP code verification")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * New random 160-bit secret, Base32 encoded without padding
+     */
+    public String generateSecret() {
+        byte[] secret = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(secret);
+        return encodeBase32(secret);
+    }
+
+    /**
+     * {@code otpauth://} URI for enrolling the secret in an authenticator app (usually shown as a QR code)
+     */
+    public String provisioningUri(String accountName, String base32Secret) {
+        String label = encode(issuer) + ":" + encode(accountName);
+        return "otpauth://totp/" + label
+                + "?secret=" + base32Secret
+                + "&issuer=" + encode(issuer)
+                + "&algorithm=SHA1&digits=" + DIGITS
+                + "&period=" + periodSeconds;
+    }
+
+    /**
+     * Check a code for the user's secret at the current time and consume it.
+     *
+     * @return false if the code is malformed, does not match any step within the drift window, or
+     * its step (or a later one) was already accepted for this user
+     */
+    public boolean verify(UUID userId, String base32Secret, String code) {
+        return verifyTimer.record(() -> verify(userId, base32Secret, code, System.currentTimeMillis()));
+    }
+
+    boolean verify(UUID userId, String base32Secret, String code, long nowMillis) {
+        int submitted = parseCode(code);
+        if (submitted < 0) {
+            return false;
+        }
+
+        long currentStep = Math.floorDiv(nowMillis / 1000, periodSeconds);
+        long matchedStep = Long.MIN_VALUE;
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(decodeBase32(base32Secret), HMAC_ALGORITHM));
+            for (long step = currentStep - driftSteps; step <= currentStep + driftSteps; step++) {
+                int difference = hotp(mac, step) ^ submitted;
+                matchedStep = difference == 0 ? step : matchedStep;
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA1 is not available", e);
+        }
+
+        return matchedStep != Long.MIN_VALUE && accept(userId, matchedStep);
+    }
+
+    // Atomically record the step unless it, or a later one, was already used
+    private boolean accept(UUID userId, long step) {
+        boolean[] accepted = new boolean[1];
+        lastAcceptedSteps.asMap().compute(userId, (id, last) -> {
+            if (last != null && last >= step) {
+                return last;
+            }
+            accepted[0] = true;
+            return step;
+        });
+        return accepted[0];
+    }
+
+    // RFC 4226 HOTP value for one counter
+    private static int hotp(Mac mac, long counter) {
+        byte[] message = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            message[i] = (byte) counter;
+            counter >>>= 8;
+        }
+        byte[] hash = mac.doFinal(message);
+
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = ((hash[offset] & 0x7f) << 24)
+                | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8)
+                | (hash[offset + 3] & 0xff);
+        return binary % MODULUS;
+    }
+
+    private static int parseCode(String code) {
+        if (code == null || code.length() != DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    // RFC 4648 Base32 without padding
+    static String encodeBase32(byte[] data) {
+        StringBuilder encoded = new StringBuilder((data.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : data) {
+            buffer = (buffer << 8) | (b & 0xff);
+            bits += 8;
+            while (bits >= 5) {
+                encoded.append(BASE32[(buffer >>> (bits - 5)) & 0x1f]);
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            encoded.append(BASE32[(buffer << (5 - bits)) & 0x1f]);
+        }
+        return encoded.toString();
+    }
+
+    static byte[] decodeBase32(String encoded) {
+        String normalized = encoded.replace("=", "").replace(" ", "").toUpperCase();
+        byte[] decoded = new byte[normalized.length() * 5 / 8];
+        int buffer = 0;
+        int bits = 0;
+        int index = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            int value = c >= 'A' && c <= 'Z' ? c - 'A' : c >= '2' && c <= '7' ? c - '2' + 26 : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid Base32 character in TOTP secret");
+            }
+            buffer = (buffer << 5) | value;
+            bits += 5;
+            if (bits >= 8) {
+                decoded[index++] = (byte) (buffer >>> (bits - 8));
+                bits -= 8;
+            }
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,87 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.domain.dtos.AccessPermissionResponseDto;
+import com.HackPro.MedVault.domain.dtos.NotificationCreateDto;
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessPermission;
+import com.HackPro.MedVault.domain.entities.NotificationType;
+import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
+import com.HackPro.MedVault.events.AccessGrantChangedEvent;
+import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
+import com.HackPro.MedVault.repositories.AccessPermissionRepository;
+import com.HackPro.MedVault.services.AccessPermissionService;
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccessPermissionServiceImpl implements AccessPermissionService {
+
+    private final AccessPermissionRepository accessPermissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogService auditLogService;
+    private final NotificationService notificationService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccessPermissionResponseDto> getPatientPermissions(UUID patientId) {
+        return accessPermissionRepository.findActiveByPatientId(patientId).stream()
+                .map(this::mapToDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void revokePermission(UUID permissionId, UUID patientId) {
+        AccessPermission permission = accessPermissionRepository.findByIdAndPatientId(permissionId, patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Access permission not found"));
+
+        if (Boolean.TRUE.equals(permission.getIsRevoked())) {
+            return;
+        }
+
+        permission.setIsRevoked(true);
+        accessPermissionRepository.save(permission);
+
+        UUID doctorId = permission.getDoctor().getId();
+        log.info("Patient {} revoked access permission {} of doctor {}", patientId, permissionId, doctorId);
+        auditLogService.logAccessEvent(doctorId, patientId, "ACCESS_REVOKED", "Revoked by patient");
+
+        notificationService.notify(NotificationCreateDto.builder()
+                .userId(doctorId)
+                .type(NotificationType.ACCESS_REVOKED)
+                .title("Access revoked")
+                .message("The patient revoked your access to their records")
+                .metadata(Map.of("accessPermissionId", permissionId, "patientId", patientId))
+                .build());
+
+        // Cached grant state is dropped once this transaction commits
+        eventPublisher.publishEvent(new AccessGrantChangedEvent(
+                doctorId, patientId, AccessGrantChangedEvent.Reason.REVOKED));
+    }
+
+    private AccessPermissionResponseDto mapToDto(AccessPermission permission) {
+        Doctor doctor = permission.getDoctor();
+        return AccessPermissionResponseDto.builder()
+                .id(permission.getId())
+                .doctorId(doctor.getId())
+                .doctorFirstName(doctor.getFirstName())
+                .doctorLastName(doctor.getLastName())
+                .specialization(doctor.getSpecialization())
+                .hospitalAffiliation(doctor.getHospitalAffiliation())
+                .permissionLevel(permission.getPermissionLevel())
+                .validFrom(permission.getValidFrom())
+                .validUntil(permission.getValidUntil())
+                .createdAt(permission.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,310 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.domain.dtos.AccessPermissionResponseDto;
+import com.HackPro.MedVault.domain.dtos.AccessRequestCreateDto;
+import com.HackPro.MedVault.domain.dtos.AccessRequestResponseDto;
+import com.HackPro.MedVault.domain.dtos.NotificationCreateDto;
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessPermission;
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessRequest;
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessRequestStatus;
+import com.HackPro.MedVault.domain.entities.AccessControl.AccessType;
+import com.HackPro.MedVault.domain.entities.AccessControl.PermissionLevel;
+import com.HackPro.MedVault.domain.entities.Messaging.MessageChannel;
+import com.HackPro.MedVault.domain.entities.NotificationType;
+import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.events.AccessGrantChangedEvent;
+import com.HackPro.MedVault.exceptions.DuplicateResourceException;
+import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.AccessPermissionRepository;
+import com.HackPro.MedVault.repositories.AccessRequestRepository;
+import com.HackPro.MedVault.repositories.DoctorRepository;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import com.HackPro.MedVault.services.AccessRequestExpiryService;
+import com.HackPro.MedVault.services.AccessRequestService;
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.NotificationService;
+import com.HackPro.MedVault.services.OutboundMessageQueue;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccessRequestServiceImpl implements AccessRequestService {
+
+    private final AccessRequestRepository accessRequestRepository;
+    private final AccessPermissionRepository accessPermissionRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final AccessRequestExpiryService accessRequestExpiryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogService auditLogService;
+    private final NotificationService notificationService;
+    private final OutboundMessageQueue outboundMessageQueue;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${access-request.otp-validity-minutes:10}")
+    private long otpValidityMinutes;
+
+    @Value("${access-request.otp-max-attempts:5}")
+    private int otpMaxAttempts;
+
+    @Value("${access-request.otp-hmac-key}")
+    private String otpHmacKey;
+
+    private SecretKeySpec otpKey;
+
+    @PostConstruct
+    void initOtpKey() {
+        otpKey = new SecretKeySpec(Base64.getDecoder().decode(otpHmacKey), "HmacSHA256");
+    }
+
+    @Override
+    @Transactional
+    public AccessRequestResponseDto createRequest(UUID doctorId, AccessRequestCreateDto request) {
+        if (request.getPermissionLevel() == PermissionLevel.NO_ACCESS) {
+            throw new ValidationException("Requested permission level must grant access");
+        }
+
+        Doctor doctor = doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor not found"));
+        Patient patient = patientRepository.findById(request.getPatientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found"));
+
+        if (accessRequestRepository.existsByDoctorIdAndPatientIdAndStatus(
+                doctorId, patient.getId(), AccessRequestStatus.PENDING)) {
+            throw new DuplicateResourceException("An access request for this patient is already pending");
+        }
+
+        long now = System.currentTimeMillis();
+        String otp = generateOTP();
+
+        AccessRequest accessRequest = AccessRequest.builder()
+                .doctor(doctor)
+                .patient(patient)
+                .status(AccessRequestStatus.PENDING)
+                .accessType(AccessType.OTP_CONSENT)
+                .requestedPermissionLevel(request.getPermissionLevel())
+                .reasonForAccess(request.getReasonForAccess())
+                .otpCode(hashOTP(otp))
+                .otpAttempts(0)
+                .otpExpiryTime(new Date(now + TimeUnit.MINUTES.toMillis(otpValidityMinutes)))
+                // The access window is counted from the request, so approving late does not extend it
+                .accessExpiryTime(new Date(now + TimeUnit.HOURS.toMillis(request.getAccessDurationHours())))
+                .build();
+        accessRequest = accessRequestRepository.save(accessRequest);
+
+        accessRequestExpiryService.track(accessRequest.getId(), accessRequest.getOtpExpiryTime());
+
+        sendOTP(patient, doctor, otp);
+        log.info("Access request {} created by doctor {} for patient {}", accessRequest.getId(), doctorId, patient.getId());
+        auditLogService.logAccessEvent(doctorId, patient.getId(), "ACCESS_REQUESTED", request.getReasonForAccess());
+
+        notificationService.notify(NotificationCreateDto.builder()
+                .userId(patient.getId())
+                .type(NotificationType.ACCESS_REQUEST)
+                .title("Access request from Dr. " + doctor.getFirstName() + " " + doctor.getLastName())
+                .message(request.getReasonForAccess())
+                .metadata(Map.of("accessRequestId", accessRequest.getId(), "doctorId", doctorId))
+                .build());
+
+        return mapToDto(accessRequest);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = ValidationException.class)
+    public AccessPermissionResponseDto verifyRequest(UUID requestId, UUID doctorId, String otp) {
+        // Row lock held until commit: attempts are counted exactly and PENDING -> APPROVED happens once
+        AccessRequest accessRequest = accessRequestRepository.findByIdAndDoctorId(requestId, doctorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Access request not found"));
+
+        if (accessRequest.getStatus() != AccessRequestStatus.PENDING) {
+            throw new ValidationException("Access request is " + accessRequest.getStatus().name().toLowerCase());
+        }
+
+        Date now = new Date();
+        if (!now.before(accessRequest.getOtpExpiryTime())) {
+            accessRequest.setStatus(AccessRequestStatus.EXPIRED);
+            accessRequestRepository.save(accessRequest);
+            throw new ValidationException("OTP has expired");
+        }
+
+        UUID patientId = accessRequest.getPatient().getId();
+        if (!otpMatches(otp, accessRequest.getOtpCode())) {
+            int attempts = (accessRequest.getOtpAttempts() != null ? accessRequest.getOtpAttempts() : 0) + 1;
+            accessRequest.setOtpAttempts(attempts);
+            if (attempts >= otpMaxAttempts) {
+                accessRequest.setStatus(AccessRequestStatus.DENIED);
+                accessRequest.setOtpCode(null);
+                log.warn("Access request {} denied after {} invalid OTP attempts", requestId, attempts);
+                auditLogService.logAccessEvent(doctorId, patientId, "ACCESS_DENIED", "Too many invalid OTP attempts");
+            }
+            accessRequestRepository.save(accessRequest);
+            throw new ValidationException("Invalid OTP");
+        }
+
+        AccessPermission permission = AccessPermission.builder()
+                .doctor(accessRequest.getDoctor())
+                .patient(accessRequest.getPatient())
+                .permissionLevel(accessRequest.getRequestedPermissionLevel())
+                .validFrom(now)
+                .validUntil(accessRequest.getAccessExpiryTime())
+                .isRevoked(false)
+                .build();
+        permission = accessPermissionRepository.save(permission);
+
+        accessRequest.setStatus(AccessRequestStatus.APPROVED);
+        accessRequest.setAccessGrantedAt(now);
+        accessRequest.setOtpCode(null);
+        accessRequestRepository.save(accessRequest);
+
+        log.info("Access request {} approved, doctor {} granted {} on patient {}",
+                requestId, doctorId, permission.getPermissionLevel(), patientId);
+        auditLogService.logAccessEvent(doctorId, patientId, "ACCESS_GRANTED", "Patient consent verified by OTP");
+
+        notificationService.notify(NotificationCreateDto.builder()
+                .userId(doctorId)
+                .type(NotificationType.ACCESS_GRANTED)
+                .title("Access granted")
+                .message("Access to the patient's records is valid until " + permission.getValidUntil())
+                .metadata(Map.of("accessPermissionId", permission.getId(), "patientId", patientId))
+                .build());
+
+        // Cached grant state is dropped once this transaction commits
+        eventPublisher.publishEvent(new AccessGrantChangedEvent(
+                doctorId, patientId, AccessGrantChangedEvent.Reason.GRANTED));
+
+        return mapToDto(permission);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccessRequestResponseDto> getPendingRequests(UUID patientId) {
+        return accessRequestRepository.findPendingByPatientId(patientId).stream()
+                .map(this::mapToDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void denyRequest(UUID requestId, UUID patientId) {
+        AccessRequest accessRequest = accessRequestRepository.findByIdAndPatientId(requestId, patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Access request not found"));
+
+        if (accessRequest.getStatus() != AccessRequestStatus.PENDING) {
+            throw new ValidationException("Access request is " + accessRequest.getStatus().name().toLowerCase());
+        }
+
+        accessRequest.setStatus(AccessRequestStatus.DENIED);
+        accessRequest.setOtpCode(null);
+        accessRequestRepository.save(accessRequest);
+
+        UUID doctorId = accessRequest.getDoctor().getId();
+        log.info("Patient {} denied access request {} of doctor {}", patientId, requestId, doctorId);
+        auditLogService.logAccessEvent(doctorId, patientId, "ACCESS_DENIED", "Denied by patient");
+
+        notificationService.notify(NotificationCreateDto.builder()
+                .userId(doctorId)
+                .type(NotificationType.ACCESS_DENIED)
+                .title("Access request denied")
+                .message("The patient denied your access request")
+                .metadata(Map.of("accessRequestId", requestId, "patientId", patientId))
+                .build());
+    }
+
+    // By SMS when the patient has a phone number, otherwise by email; delivered after commit
+    private void sendOTP(Patient patient, Doctor doctor, String otp) {
+        boolean bySms = patient.getPhoneNumber() != null && !patient.getPhoneNumber().isBlank();
+        outboundMessageQueue.enqueue(
+                bySms ? MessageChannel.SMS : MessageChannel.EMAIL,
+                bySms ? patient.getPhoneNumber() : patient.getEmail(),
+                "access-request-otp",
+                Map.of("doctorName", doctor.getFirstName() + " " + doctor.getLastName(),
+                        "code", otp,
+                        "validityMinutes", String.valueOf(otpValidityMinutes)));
+    }
+
+    private String generateOTP() {
+        int otp = 100000 + secureRandom.nextInt(900000);
+        return String.valueOf(otp);
+    }
+
+    // Only a keyed digest is stored, so the OTP never sits in plain text in the table or its backups, and
+    // without the server key the six digits cannot be recovered by hashing all 10^6 codes
+    private String hashOTP(String otp) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(otpKey);
+            return HexFormat.of().formatHex(mac.doFinal(otp.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private boolean otpMatches(String otp, String storedHash) {
+        if (otp == null || storedHash == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                hashOTP(otp).getBytes(StandardCharsets.US_ASCII),
+                storedHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private AccessRequestResponseDto mapToDto(AccessRequest accessRequest) {
+        Doctor doctor = accessRequest.getDoctor();
+        return AccessRequestResponseDto.builder()
+                .id(accessRequest.getId())
+                .patientId(accessRequest.getPatient().getId())
+                .doctorId(doctor.getId())
+                .doctorFirstName(doctor.getFirstName())
+                .doctorLastName(doctor.getLastName())
+                .specialization(doctor.getSpecialization())
+                .hospitalAffiliation(doctor.getHospitalAffiliation())
+                .status(accessRequest.getStatus())
+                .permissionLevel(accessRequest.getRequestedPermissionLevel())
+                .reasonForAccess(accessRequest.getReasonForAccess())
+                .otpExpiryTime(accessRequest.getOtpExpiryTime())
+                .accessGrantedAt(accessRequest.getAccessGrantedAt())
+                .accessExpiryTime(accessRequest.getAccessExpiryTime())
+                .createdAt(accessRequest.getCreatedAt())
+                .build();
+    }
+
+    private AccessPermissionResponseDto mapToDto(AccessPermission permission) {
+        Doctor doctor = permission.getDoctor();
+        return AccessPermissionResponseDto.builder()
+                .id(permission.getId())
+                .doctorId(doctor.getId())
+                .doctorFirstName(doctor.getFirstName())
+                .doctorLastName(doctor.getLastName())
+                .specialization(doctor.getSpecialization())
+                .hospitalAffiliation(doctor.getHospitalAffiliation())
+                .permissionLevel(permission.getPermissionLevel())
+                .validFrom(permission.getValidFrom())
+                .validUntil(permission.getValidUntil())
+                .createdAt(permission.getCreatedAt())
+                .build();
+    }
+}
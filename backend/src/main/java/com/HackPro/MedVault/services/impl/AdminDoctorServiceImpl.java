@@ -0,0 +1,149 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.domain.dtos.DoctorQueuePageDto;
+import com.HackPro.MedVault.domain.dtos.DoctorStatusUpdateDto;
+import com.HackPro.MedVault.domain.dtos.DoctorStatusUpdateResultDto;
+import com.HackPro.MedVault.domain.dtos.DoctorSummaryDto;
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import com.HackPro.MedVault.events.DoctorStatusChangedEvent;
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.DoctorRepository;
+import com.HackPro.MedVault.repositories.DoctorRepository.DoctorQueueItem;
+import com.HackPro.MedVault.services.AdminDoctorService;
+import com.HackPro.MedVault.services.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminDoctorServiceImpl implements AdminDoctorService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Lowest UUID in database order; the first page starts after it
+    private static final UUID FIRST_PAGE = new UUID(0L, 0L);
+
+    // Target status -> statuses a doctor may be moved from
+    private static final Map<VerificationStatus, Set<VerificationStatus>> ALLOWED_FROM =
+            new EnumMap<>(VerificationStatus.class);
+
+    static {
+        ALLOWED_FROM.put(VerificationStatus.UNDER_REVIEW, EnumSet.of(
+                VerificationStatus.PENDING, VerificationStatus.RESUBMISSION_REQUIRED, VerificationStatus.EXPIRED));
+        ALLOWED_FROM.put(VerificationStatus.VERIFIED, EnumSet.of(
+                VerificationStatus.PENDING, VerificationStatus.UNDER_REVIEW,
+                VerificationStatus.SUSPENDED, VerificationStatus.EXPIRED));
+        ALLOWED_FROM.put(VerificationStatus.REJECTED, EnumSet.of(
+                VerificationStatus.PENDING, VerificationStatus.UNDER_REVIEW));
+        ALLOWED_FROM.put(VerificationStatus.RESUBMISSION_REQUIRED, EnumSet.of(
+                VerificationStatus.PENDING, VerificationStatus.UNDER_REVIEW));
+        ALLOWED_FROM.put(VerificationStatus.SUSPENDED, EnumSet.of(VerificationStatus.VERIFIED));
+        ALLOWED_FROM.put(VerificationStatus.REVOKED, EnumSet.of(
+                VerificationStatus.VERIFIED, VerificationStatus.SUSPENDED));
+    }
+
+    private final DoctorRepository doctorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogService auditLogService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public DoctorQueuePageDto getQueue(VerificationStatus status, String specialization, String cursor, int limit) {
+        Limit pageLimit = Limit.of(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) + 1);
+        UUID afterId = cursor == null || cursor.isBlank() ? FIRST_PAGE : parseCursor(cursor);
+        String specializationFilter = specialization == null || specialization.isBlank() ? null : specialization.trim();
+
+        List<DoctorQueueItem> page = doctorRepository.findQueue(status, afterId, specializationFilter, pageLimit);
+
+        // One extra row is fetched to tell whether another page follows
+        boolean hasMore = page.size() == pageLimit.max();
+        List<DoctorQueueItem> items = hasMore ? page.subList(0, page.size() - 1) : page;
+
+        return DoctorQueuePageDto.builder()
+                .items(items.stream().map(this::mapToDto).toList())
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId().toString() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public DoctorStatusUpdateResultDto updateStatus(UUID adminId, DoctorStatusUpdateDto request) {
+        VerificationStatus target = request.getStatus();
+        Set<VerificationStatus> allowedFrom = ALLOWED_FROM.get(target);
+        if (allowedFrom == null) {
+            throw new ValidationException("Doctors cannot be moved to " + target);
+        }
+
+        Set<UUID> requested = new LinkedHashSet<>(request.getDoctorIds());
+
+        // Only doctors with a current license can be verified
+        boolean requireValidLicense = target == VerificationStatus.VERIFIED;
+        List<UUID> updated = doctorRepository.lockTransitionable(
+                requested, allowedFrom, requireValidLicense, Date.valueOf(LocalDate.now()));
+
+        if (!updated.isEmpty()) {
+            doctorRepository.updateVerificationStatus(updated, target.name());
+            // Drops cached grants once the update has committed
+            eventPublisher.publishEvent(new DoctorStatusChangedEvent(updated, target));
+
+            String source = request.getReason() == null || request.getReason().isBlank()
+                    ? "ADMIN"
+                    : "ADMIN: " + request.getReason().trim();
+            for (UUID doctorId : updated) {
+                auditLogService.logActivity(doctorId, "DOCTOR_STATUS_" + target.name(), source);
+            }
+            auditLogService.logActivity(adminId, "DOCTORS_STATUS_UPDATED", updated.size() + " -> " + target.name());
+        }
+
+        Set<UUID> updatedIds = new HashSet<>(updated);
+        List<UUID> skipped = requested.stream().filter(id -> !updatedIds.contains(id)).toList();
+
+        log.info("Admin {} moved {} doctors to {} ({} skipped)", adminId, updated.size(), target, skipped.size());
+
+        return DoctorStatusUpdateResultDto.builder()
+                .status(target)
+                .updated(updated)
+                .skipped(skipped)
+                .build();
+    }
+
+    private static UUID parseCursor(String cursor) {
+        try {
+            return UUID.fromString(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private DoctorSummaryDto mapToDto(DoctorQueueItem item) {
+        return DoctorSummaryDto.builder()
+                .id(item.getId())
+                .email(item.getEmail())
+                .phoneNumber(item.getPhoneNumber())
+                .firstName(item.getFirstName())
+                .lastName(item.getLastName())
+                .licenseNumber(item.getLicenseNumber())
+                .licenseExpiryDate(item.getLicenseExpiryDate())
+                .specialization(item.getSpecialization())
+                .hospitalAffiliation(item.getHospitalAffiliation())
+                .verificationStatus(item.getVerificationStatus())
+                .registeredAt(item.getCreatedAt())
+                .build();
+    }
+}
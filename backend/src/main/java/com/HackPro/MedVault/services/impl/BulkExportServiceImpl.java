@@ -0,0 +1,231 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.domain.dtos.BulkExportFileDto;
+import com.HackPro.MedVault.domain.dtos.BulkExportManifestDto;
+import com.HackPro.MedVault.domain.dtos.BulkExportStatusDto;
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportJob;
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportJobStatus;
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportPartition;
+import com.HackPro.MedVault.domain.entities.BulkExport.ExportPartitionStatus;
+import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.ExportJobRepository;
+import com.HackPro.MedVault.repositories.ExportPartitionRepository;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.BulkExportRunner;
+import com.HackPro.MedVault.services.BulkExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class BulkExportServiceImpl implements BulkExportService {
+
+    private static final Pattern RESOURCE_TYPE = Pattern.compile("[A-Z][A-Za-z]{1,63}");
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Z][A-Za-z]{1,63}-\\d{1,5}\\.ndjson\\.gz");
+
+    private final ExportJobRepository exportJobRepository;
+    private final ExportPartitionRepository exportPartitionRepository;
+    private final PatientRepository patientRepository;
+    private final BulkExportRunner bulkExportRunner;
+    private final AuditLogService auditLogService;
+    private final int maxPartitions;
+    private final int minPatientsPerPartition;
+
+    public BulkExportServiceImpl(ExportJobRepository exportJobRepository,
+                                 ExportPartitionRepository exportPartitionRepository,
+                                 PatientRepository patientRepository,
+                                 BulkExportRunner bulkExportRunner,
+                                 AuditLogService auditLogService,
+                                 @Value("${bulk-export.partitions:16}") int maxPartitions,
+                                 @Value("${bulk-export.min-patients-per-partition:1000}") int minPatientsPerPartition) {
+        this.exportJobRepository = exportJobRepository;
+        this.exportPartitionRepository = exportPartitionRepository;
+        this.patientRepository = patientRepository;
+        this.bulkExportRunner = bulkExportRunner;
+        this.auditLogService = auditLogService;
+        this.maxPartitions = maxPartitions;
+        this.minPatientsPerPartition = minPatientsPerPartition;
+    }
+
+    @Override
+    @Transactional
+    public UUID startExport(UUID adminId, String types, String since, String requestUrl) {
+        String typeFilter = parseTypes(types);
+        LocalDateTime sinceTime = parseSince(since);
+
+        // Boundaries are placed at patient-ID quantiles: UUIDv7 IDs are clustered by creation
+        // time, so an even split of the UUID space would leave most partitions empty
+        long patients = patientRepository.count();
+        int partitionCount = patients == 0
+                ? 0
+                : (int) Math.min(maxPartitions, Math.ceilDiv(patients, minPatientsPerPartition));
+        List<UUID> boundaries = new ArrayList<>();
+        for (int i = 1; i < partitionCount; i++) {
+            int offset = (int) (patients * i / partitionCount);
+            patientRepository.findIdsOrderById(PageRequest.of(offset, 1)).stream()
+                    .findFirst()
+                    .filter(id -> boundaries.isEmpty() || id.compareTo(boundaries.get(boundaries.size() - 1)) != 0)
+                    .ifPresent(boundaries::add);
+        }
+
+        ExportJob job = exportJobRepository.save(ExportJob.builder()
+                .requestedBy(adminId)
+                .status(partitionCount == 0 ? ExportJobStatus.COMPLETED : ExportJobStatus.ACCEPTED)
+                .resourceTypes(typeFilter)
+                .since(sinceTime)
+                .requestUrl(requestUrl)
+                .completedAt(partitionCount == 0 ? LocalDateTime.now() : null)
+                .build());
+
+        if (partitionCount > 0) {
+            List<ExportPartition> partitions = new ArrayList<>();
+            for (int i = 0; i <= boundaries.size(); i++) {
+                partitions.add(ExportPartition.builder()
+                        .job(job)
+                        .partitionIndex(i)
+                        .rangeStart(i == 0 ? null : boundaries.get(i - 1))
+                        .rangeEnd(i == boundaries.size() ? null : boundaries.get(i))
+                        .status(ExportPartitionStatus.PENDING)
+                        .attempts(0)
+                        .build());
+            }
+            exportPartitionRepository.saveAll(partitions);
+        }
+
+        auditLogService.logActivity(adminId, "BULK_EXPORT_STARTED", job.getId().toString());
+        log.info("Bulk export {} accepted: {} patients in {} partitions, types={}, since={}",
+                job.getId(), patients, boundaries.size() + (partitionCount > 0 ? 1 : 0), typeFilter, sinceTime);
+        return job.getId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BulkExportStatusDto getStatus(UUID jobId, UUID adminId, String baseUrl) {
+        ExportJob job = findJob(jobId, adminId);
+        if (job.getStatus() == ExportJobStatus.CANCELLED || job.getStatus() == ExportJobStatus.EXPIRED) {
+            throw new ResourceNotFoundException("Export job not found");
+        }
+
+        List<ExportPartition> partitions = exportPartitionRepository.findByJobIdOrderByPartitionIndex(jobId);
+        long completed = partitions.stream()
+                .filter(partition -> partition.getStatus() == ExportPartitionStatus.COMPLETED)
+                .count();
+
+        BulkExportStatusDto.BulkExportStatusDtoBuilder status = BulkExportStatusDto.builder()
+                .status(job.getStatus())
+                .progress(completed + "/" + partitions.size() + " partitions")
+                .error(job.getError());
+
+        if (job.getStatus() == ExportJobStatus.COMPLETED) {
+            List<BulkExportFileDto> output = new ArrayList<>();
+            for (ExportPartition partition : partitions) {
+                if (partition.getResourceCounts() == null) {
+                    continue;
+                }
+                partition.getResourceCounts().forEach((type, count) -> {
+                    String fileName = type + "-" + partition.getPartitionIndex() + ".ndjson.gz";
+                    output.add(BulkExportFileDto.builder()
+                            .type(type)
+                            .url(baseUrl + "/$export-files/" + jobId + "/" + fileName)
+                            .count(count)
+                            .build());
+                });
+            }
+            output.sort(Comparator.comparing(BulkExportFileDto::getType));
+
+            status.manifest(BulkExportManifestDto.builder()
+                    .transactionTime(job.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant())
+                    .request(job.getRequestUrl())
+                    .requiresAccessToken(true)
+                    .output(output)
+                    .error(List.of())
+                    .build());
+        }
+        return status.build();
+    }
+
+    @Override
+    @Transactional
+    public void cancelExport(UUID jobId, UUID adminId) {
+        ExportJob job = findJob(jobId, adminId);
+        if (job.getStatus() == ExportJobStatus.CANCELLED || job.getStatus() == ExportJobStatus.EXPIRED) {
+            throw new ResourceNotFoundException("Export job not found");
+        }
+
+        job.setStatus(ExportJobStatus.CANCELLED);
+        job.setCompletedAt(LocalDateTime.now());
+        exportPartitionRepository.cancelOpen(jobId);
+        bulkExportRunner.cancel(jobId);
+
+        auditLogService.logActivity(adminId, "BULK_EXPORT_CANCELLED", jobId.toString());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Path getOutputFile(UUID jobId, UUID adminId, String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            throw new ResourceNotFoundException("Export file not found");
+        }
+        ExportJob job = findJob(jobId, adminId);
+        Path file = bulkExportRunner.outputDirectory(jobId).resolve(fileName);
+        if (job.getStatus() != ExportJobStatus.COMPLETED || !Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Export file not found");
+        }
+        return file;
+    }
+
+    private ExportJob findJob(UUID jobId, UUID adminId) {
+        return exportJobRepository.findByIdAndRequestedBy(jobId, adminId)
+                .orElseThrow(() -> new ResourceNotFoundException("Export job not found"));
+    }
+
+    private static String parseTypes(String types) {
+        if (types == null || types.isBlank()) {
+            return null;
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String type : types.split(",")) {
+            String trimmed = type.trim();
+            if (!RESOURCE_TYPE.matcher(trimmed).matches()) {
+                throw new ValidationException("Invalid _type: " + trimmed);
+            }
+            parsed.add(trimmed);
+        }
+        return String.join(",", parsed);
+    }
+
+    private static LocalDateTime parseSince(String since) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(since).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(since).atStartOfDay();
+            } catch (DateTimeParseException ignored) {
+                throw new ValidationException("Invalid _since: " + since);
+            }
+        }
+    }
+}
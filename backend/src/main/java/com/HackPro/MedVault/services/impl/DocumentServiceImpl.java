@@ -1,41 +1,77 @@
 package com.HackPro.MedVault.services.impl;
 
+import com.HackPro.MedVault.config.SingleFlightAspect;
 import com.HackPro.MedVault.domain.dtos.DocumentResponseDto;
 import com.HackPro.MedVault.domain.dtos.DocumentUploadDto;
 import com.HackPro.MedVault.domain.dtos.N8nProcessedDataDto;
 import com.HackPro.MedVault.domain.entities.MedicalRecords.Document;
 import com.HackPro.MedVault.domain.entities.MedicalRecords.ProcessingStatus;
 import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.events.DocumentAnomaliesDetectedEvent;
 import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
 import com.HackPro.MedVault.repositories.DocumentRepository;
 import com.HackPro.MedVault.repositories.PatientRepository;
 import com.HackPro.MedVault.services.DocumentService;
-import lombok.RequiredArgsConstructor;
+import com.HackPro.MedVault.util.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DocumentServiceImpl implements DocumentService {
 
+    static final String PATIENT_DOCUMENTS_FLIGHT = "patient-documents";
+
     private final DocumentRepository documentRepository;
     private final PatientRepository patientRepository;
     private final RestTemplate restTemplate;
+    private final AsyncTaskExecutor n8nDispatchExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlightAspect singleFlight;
+    private final TransactionTemplate statusTransaction;
 
     @Value("${n8n.webhook.url}")
     private String n8nWebhookUrl;
 
+    public DocumentServiceImpl(DocumentRepository documentRepository,
+                               PatientRepository patientRepository,
+                               RestTemplate restTemplate,
+                               @Qualifier("n8nDispatchExecutor") AsyncTaskExecutor n8nDispatchExecutor,
+                               ApplicationEventPublisher eventPublisher,
+                               SingleFlightAspect singleFlight,
+                               PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.patientRepository = patientRepository;
+        this.restTemplate = restTemplate;
+        this.n8nDispatchExecutor = n8nDispatchExecutor;
+        this.eventPublisher = eventPublisher;
+        this.singleFlight = singleFlight;
+        // Status writes come from the upload's afterCommit or the dispatch thread; neither has a
+        // transaction of its own to join
+        this.statusTransaction = new TransactionTemplate(transactionManager);
+        this.statusTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Override
     @Transactional
     public DocumentResponseDto uploadDocument(DocumentUploadDto dto, UUID patientId) {
@@ -56,70 +92,113 @@ public class DocumentServiceImpl implements DocumentService {
 
         // Save to database
         Document savedDocument = documentRepository.save(document);
+        documentsChanged(patientId);
         log.info("Document saved with ID: {}", savedDocument.getId());
 
-        // Send to n8n asynchronously
-        sendToN8nAsync(savedDocument);
+        // Send to n8n asynchronously once the document is committed; the dispatch thread updates
+        // its status and must find the row
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendToN8nAsync(savedDocument);
+            }
+        });
 
         return mapToDto(savedDocument);
     }
 
     private void sendToN8nAsync(Document document) {
-        new Thread(() -> {
+        try {
+            n8nDispatchExecutor.execute(() -> dispatchToN8n(document));
+        } catch (TaskRejectedException e) {
+            log.warn("n8n dispatch queue is full; document {} not sent", document.getId());
+            document.setProcessingStatus(ProcessingStatus.FAILED);
             try {
-                log.info("=== SENDING TO N8N ===");
-                log.info("Webhook URL: {}", n8nWebhookUrl);
-                log.info("Document ID: {}", document.getId());
-                log.info("File URL: {}", document.getFileUrl());
-
-                // Update status to PROCESSING
-                document.setProcessingStatus(ProcessingStatus.PROCESSING);
-                documentRepository.save(document);
-                log.info("Document status updated to PROCESSING");
-
-                // Prepare payload
-                var payload = new N8nWebhookPayload(
-                        document.getId(),
-                        document.getTitle(),
-                        document.getFileUrl(),
-                        document.getFileName(),
-                        document.getPatient().getId()
-                );
-
-                log.info("Payload prepared: {}", payload);
-
-                try {
-                    // Send POST request to n8n
-                    String response = restTemplate.postForObject(n8nWebhookUrl, payload, String.class);
-                    log.info("n8n Response received: {}", response);
-                    log.info("=== SUCCESSFULLY SENT TO N8N ===");
-
-                } catch (Exception restException) {
-                    log.error("=== FAILED TO SEND TO N8N - RestTemplate Error ===", restException);
-                    log.error("Exception Type: {}", restException.getClass().getName());
-                    log.error("Exception Message: {}", restException.getMessage());
-                    log.error("Exception Cause: {}", restException.getCause());
-
-                    // Print stack trace for debugging
-                    StringWriter sw = new StringWriter();
-                    restException.printStackTrace(new PrintWriter(sw));
-                    log.error("Stack Trace: {}", sw.toString());
-
-                    document.setProcessingStatus(ProcessingStatus.FAILED);
-                    documentRepository.save(document);
-                }
-
-            } catch (Exception e) {
-                log.error("=== FAILED TO SEND TO N8N - General Error ===", e);
-                log.error("Exception Type: {}", e.getClass().getName());
-                log.error("Exception Message: {}", e.getMessage());
+                saveStatus(document);
+            } catch (RuntimeException statusException) {
+                // The upload has committed; its response must not fail over the status write
+                log.error("Could not mark document {} FAILED", document.getId(), statusException);
+            }
+        }
+    }
+
+    private void dispatchToN8n(Document document) {
+        try {
+            log.info("=== SENDING TO N8N ===");
+            log.info("Webhook URL: {}", n8nWebhookUrl);
+            log.info("Document ID: {}", document.getId());
+            log.info("File URL: {}", document.getFileUrl());
+
+            // Update status to PROCESSING
+            document.setProcessingStatus(ProcessingStatus.PROCESSING);
+            saveStatus(document);
+            log.info("Document status updated to PROCESSING");
+
+            // Prepare payload
+            var payload = new N8nWebhookPayload(
+                    document.getId(),
+                    document.getTitle(),
+                    document.getFileUrl(),
+                    document.getFileName(),
+                    document.getPatient().getId()
+            );
+
+            log.info("Payload prepared: {}", payload);
+
+            try {
+                // Send POST request to n8n
+                String response = restTemplate.postForObject(n8nWebhookUrl, payload, String.class);
+                log.info("n8n Response received: {}", response);
+                log.info("=== SUCCESSFULLY SENT TO N8N ===");
+
+            } catch (Exception restException) {
+                log.error("=== FAILED TO SEND TO N8N - RestTemplate Error ===", restException);
+                log.error("Exception Type: {}", restException.getClass().getName());
+                log.error("Exception Message: {}", restException.getMessage());
+                log.error("Exception Cause: {}", restException.getCause());
+
+                // Print stack trace for debugging
+                StringWriter sw = new StringWriter();
+                restException.printStackTrace(new PrintWriter(sw));
+                log.error("Stack Trace: {}", sw.toString());
 
                 document.setProcessingStatus(ProcessingStatus.FAILED);
-                documentRepository.save(document);
+                saveStatus(document);
             }
-        }).start();
+
+        } catch (Exception e) {
+            log.error("=== FAILED TO SEND TO N8N - General Error ===", e);
+            log.error("Exception Type: {}", e.getClass().getName());
+            log.error("Exception Message: {}", e.getMessage());
+
+            document.setProcessingStatus(ProcessingStatus.FAILED);
+            saveStatus(document);
+        }
     }
 
+    // Status changes run after the upload transaction has committed, so they open their own
+    private void saveStatus(Document document) {
+        statusTransaction.executeWithoutResult(status -> {
+            documentRepository.save(document);
+            documentsChanged(document.getPatient().getId());
+        });
+    }
+
+    // Bumps the version behind the document list ETag. A list read already in flight may predate
+    // the change, so callers arriving after the commit must not share it.
+    private void documentsChanged(UUID patientId) {
+        patientRepository.incrementDocumentsVersion(patientId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            singleFlight.forget(PATIENT_DOCUMENTS_FLIGHT, patientId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                singleFlight.forget(PATIENT_DOCUMENTS_FLIGHT, patientId);
+            }
+        });
+    }
 
     @Override
     @Transactional
@@ -129,24 +208,51 @@ public class DocumentServiceImpl implements DocumentService {
         Document document = documentRepository.findById(dto.getDocumentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found"));
 
+        // Only anomalies not recorded by an earlier callback raise alerts
+        List<String> anomalies = dto.getAnomalies() != null ? dto.getAnomalies() : List.of();
+        Set<String> previousAnomalies = document.getAnomalies() != null
+                ? new HashSet<>(Arrays.asList(document.getAnomalies().split(",")))
+                : Set.of();
+        List<String> newAnomalies = anomalies.stream()
+                .filter(anomaly -> anomaly != null && !anomaly.isBlank() && !previousAnomalies.contains(anomaly))
+                .toList();
+
         // Update document with n8n processed data
         document.setSummary(dto.getSummary());
-        document.setAnomalies(String.join(",", dto.getAnomalies())); // Store as CSV or JSON
+        document.setAnomalies(String.join(",", anomalies)); // Store as CSV or JSON
         document.setCategory(dto.getCategory());
         document.setDocumentType(dto.getDocumentType());
         document.setProcessingStatus(ProcessingStatus.COMPLETED);
 
         documentRepository.save(document);
+        documentsChanged(document.getPatient().getId());
         log.info("Document processing completed: {}", dto.getDocumentId());
+
+        // Alerting runs asynchronously once this transaction commits
+        if (!newAnomalies.isEmpty()) {
+            eventPublisher.publishEvent(new DocumentAnomaliesDetectedEvent(
+                    document.getId(), document.getPatient().getId(), document.getTitle(),
+                    document.getCategory(), newAnomalies));
+        }
     }
 
+    /**
+     * Concurrent reads for the same patient share one query; the returned list is unmodifiable
+     */
     @Override
     @Transactional(readOnly = true)
+    @SingleFlight(name = PATIENT_DOCUMENTS_FLIGHT, key = "#patientId", timeout = "${documents.single-flight.timeout:2s}")
     public List<DocumentResponseDto> getPatientDocuments(UUID patientId) {
         List<Document> documents = documentRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
         return documents.stream()
                 .map(this::mapToDto)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    @Override
+    public long getDocumentsVersion(UUID patientId) {
+        return patientRepository.findDocumentsVersion(patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found"));
     }
 
     private DocumentResponseDto mapToDto(Document document) {
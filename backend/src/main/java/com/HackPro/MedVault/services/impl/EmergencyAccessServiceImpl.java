@@ -0,0 +1,72 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.config.EmergencyAccessAuthenticationProvider;
+import com.HackPro.MedVault.domain.dtos.EmergencyAccessRequestDto;
+import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
+import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
+import com.HackPro.MedVault.security.EmergencyAccessToken;
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.EmergencyAccessService;
+import com.HackPro.MedVault.services.EmergencySnapshotCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class EmergencyAccessServiceImpl implements EmergencyAccessService {
+
+    private final EmergencyAccessAuthenticationProvider emergencyAccessProvider;
+    private final EmergencySnapshotCache emergencySnapshotCache;
+    private final AuditLogService auditLogService;
+    private final Timer lookupTimer;
+
+    public EmergencyAccessServiceImpl(EmergencyAccessAuthenticationProvider emergencyAccessProvider,
+                                      EmergencySnapshotCache emergencySnapshotCache,
+                                      AuditLogService auditLogService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${emergency-access.latency-slo-ms:50}") long latencySloMs) {
+        this.emergencyAccessProvider = emergencyAccessProvider;
+        this.emergencySnapshotCache = emergencySnapshotCache;
+        this.auditLogService = auditLogService;
+        // The SLO bucket reports how many lookups finished within the p99 target
+        this.lookupTimer = Timer.builder("medvault.emergency.lookup")
+                .description("Latency of emergency access lookups, from OTP check to snapshot")
+                .publishPercentiles(0.5, 0.99)
+                .serviceLevelObjectives(Duration.ofMillis(latencySloMs))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getEmergencySnapshot(UUID doctorId, EmergencyAccessRequestDto request) {
+        return lookupTimer.record(() -> lookup(doctorId, request));
+    }
+
+    private String lookup(UUID doctorId, EmergencyAccessRequestDto request) {
+        Authentication authentication = emergencyAccessProvider.authenticate(new EmergencyAccessToken(
+                request.getLicenseNumber(), request.getAadhaarNumber(), request.getOtp()));
+
+        Doctor doctor = (Doctor) authentication.getPrincipal();
+        if (!doctor.getId().equals(doctorId)) {
+            throw new BadCredentialsException("License number does not belong to the authenticated doctor");
+        }
+
+        UUID patientId = emergencySnapshotCache.findPatientId(request.getAadhaarNumber())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with provided Aadhaar number"));
+        String snapshot = emergencySnapshotCache.getSnapshotJson(patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Emergency profile not found"));
+
+        log.warn("Emergency access to patient {} by doctor {}", patientId, doctorId);
+        auditLogService.logAccessEvent(doctorId, patientId, "EMERGENCY_ACCESS",
+                request.getReason() != null ? request.getReason() : "Emergency access");
+
+        return snapshot;
+    }
+}
@@ -0,0 +1,763 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.domain.dtos.FhirImportErrorDto;
+import com.HackPro.MedVault.domain.dtos.FhirImportReportDto;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.EmergencyProfile;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.MedicalRecord;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.RecordType;
+import com.HackPro.MedVault.domain.entities.UserManagement.Gender;
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.entities.UserManagement.User;
+import com.HackPro.MedVault.domain.entities.UserManagement.UserRole;
+import com.HackPro.MedVault.domain.generators.UuidV7Generator;
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.EmergencyProfileRepository;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import com.HackPro.MedVault.repositories.UserRepository;
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.EncryptionService;
+import com.HackPro.MedVault.services.FhirImportService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming FHIR import.
+ * <p>
+ * Input is parsed one resource at a time and collected into chunks of {@code fhir.import.chunk-size}.
+ * Each chunk is validated in parallel on the fhirImportExecutor, then persisted sequentially: Aadhaar
+ * numbers are encrypted in one pass, duplicates are checked with one query per chunk, and entities
+ * are written in JDBC batches before the persistence context is cleared. Only the map of imported
+ * patient references grows with the input.
+ * <p>
+ * Patients must appear before the resources that reference them. Imported patients have no usable
+ * password and set one through the forgot-password flow.
+ */
+@Service
+@Slf4j
+public class FhirImportServiceImpl implements FhirImportService {
+
+    // Not a BCrypt hash, so no password ever matches it
+    private static final String NO_PASSWORD = "!imported";
+
+    private static final Pattern AADHAAR = Pattern.compile("\\d{12}");
+    private static final int VALIDATION_SLICE = 50;
+
+    private static final Map<String, RecordType> RECORD_TYPES = Map.of(
+            "Observation", RecordType.LAB_REPORT,
+            "DiagnosticReport", RecordType.LAB_REPORT,
+            "MedicationRequest", RecordType.PRESCRIPTION,
+            "Condition", RecordType.CLINICAL_NOTES,
+            "AllergyIntolerance", RecordType.CLINICAL_NOTES);
+
+    private final PatientRepository patientRepository;
+    private final UserRepository userRepository;
+    private final EmergencyProfileRepository emergencyProfileRepository;
+    private final EncryptionService encryptionService;
+    private final AuditLogService auditLogService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor validationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final String aadhaarSystem;
+
+    public FhirImportServiceImpl(PatientRepository patientRepository,
+                                 UserRepository userRepository,
+                                 EmergencyProfileRepository emergencyProfileRepository,
+                                 EncryptionService encryptionService,
+                                 AuditLogService auditLogService,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 @Qualifier("fhirImportExecutor") AsyncTaskExecutor validationExecutor,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${fhir.import.chunk-size:500}") int chunkSize,
+                                 @Value("${fhir.import.max-reported-errors:1000}") int maxReportedErrors,
+                                 @Value("${fhir.import.aadhaar-system:https://uidai.gov.in}") String aadhaarSystem) {
+        this.patientRepository = patientRepository;
+        this.userRepository = userRepository;
+        this.emergencyProfileRepository = emergencyProfileRepository;
+        this.encryptionService = encryptionService;
+        this.auditLogService = auditLogService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validationExecutor = validationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.aadhaarSystem = aadhaarSystem;
+    }
+
+    @Override
+    public Map<String, Object> importBundle(InputStream body, UUID adminId) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        Consumer<Outcome> collect = outcome -> {
+            while (entries.size() <= outcome.index()) {
+                entries.add(null);
+            }
+            entries.set((int) outcome.index(), bundleEntry(outcome));
+        };
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ValidationException("Request body must be a FHIR Bundle");
+            }
+
+            // The type normally precedes the entries; without it the Bundle is handled as a batch
+            String bundleType = null;
+            boolean transaction = false;
+            ImportRun run = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "resourceType" -> {
+                        if (!"Bundle".equals(parser.getText())) {
+                            throw new ValidationException("Request body must be a FHIR Bundle");
+                        }
+                    }
+                    case "type" -> {
+                        bundleType = parser.getText();
+                        if (!"batch".equals(bundleType) && !"transaction".equals(bundleType)) {
+                            throw new ValidationException("Bundle type must be batch or transaction");
+                        }
+                        transaction = "transaction".equals(bundleType);
+                    }
+                    case "entry" -> {
+                        if (parser.currentToken() != JsonToken.START_ARRAY) {
+                            throw new ValidationException("Bundle entry must be an array");
+                        }
+                        run = new ImportRun(adminId, transaction, collect);
+                        if (transaction) {
+                            ImportRun transactionRun = run;
+                            transactionTemplate.executeWithoutResult(
+                                    status -> readEntries(parser, transactionRun));
+                        } else {
+                            readEntries(parser, run);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            log.info("FHIR {} Bundle imported: {}", bundleType == null ? "batch" : bundleType,
+                    run == null ? "no entries" : run.summary());
+            if (run != null) {
+                auditLogService.logActivity(adminId, "FHIR_BUNDLE_IMPORTED", run.summary());
+            }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("resourceType", "Bundle");
+            response.put("type", transaction ? "transaction-response" : "batch-response");
+            response.put("entry", entries);
+            return response;
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Malformed Bundle JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public FhirImportReportDto importNdjson(InputStream body, UUID adminId) {
+        Map<String, Long> importedByType = new TreeMap<>();
+        List<FhirImportErrorDto> errors = new ArrayList<>();
+        long[] totals = new long[3]; // received, imported, failed
+
+        ImportRun run = new ImportRun(adminId, false, outcome -> {
+            totals[0]++;
+            if (outcome.error() == null) {
+                totals[1]++;
+                importedByType.merge(outcome.resourceType(), 1L, Long::sum);
+            } else {
+                totals[2]++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(FhirImportErrorDto.builder()
+                            .index(outcome.index())
+                            .resourceType(outcome.resourceType())
+                            .id(outcome.resourceId())
+                            .status(outcome.status())
+                            .message(outcome.error())
+                            .build());
+                }
+            }
+        });
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long line = 0;
+            for (String text = reader.readLine(); text != null; text = reader.readLine(), line++) {
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.add(new RawResource(line, null, objectMapper.readTree(text)));
+                } catch (JsonProcessingException e) {
+                    run.reject(line, null, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            run.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("FHIR NDJSON imported: {}", run.summary());
+        auditLogService.logActivity(adminId, "FHIR_NDJSON_IMPORTED", run.summary());
+
+        return FhirImportReportDto.builder()
+                .received(totals[0])
+                .imported(totals[1])
+                .failed(totals[2])
+                .importedByType(importedByType)
+                .errors(errors)
+                .errorsTruncated(totals[2] > errors.size())
+                .build();
+    }
+
+    private void readEntries(JsonParser parser, ImportRun run) {
+        try {
+            long index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                // Only one entry is materialized at a time
+                JsonNode entry = parser.readValueAsTree();
+                JsonNode resource = entry.get("resource");
+                String fullUrl = entry.path("fullUrl").asText(null);
+                if (resource == null || !resource.isObject()) {
+                    run.reject(index, null, null, "Entry has no resource");
+                } else {
+                    run.add(new RawResource(index, fullUrl, resource));
+                }
+                index++;
+            }
+            run.flush();
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Malformed Bundle JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Validate a chunk in slices on the bounded executor
+     */
+    private List<Parsed> validateAll(List<RawResource> chunk) {
+        List<CompletableFuture<List<Parsed>>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += VALIDATION_SLICE) {
+            List<RawResource> slice = chunk.subList(from, Math.min(from + VALIDATION_SLICE, chunk.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> slice.stream().map(this::validate).toList(),
+                    validationExecutor));
+        }
+
+        List<Parsed> parsed = new ArrayList<>(chunk.size());
+        try {
+            slices.forEach(slice -> parsed.addAll(slice.join()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+        return parsed;
+    }
+
+    private Parsed validate(RawResource raw) {
+        JsonNode resource = raw.resource();
+        String type = resource.path("resourceType").asText(null);
+        if (type == null) {
+            return Parsed.invalid(raw, null, "Missing resourceType");
+        }
+        if ("Patient".equals(type)) {
+            return validatePatient(raw);
+        }
+        if (RECORD_TYPES.containsKey(type)) {
+            return validateClinical(raw, type);
+        }
+        return Parsed.invalid(raw, type, "Unsupported resource type: " + type);
+    }
+
+    private Parsed validatePatient(RawResource raw) {
+        JsonNode resource = raw.resource();
+
+        String email = telecom(resource, "email");
+        String phone = telecom(resource, "phone");
+        if (email == null || phone == null) {
+            return Parsed.invalid(raw, "Patient", "Patient needs an email and a phone telecom");
+        }
+
+        String aadhaar = null;
+        for (JsonNode identifier : resource.path("identifier")) {
+            if (aadhaarSystem.equals(identifier.path("system").asText())) {
+                aadhaar = identifier.path("value").asText().replace(" ", "");
+            }
+        }
+        if (aadhaar == null || !AADHAAR.matcher(aadhaar).matches()) {
+            return Parsed.invalid(raw, "Patient", "Patient needs a 12-digit identifier with system " + aadhaarSystem);
+        }
+
+        JsonNode name = resource.path("name").path(0);
+        String family = name.path("family").asText(null);
+        String given = name.path("given").path(0).asText(null);
+        if (family == null && given == null) {
+            return Parsed.invalid(raw, "Patient", "Patient needs a name");
+        }
+
+        LocalDate birthDate;
+        try {
+            birthDate = date(resource.path("birthDate").asText(null));
+        } catch (DateTimeParseException e) {
+            return Parsed.invalid(raw, "Patient", "Invalid birthDate");
+        }
+
+        Gender gender = switch (resource.path("gender").asText("")) {
+            case "male" -> Gender.MALE;
+            case "female" -> Gender.FEMALE;
+            case "other" -> Gender.OTHER;
+            default -> null;
+        };
+
+        JsonNode address = resource.path("address").path(0);
+        String addressText = address.has("text") ? address.get("text").asText() : joinLines(address.path("line"));
+
+        JsonNode contact = resource.path("contact").path(0);
+        String contactName = contact.path("name").has("text")
+                ? contact.path("name").path("text").asText()
+                : joinName(contact.path("name"));
+
+        return new Parsed(raw, "Patient", null, new PatientImport(
+                email, phone, aadhaar, given, family, birthDate, gender, addressText,
+                contactName, telecom(contact, "phone")), null);
+    }
+
+    private Parsed validateClinical(RawResource raw, String type) {
+        JsonNode resource = raw.resource();
+
+        // AllergyIntolerance names its patient "patient", the other types use "subject"
+        String subjectField = "AllergyIntolerance".equals(type) ? "patient" : "subject";
+        String subject = resource.path(subjectField).path("reference").asText(null);
+        if (subject == null) {
+            return Parsed.invalid(raw, type, type + " needs a " + subjectField + " reference");
+        }
+
+        JsonNode code = "MedicationRequest".equals(type)
+                ? resource.path("medicationCodeableConcept")
+                : resource.path("code");
+        if (code.isMissingNode()) {
+            return Parsed.invalid(raw, type, type + " needs a code");
+        }
+        if (("Observation".equals(type) || "MedicationRequest".equals(type) || "DiagnosticReport".equals(type))
+                && !resource.hasNonNull("status")) {
+            return Parsed.invalid(raw, type, type + " needs a status");
+        }
+
+        LocalDate recordDate;
+        try {
+            recordDate = date(firstText(resource, "effectiveDateTime", "authoredOn", "onsetDateTime",
+                    "recordedDate", "issued"));
+        } catch (DateTimeParseException e) {
+            return Parsed.invalid(raw, type, "Invalid date");
+        }
+
+        RecordType recordType = RECORD_TYPES.get(type);
+        if ("DiagnosticReport".equals(type) && hasCategoryCode(resource, "RAD")) {
+            recordType = RecordType.RADIOLOGY;
+        }
+
+        String title = codeText(code);
+        return new Parsed(raw, type, null, null, new ClinicalImport(
+                subjectField, subject, recordType, title != null ? truncate(title, 255) : type, recordDate,
+                "AllergyIntolerance".equals(type) ? title : null));
+    }
+
+    /**
+     * Persist one validated chunk; runs inside the caller's transaction
+     */
+    private List<Outcome> persist(ImportRun run, List<Parsed> chunk, Map<String, UUID> newPatientRefs) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+        List<Outcome> outcomes = new ArrayList<>(chunk.size());
+
+        // Patients: one encryption pass and one duplicate query per chunk
+        List<Parsed> patients = chunk.stream().filter(parsed -> parsed.patient() != null).toList();
+        if (!patients.isEmpty()) {
+            List<String> encrypted = encryptionService.encryptAll(
+                    patients.stream().map(parsed -> parsed.patient().aadhaar()).toList());
+            Set<String> takenAadhaar = new HashSet<>(patientRepository.findExistingAadhaarNumbers(encrypted));
+            Set<String> takenEmail = new HashSet<>(userRepository.findExistingEmails(
+                    patients.stream().map(parsed -> parsed.patient().email()).toList()));
+
+            for (int i = 0; i < patients.size(); i++) {
+                Parsed parsed = patients.get(i);
+                PatientImport data = parsed.patient();
+                if (!takenAadhaar.add(encrypted.get(i))) {
+                    outcomes.add(Outcome.failed(parsed, 409, "Aadhaar number is already registered"));
+                    continue;
+                }
+                if (!takenEmail.add(data.email())) {
+                    outcomes.add(Outcome.failed(parsed, 409, "Email is already registered"));
+                    continue;
+                }
+
+                Patient patient = new Patient();
+                patient.setEmail(data.email());
+                patient.setPasswordHash(NO_PASSWORD);
+                patient.setPhoneNumber(data.phone());
+                patient.setRole(UserRole.PATIENT);
+                patient.setIsActive(true);
+                patient.setMfaEnabled(false);
+                patient.setFirstName(data.firstName());
+                patient.setLastName(data.lastName());
+                patient.setDateOfBirth(data.birthDate() != null ? Date.valueOf(data.birthDate()) : null);
+                patient.setGender(data.gender());
+                patient.setAadhaarNumber(encrypted.get(i));
+                patient.setAddress(data.address());
+                patient.setEmergencyContactName(data.contactName());
+                patient.setEmergencyContactPhone(data.contactPhone());
+                entityManager.persist(patient);
+
+                entityManager.persist(EmergencyProfile.builder()
+                        .patient(patient)
+                        .emergencyContactName(data.contactName())
+                        .emergencyContactPhone(data.contactPhone())
+                        .additionalNotes("Emergency profile created during FHIR import")
+                        .build());
+
+                String id = parsed.raw().resource().path("id").asText(null);
+                if (id != null) {
+                    newPatientRefs.put("Patient/" + id, patient.getId());
+                }
+                if (parsed.raw().fullUrl() != null) {
+                    newPatientRefs.put(parsed.raw().fullUrl(), patient.getId());
+                }
+                outcomes.add(Outcome.created(parsed, "Patient/" + patient.getId()));
+            }
+        }
+
+        // Clinical resources: resolve subjects, then one existence query for direct patient IDs
+        List<Parsed> clinical = chunk.stream().filter(parsed -> parsed.clinical() != null).toList();
+        Map<Parsed, UUID> subjects = new HashMap<>();
+        Set<UUID> directIds = new HashSet<>();
+        for (Parsed parsed : clinical) {
+            String reference = parsed.clinical().subject();
+            UUID patientId = newPatientRefs.getOrDefault(reference, run.patientRefs.get(reference));
+            if (patientId == null && reference.startsWith("Patient/")) {
+                try {
+                    patientId = UUID.fromString(reference.substring("Patient/".length()));
+                    directIds.add(patientId);
+                } catch (IllegalArgumentException ignored) {
+                    // Not one of our IDs; reported as unresolved below
+                }
+            }
+            if (patientId != null) {
+                subjects.put(parsed, patientId);
+            }
+        }
+        if (!directIds.isEmpty()) {
+            directIds.removeAll(patientRepository.findExistingIds(directIds));
+        }
+
+        User uploader = entityManager.getReference(User.class, run.adminId);
+        Map<UUID, List<String>> allergies = new LinkedHashMap<>();
+        for (Parsed parsed : clinical) {
+            UUID patientId = subjects.get(parsed);
+            if (patientId == null || directIds.contains(patientId)) {
+                outcomes.add(Outcome.failed(parsed, 422, "Unresolved patient reference: " + parsed.clinical().subject()));
+                continue;
+            }
+
+            ClinicalImport data = parsed.clinical();
+            UUID recordId = UuidV7Generator.next();
+            ObjectNode resource = ((ObjectNode) parsed.raw().resource()).deepCopy();
+            resource.put("id", recordId.toString());
+            resource.putObject(data.subjectField()).put("reference", "Patient/" + patientId);
+
+            MedicalRecord record = MedicalRecord.builder()
+                    .id(recordId)
+                    .patient(entityManager.getReference(Patient.class, patientId))
+                    .recordType(data.recordType())
+                    .title(data.title())
+                    .recordDate(Date.valueOf(data.recordDate() != null ? data.recordDate() : LocalDate.now()))
+                    .fhirResource(serialize(resource))
+                    .isEmergencyVisible(data.allergy() != null)
+                    .uploadedBy(uploader)
+                    .build();
+            entityManager.persist(record);
+
+            if (data.allergy() != null) {
+                allergies.computeIfAbsent(patientId, id -> new ArrayList<>()).add(data.allergy());
+            }
+            outcomes.add(Outcome.created(parsed, parsed.type() + "/" + recordId));
+        }
+
+        // Allergies also belong on the emergency profile
+        if (!allergies.isEmpty()) {
+            entityManager.flush();
+            for (EmergencyProfile profile : emergencyProfileRepository.findByPatientIdIn(allergies.keySet())) {
+                List<String> added = allergies.get(profile.getPatient().getId());
+                String current = profile.getCriticalAllergies();
+                String merged = (current == null || current.isBlank() ? "" : current + ", ") + String.join(", ", added);
+                profile.setCriticalAllergies(truncate(merged, 1000));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return outcomes;
+    }
+
+    private String serialize(ObjectNode resource) {
+        try {
+            return objectMapper.writeValueAsString(resource);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize FHIR resource", e);
+        }
+    }
+
+    private static Map<String, Object> bundleEntry(Outcome outcome) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", outcome.error() == null ? "201 Created" : outcome.status() + " " + reason(outcome.status()));
+        if (outcome.location() != null) {
+            response.put("location", outcome.location());
+        }
+        if (outcome.error() != null) {
+            response.put("outcome", Map.of(
+                    "resourceType", "OperationOutcome",
+                    "issue", List.of(Map.of("severity", "error", "code", "invalid", "diagnostics", outcome.error()))));
+        }
+        return Map.of("response", response);
+    }
+
+    private static String reason(int status) {
+        return switch (status) {
+            case 409 -> "Conflict";
+            case 422 -> "Unprocessable Entity";
+            case 500 -> "Internal Server Error";
+            default -> "Bad Request";
+        };
+    }
+
+    private static String telecom(JsonNode owner, String system) {
+        for (JsonNode telecom : owner.path("telecom")) {
+            if (system.equals(telecom.path("system").asText()) && telecom.hasNonNull("value")) {
+                return telecom.get("value").asText();
+            }
+        }
+        return null;
+    }
+
+    private static String codeText(JsonNode code) {
+        if (code.hasNonNull("text")) {
+            return code.get("text").asText();
+        }
+        JsonNode coding = code.path("coding").path(0);
+        return coding.hasNonNull("display") ? coding.get("display").asText() : coding.path("code").asText(null);
+    }
+
+    private static boolean hasCategoryCode(JsonNode resource, String code) {
+        for (JsonNode category : resource.path("category")) {
+            for (JsonNode coding : category.path("coding")) {
+                if (code.equals(coding.path("code").asText())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String firstText(JsonNode resource, String... fields) {
+        for (String field : fields) {
+            if (resource.hasNonNull(field)) {
+                return resource.get(field).asText();
+            }
+        }
+        return null;
+    }
+
+    // FHIR dates and dateTimes start with yyyy-MM-dd; partial dates (yyyy, yyyy-MM) are not kept
+    private static LocalDate date(String value) {
+        if (value == null || value.length() < 10) {
+            return null;
+        }
+        return LocalDate.parse(value.substring(0, 10));
+    }
+
+    private static String joinLines(JsonNode lines) {
+        List<String> parts = new ArrayList<>();
+        lines.forEach(line -> parts.add(line.asText()));
+        return parts.isEmpty() ? null : String.join(", ", parts);
+    }
+
+    private static String joinName(JsonNode name) {
+        List<String> parts = new ArrayList<>();
+        name.path("given").forEach(given -> parts.add(given.asText()));
+        if (name.hasNonNull("family")) {
+            parts.add(name.get("family").asText());
+        }
+        return parts.isEmpty() ? null : String.join(" ", parts);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private record RawResource(long index, String fullUrl, JsonNode resource) {
+    }
+
+    private record PatientImport(String email, String phone, String aadhaar, String firstName, String lastName,
+                                 LocalDate birthDate, Gender gender, String address,
+                                 String contactName, String contactPhone) {
+    }
+
+    private record ClinicalImport(String subjectField, String subject, RecordType recordType, String title,
+                                  LocalDate recordDate, String allergy) {
+    }
+
+    private record Parsed(RawResource raw, String type, String error, PatientImport patient, ClinicalImport clinical) {
+
+        static Parsed invalid(RawResource raw, String type, String error) {
+            return new Parsed(raw, type, error, null, null);
+        }
+    }
+
+    private record Outcome(long index, String resourceType, String resourceId, String location,
+                           int status, String error) {
+
+        static Outcome created(Parsed parsed, String location) {
+            return new Outcome(parsed.raw().index(), parsed.type(), parsed.raw().resource().path("id").asText(null),
+                    location, 201, null);
+        }
+
+        static Outcome failed(Parsed parsed, int status, String error) {
+            return new Outcome(parsed.raw().index(), parsed.type(), parsed.raw().resource().path("id").asText(null),
+                    null, status, error);
+        }
+    }
+
+    /**
+     * State of one import request: the current chunk and the references of patients created so far
+     */
+    private final class ImportRun {
+
+        private final UUID adminId;
+        private final boolean atomic;
+        private final Consumer<Outcome> sink;
+        private final Map<String, UUID> patientRefs = new HashMap<>();
+        private final List<RawResource> chunk = new ArrayList<>();
+        private long created;
+        private long failed;
+
+        ImportRun(UUID adminId, boolean atomic, Consumer<Outcome> sink) {
+            this.adminId = adminId;
+            this.atomic = atomic;
+            this.sink = sink;
+        }
+
+        void add(RawResource resource) {
+            chunk.add(resource);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long index, String type, String id, String error) {
+            if (atomic) {
+                throw new ValidationException("Transaction rejected: entry " + index + ": " + error);
+            }
+            emit(new Outcome(index, type, id, null, 400, error));
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Parsed> parsed = validateAll(chunk);
+            chunk.clear();
+
+            List<Parsed> valid = new ArrayList<>(parsed.size());
+            for (Parsed resource : parsed) {
+                if (resource.error() == null) {
+                    valid.add(resource);
+                } else {
+                    reject(resource.raw().index(), resource.type(),
+                            resource.raw().resource().path("id").asText(null), resource.error());
+                }
+            }
+            if (valid.isEmpty()) {
+                return;
+            }
+
+            Map<String, UUID> newRefs = new HashMap<>();
+            List<Outcome> outcomes;
+            if (atomic) {
+                // Already inside the transaction that spans the whole Bundle
+                outcomes = persist(this, valid, newRefs);
+                for (Outcome outcome : outcomes) {
+                    if (outcome.error() != null) {
+                        throw new ValidationException("Transaction rejected: entry " + outcome.index()
+                                + ": " + outcome.error());
+                    }
+                }
+            } else {
+                try {
+                    outcomes = transactionTemplate.execute(status -> persist(this, valid, newRefs));
+                } catch (RuntimeException e) {
+                    log.error("FHIR import chunk of {} resources rolled back", valid.size(), e);
+                    newRefs.clear();
+                    outcomes = valid.stream()
+                            .map(resource -> Outcome.failed(resource, 500, "Chunk could not be stored: "
+                                    + e.getClass().getSimpleName()))
+                            .toList();
+                }
+            }
+
+            // References become visible to later chunks only once their chunk is stored
+            patientRefs.putAll(newRefs);
+            if (outcomes != null) {
+                outcomes.forEach(this::emit);
+            }
+        }
+
+        private void emit(Outcome outcome) {
+            if (outcome.error() == null) {
+                created++;
+            } else {
+                failed++;
+            }
+            sink.accept(outcome);
+        }
+
+        String summary() {
+            return created + " created, " + failed + " failed";
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.FhirSearchRepository.Coding;
+import com.HackPro.MedVault.repositories.FhirSearchRepository.DateBound;
+import com.HackPro.MedVault.repositories.FhirSearchRepository.FhirSearchCriteria;
+import com.HackPro.MedVault.repositories.MedicalRecordRepository;
+import com.HackPro.MedVault.services.FhirService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class FhirServiceImpl implements FhirService {
+
+    // Resource types whose date, code and status paths are covered by the search indexes
+    private static final List<String> RESOURCE_TYPES =
+            List.of("Observation", "DiagnosticReport", "MedicationRequest", "Condition");
+
+    private static final Set<String> SEARCH_PARAMS = Set.of("patient", "code", "date", "status", "_count", "_page");
+
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int defaultCount;
+    private final int maxCount;
+
+    public FhirServiceImpl(MedicalRecordRepository medicalRecordRepository,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${fhir.search.default-count:50}") int defaultCount,
+                           @Value("${fhir.search.max-count:500}") int maxCount) {
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.objectMapper = objectMapper;
+        // The PostgreSQL driver only streams with a fetch size inside a transaction
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultCount = defaultCount;
+        this.maxCount = maxCount;
+    }
+
+    @Override
+    public StreamingResponseBody search(String resourceType, UUID patientId,
+                                        MultiValueMap<String, String> params, String baseUrl) {
+        if (!RESOURCE_TYPES.contains(resourceType)) {
+            throw new ValidationException("Unsupported resource type: " + resourceType);
+        }
+        for (String name : params.keySet()) {
+            if (!SEARCH_PARAMS.contains(name)) {
+                throw new ValidationException("Unsupported search parameter: " + name);
+            }
+        }
+
+        FhirSearchCriteria criteria = new FhirSearchCriteria(
+                patientId,
+                resourceType,
+                parseCodes(params.get("code")),
+                single(params, "status"),
+                parseDates(params.get("date")));
+
+        int count = Math.min(parseInt(params, "_count", defaultCount, 1), maxCount);
+        int page = parseInt(params, "_page", 1, 1);
+        long offset = (long) (page - 1) * count;
+
+        String searchUrl = baseUrl + "/" + resourceType;
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            boolean hasNext = medicalRecordRepository.hasResourcesBeyond(criteria, offset + count);
+
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(outputStream)) {
+                json.writeStartObject();
+                json.writeStringField("resourceType", "Bundle");
+                json.writeStringField("type", "searchset");
+
+                json.writeArrayFieldStart("link");
+                writeLink(json, "self", pageUrl(searchUrl, params, page));
+                if (page > 1) {
+                    writeLink(json, "previous", pageUrl(searchUrl, params, page - 1));
+                }
+                if (hasNext) {
+                    writeLink(json, "next", pageUrl(searchUrl, params, page + 1));
+                }
+                json.writeEndArray();
+
+                json.writeArrayFieldStart("entry");
+                int streamed = medicalRecordRepository.streamResources(criteria, offset, count, (id, resource) -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeStringField("fullUrl", searchUrl + "/" + id);
+                        json.writeFieldName("resource");
+                        json.writeRawValue(resource);
+                        json.writeObjectFieldStart("search");
+                        json.writeStringField("mode", "match");
+                        json.writeEndObject();
+                        json.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+                json.writeEndObject();
+
+                log.debug("FHIR search {} for patient {} streamed {} resources (page {})",
+                        resourceType, patientId, streamed, page);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Object> getCapabilityStatement(String baseUrl) {
+        List<Map<String, Object>> searchParams = List.of(
+                Map.of("name", "patient", "type", "reference"),
+                Map.of("name", "code", "type", "token"),
+                Map.of("name", "date", "type", "date"),
+                Map.of("name", "status", "type", "token"));
+
+        List<Map<String, Object>> resources = RESOURCE_TYPES.stream()
+                .map(type -> Map.<String, Object>of(
+                        "type", type,
+                        "interaction", List.of(Map.of("code", "search-type")),
+                        "searchParam", searchParams))
+                .toList();
+
+        Map<String, Object> capability = new LinkedHashMap<>();
+        capability.put("resourceType", "CapabilityStatement");
+        capability.put("status", "active");
+        capability.put("kind", "instance");
+        capability.put("fhirVersion", "4.0.1");
+        capability.put("format", List.of("application/fhir+json"));
+        capability.put("implementation", Map.of("description", "MedVault FHIR API", "url", baseUrl));
+        capability.put("rest", List.of(Map.of("mode", "server", "resource", resources)));
+        return capability;
+    }
+
+    private static void writeLink(JsonGenerator json, String relation, String url) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("relation", relation);
+        json.writeStringField("url", url);
+        json.writeEndObject();
+    }
+
+    private static String pageUrl(String searchUrl, MultiValueMap<String, String> params, int page) {
+        MultiValueMap<String, String> query = new LinkedMultiValueMap<>(params);
+        query.set("_page", Integer.toString(page));
+        return UriComponentsBuilder.fromUriString(searchUrl).queryParams(query).encode().build().toUriString();
+    }
+
+    /**
+     * {@code code=[system]|[code],...}: each comma-separated token is an alternative
+     */
+    private static List<Coding> parseCodes(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        List<Coding> codes = new ArrayList<>();
+        for (String value : values) {
+            for (String token : value.split(",")) {
+                int bar = token.indexOf('|');
+                String system = bar > 0 ? token.substring(0, bar) : null;
+                String code = bar >= 0 ? token.substring(bar + 1) : token;
+                if (code.isBlank()) {
+                    throw new ValidationException("Invalid code parameter: " + token);
+                }
+                codes.add(new Coding(system, code));
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * {@code date=[prefix]yyyy-MM-dd} with prefix eq (default), ge, gt, le or lt; repeats are ANDed
+     */
+    private static List<DateBound> parseDates(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        List<DateBound> bounds = new ArrayList<>();
+        for (String value : values) {
+            boolean prefixed = value.length() > 2 && Character.isLetter(value.charAt(0));
+            String prefix = prefixed ? value.substring(0, 2) : "eq";
+            LocalDate day;
+            try {
+                day = LocalDate.parse(prefixed ? value.substring(2) : value);
+            } catch (DateTimeParseException e) {
+                throw new ValidationException("Invalid date parameter: " + value);
+            }
+            bounds.add(switch (prefix) {
+                case "eq" -> new DateBound(day, day.plusDays(1));
+                case "ge" -> new DateBound(day, null);
+                case "gt" -> new DateBound(day.plusDays(1), null);
+                case "le" -> new DateBound(null, day.plusDays(1));
+                case "lt" -> new DateBound(null, day);
+                default -> throw new ValidationException("Unsupported date prefix: " + prefix);
+            });
+        }
+        return bounds;
+    }
+
+    private static String single(MultiValueMap<String, String> params, String name) {
+        List<String> values = params.get(name);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        if (values.size() > 1) {
+            throw new ValidationException("Parameter " + name + " can only be given once");
+        }
+        return values.get(0);
+    }
+
+    private static int parseInt(MultiValueMap<String, String> params, String name, int defaultValue, int min) {
+        String value = single(params, name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min) {
+                throw new ValidationException(name + " must be at least " + min);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid " + name + " parameter: " + value);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.domain.dtos.MedicalRecordDetailDto;
+import com.HackPro.MedVault.domain.dtos.MedicalRecordPageDto;
+import com.HackPro.MedVault.domain.dtos.MedicalRecordRequestDto;
+import com.HackPro.MedVault.domain.dtos.MedicalRecordSummaryDto;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.EncryptionStatus;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.MedicalRecord;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.RecordType;
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.entities.UserManagement.User;
+import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.MedicalRecordRepository;
+import com.HackPro.MedVault.repositories.MedicalRecordRepository.MedicalRecordSummary;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import com.HackPro.MedVault.repositories.UserRepository;
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.MedicalRecordService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Medical records are only ever reached through {@link MedicalRecordRepository}: lists are keyset
+ * pages of projections, and single records are loaded by ID and patient. The patient side of the
+ * association is never traversed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MedicalRecordServiceImpl implements MedicalRecordService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Keyset above every row, used for the first page
+    private static final Cursor FIRST_PAGE = new Cursor(Date.valueOf("9999-12-31"), new UUID(-1L, -1L));
+
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PatientRepository patientRepository;
+    private final UserRepository userRepository;
+    private final AuditLogService auditLogService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public MedicalRecordPageDto getRecords(UUID patientId, RecordType recordType, boolean emergencyVisible,
+                                           String cursor, int limit) {
+        Limit pageLimit = Limit.of(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) + 1);
+        Cursor after = cursor == null || cursor.isBlank() ? FIRST_PAGE : Cursor.decode(cursor);
+
+        List<MedicalRecordSummary> page;
+        if (recordType == null) {
+            page = emergencyVisible
+                    ? medicalRecordRepository.findEmergencyPage(patientId, after.recordDate(), after.id(), pageLimit)
+                    : medicalRecordRepository.findPage(patientId, after.recordDate(), after.id(), pageLimit);
+        } else {
+            page = emergencyVisible
+                    ? medicalRecordRepository.findEmergencyPageByType(
+                    patientId, recordType, after.recordDate(), after.id(), pageLimit)
+                    : medicalRecordRepository.findPageByType(
+                    patientId, recordType, after.recordDate(), after.id(), pageLimit);
+        }
+
+        boolean hasMore = page.size() > pageLimit.max() - 1;
+        List<MedicalRecordSummary> items = hasMore ? page.subList(0, page.size() - 1) : page;
+
+        String nextCursor = null;
+        if (hasMore) {
+            MedicalRecordSummary last = items.get(items.size() - 1);
+            nextCursor = new Cursor(last.getRecordDate(), last.getId()).encode();
+        }
+
+        return MedicalRecordPageDto.builder()
+                .items(items.stream().map(this::mapToSummaryDto).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MedicalRecordDetailDto getRecord(UUID patientId, UUID recordId) {
+        return mapToDetailDto(findRecord(patientId, recordId), patientId);
+    }
+
+    @Override
+    @Transactional
+    public MedicalRecordDetailDto createRecord(UUID patientId, MedicalRecordRequestDto request, UUID userId) {
+        if (!patientRepository.existsById(patientId)) {
+            throw new ResourceNotFoundException("Patient not found");
+        }
+
+        MedicalRecord record = MedicalRecord.builder()
+                .patient(patientRepository.getReferenceById(patientId))
+                .encryptionStatus(EncryptionStatus.UNENCRYPTED)
+                .uploadedBy(userRepository.getReferenceById(userId))
+                .build();
+        apply(record, request);
+        record = medicalRecordRepository.saveAndFlush(record);
+
+        log.info("Medical record {} created for patient {} by {}", record.getId(), patientId, userId);
+        auditLogService.logActivity(userId, "MEDICAL_RECORD_CREATED", record.getId().toString());
+        return mapToDetailDto(record, patientId);
+    }
+
+    @Override
+    @Transactional
+    public MedicalRecordDetailDto updateRecord(UUID patientId, UUID recordId, MedicalRecordRequestDto request,
+                                               UUID userId) {
+        MedicalRecord record = findRecord(patientId, recordId);
+        apply(record, request);
+        record = medicalRecordRepository.saveAndFlush(record);
+
+        auditLogService.logActivity(userId, "MEDICAL_RECORD_UPDATED", recordId.toString());
+        return mapToDetailDto(record, patientId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRecord(UUID patientId, UUID recordId, UUID userId) {
+        medicalRecordRepository.delete(findRecord(patientId, recordId));
+
+        log.info("Medical record {} of patient {} deleted by {}", recordId, patientId, userId);
+        auditLogService.logActivity(userId, "MEDICAL_RECORD_DELETED", recordId.toString());
+    }
+
+    private MedicalRecord findRecord(UUID patientId, UUID recordId) {
+        return medicalRecordRepository.findByIdAndPatientId(recordId, patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Medical record not found"));
+    }
+
+    private static void apply(MedicalRecord record, MedicalRecordRequestDto request) {
+        record.setRecordType(request.getRecordType());
+        record.setTitle(request.getTitle().trim());
+        record.setDescription(request.getDescription());
+        record.setRecordDate(Date.valueOf(request.getRecordDate()));
+        record.setDocumentUrl(request.getDocumentUrl());
+        record.setIsEmergencyVisible(request.isEmergencyVisible());
+    }
+
+    private MedicalRecordSummaryDto mapToSummaryDto(MedicalRecordSummary record) {
+        return MedicalRecordSummaryDto.builder()
+                .id(record.getId())
+                .recordType(record.getRecordType())
+                .title(record.getTitle())
+                .recordDate(toLocalDate(record.getRecordDate()))
+                .documentUrl(record.getDocumentUrl())
+                .emergencyVisible(Boolean.TRUE.equals(record.getIsEmergencyVisible()))
+                .createdAt(record.getCreatedAt())
+                .updatedAt(record.getUpdatedAt())
+                .build();
+    }
+
+    private MedicalRecordDetailDto mapToDetailDto(MedicalRecord record, UUID patientId) {
+        // Reading the IDs of lazy associations does not initialize them
+        User uploadedBy = record.getUploadedBy();
+        return MedicalRecordDetailDto.builder()
+                .id(record.getId())
+                .patientId(patientId)
+                .recordType(record.getRecordType())
+                .title(record.getTitle())
+                .description(record.getDescription())
+                .recordDate(toLocalDate(record.getRecordDate()))
+                .documentUrl(record.getDocumentUrl())
+                .encryptionStatus(record.getEncryptionStatus())
+                .emergencyVisible(Boolean.TRUE.equals(record.getIsEmergencyVisible()))
+                .uploadedBy(uploadedBy != null ? uploadedBy.getId() : null)
+                .fhirResource(record.getFhirResource())
+                .createdAt(record.getCreatedAt())
+                .updatedAt(record.getUpdatedAt())
+                .build();
+    }
+
+    // DATE columns are read back as java.sql.Date; converting through it avoids a time zone shift
+    private static LocalDate toLocalDate(java.util.Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date instanceof Date sqlDate
+                ? sqlDate.toLocalDate()
+                : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private record Cursor(java.util.Date recordDate, UUID id) {
+
+        String encode() {
+            String raw = recordDate.getTime() + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(new Date(Long.parseLong(raw.substring(0, separator))),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.domain.dtos.NotificationCreateDto;
+import com.HackPro.MedVault.domain.dtos.NotificationPageDto;
+import com.HackPro.MedVault.domain.dtos.NotificationResponseDto;
+import com.HackPro.MedVault.domain.entities.Notification;
+import com.HackPro.MedVault.exceptions.ValidationException;
+import com.HackPro.MedVault.repositories.NotificationRepository;
+import com.HackPro.MedVault.repositories.UserRepository;
+import com.HackPro.MedVault.services.NotificationService;
+import com.HackPro.MedVault.services.NotificationStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Notification store with in-memory unread counters.
+ * <p>
+ * A user's unread count is read from the database once and then kept up to date from the
+ * notifications created and read through this service. Counter changes are applied after
+ * commit. A counter whose seeding query may have overlapped a change is dropped and recounted
+ * instead of being adjusted, so counts never drift. Counters are bounded by size and dropped after
+ * sitting unread for a while; a dropped counter is simply recounted on the next read.
+ */
+@Service
+@Slf4j
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int VERSION_STRIPES = 64;
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationStreamService notificationStreamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    private final Cache<UUID, UnreadCounter> unreadCounters;
+    // Bumped when a change to a user's unread count is published and again after it commits
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public NotificationServiceImpl(NotificationRepository notificationRepository,
+                                   UserRepository userRepository,
+                                   NotificationStreamService notificationStreamService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notifications.unread-counters.max-size:100000}") long maxSize,
+                                   @Value("${notifications.unread-counters.idle-ttl:30m}") Duration idleTtl) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.notificationStreamService = notificationStreamService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.unreadCounters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, unreadCounters, "notificationUnreadCounters");
+    }
+
+    @Override
+    @Transactional
+    public void notify(NotificationCreateDto notification) {
+        notifyAll(List.of(notification));
+    }
+
+    @Override
+    @Transactional
+    public void notifyAll(List<NotificationCreateDto> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        List<Notification> entities = notifications.stream()
+                .map(this::toEntity)
+                .toList();
+        // IDs are assigned before the flush, so the inserts go out as JDBC batches
+        notificationRepository.saveAll(entities);
+
+        Map<UUID, List<NotificationResponseDto>> byUser = new LinkedHashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            byUser.computeIfAbsent(notifications.get(i).getUserId(), id -> new ArrayList<>())
+                    .add(mapToDto(entities.get(i)));
+        }
+
+        eventPublisher.publishEvent(new NotificationsCreated(byUser, publishVersions(byUser.keySet())));
+        log.debug("Created {} notifications for {} users", entities.size(), byUser.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageDto getInbox(UUID userId, String cursor, int limit, boolean unreadOnly) {
+        Limit pageLimit = Limit.of(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) + 1);
+
+        List<Notification> page;
+        if (cursor == null || cursor.isBlank()) {
+            page = unreadOnly
+                    ? notificationRepository.findUnread(userId, pageLimit)
+                    : notificationRepository.findInbox(userId, pageLimit);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            page = unreadOnly
+                    ? notificationRepository.findUnreadAfter(userId, after.createdAt(), after.id(), pageLimit)
+                    : notificationRepository.findInboxAfter(userId, after.createdAt(), after.id(), pageLimit);
+        }
+
+        // One extra row is fetched to tell whether another page follows
+        boolean hasMore = page.size() == pageLimit.max();
+        List<Notification> items = hasMore ? page.subList(0, page.size() - 1) : page;
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = items.get(items.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return NotificationPageDto.builder()
+                .items(items.stream().map(this::mapToDto).toList())
+                .nextCursor(nextCursor)
+                .unreadCount(getUnreadCount(userId))
+                .build();
+    }
+
+    @Override
+    public long getUnreadCount(UUID userId) {
+        UnreadCounter counter = unreadCounters.getIfPresent(userId);
+        if (counter != null) {
+            return counter.count.get();
+        }
+
+        int stripe = stripe(userId);
+        long versionBeforeLoad = versions.get(stripe);
+        long count = notificationRepository.countUnread(userId);
+
+        // A change published while counting may or may not be included, so don't keep the result
+        if (versions.get(stripe) == versionBeforeLoad) {
+            unreadCounters.asMap().putIfAbsent(userId, new UnreadCounter(versionBeforeLoad, count));
+        }
+        return count;
+    }
+
+    @Override
+    @Transactional
+    public int markRead(UUID userId, List<UUID> notificationIds) {
+        int updated = notificationRepository.markRead(userId, notificationIds);
+        publishRead(userId, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int markAllRead(UUID userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        publishRead(userId, updated);
+        return updated;
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID userId) {
+        return notificationStreamService.open(userId, getUnreadCount(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreated event) {
+        event.notificationsByUser().forEach((userId, created) -> {
+            applyDelta(userId, created.size(), event.versions().get(userId));
+
+            if (notificationStreamService.isConnected(userId)) {
+                created.forEach(dto -> notificationStreamService.push(userId, "notification", dto));
+                notificationStreamService.push(userId, "unread-count", getUnreadCount(userId));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsRead event) {
+        applyDelta(event.userId(), -event.count(), event.version());
+
+        if (notificationStreamService.isConnected(event.userId())) {
+            notificationStreamService.push(event.userId(), "unread-count", getUnreadCount(event.userId()));
+        }
+    }
+
+    private void publishRead(UUID userId, int updated) {
+        if (updated > 0) {
+            eventPublisher.publishEvent(new NotificationsRead(userId, updated, versions.incrementAndGet(stripe(userId))));
+        }
+    }
+
+    private Map<UUID, Long> publishVersions(Iterable<UUID> userIds) {
+        Map<UUID, Long> published = new HashMap<>();
+        for (UUID userId : userIds) {
+            published.put(userId, versions.incrementAndGet(stripe(userId)));
+        }
+        return published;
+    }
+
+    private void applyDelta(UUID userId, long delta, long publishedVersion) {
+        versions.incrementAndGet(stripe(userId));
+
+        UnreadCounter counter = unreadCounters.getIfPresent(userId);
+        if (counter == null) {
+            return;
+        }
+        if (counter.seedVersion < publishedVersion) {
+            // Seeded before the change was published, so the change is not in the count yet
+            counter.count.updateAndGet(count -> Math.max(0, count + delta));
+        } else {
+            unreadCounters.asMap().remove(userId, counter);
+        }
+    }
+
+    private static int stripe(UUID userId) {
+        return Math.floorMod(userId.hashCode(), VERSION_STRIPES);
+    }
+
+    private Notification toEntity(NotificationCreateDto notification) {
+        return Notification.builder()
+                .user(userRepository.getReferenceById(notification.getUserId()))
+                .type(notification.getType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .isRead(false)
+                .metadata(toJson(notification.getMetadata()))
+                .build();
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        if (metadata == null || metadata.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Notification metadata is not serializable", e);
+        }
+    }
+
+    private NotificationResponseDto mapToDto(Notification notification) {
+        return NotificationResponseDto.builder()
+                .id(notification.getId())
+                .type(notification.getType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .isRead(notification.getIsRead())
+                .metadata(notification.getMetadata())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+
+    private static final class UnreadCounter {
+        private final long seedVersion;
+        private final AtomicLong count;
+
+        private UnreadCounter(long seedVersion, long count) {
+            this.seedVersion = seedVersion;
+            this.count = new AtomicLong(count);
+        }
+    }
+
+    /**
+     * Keyset position (createdAt, id) of the last item of a page, encoded as URL-safe base64
+     */
+    private record Cursor(LocalDateTime createdAt, UUID id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+    }
+
+    record NotificationsCreated(Map<UUID, List<NotificationResponseDto>> notificationsByUser,
+                                Map<UUID, Long> versions) {
+    }
+
+    record NotificationsRead(UUID userId, int count, long version) {
+    }
+}
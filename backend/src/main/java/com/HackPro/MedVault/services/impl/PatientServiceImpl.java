@@ -5,13 +5,17 @@ import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
 import com.HackPro.MedVault.exceptions.ResourceNotFoundException;
 import com.HackPro.MedVault.repositories.PatientRepository;
 import com.HackPro.MedVault.services.EncryptionService;
+import com.HackPro.MedVault.services.PatientProfileCache;
 import com.HackPro.MedVault.services.PatientService;
+import com.HackPro.MedVault.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.UUID;
 
 @Service
@@ -21,9 +25,11 @@ public class PatientServiceImpl implements PatientService {
 
     private final PatientRepository patientRepository;
     private final EncryptionService encryptionService;
+    private final PatientProfileCache patientProfileCache;
 
     /**
-     * Get patient profile by user ID
+     * Get patient profile by user ID, served from {@link PatientProfileCache}
+     * Concurrent calls for the same patient share one lookup
      * Aadhaar number is NOT returned for security reasons
      * Handles existing users without timestamps gracefully
      *
@@ -32,68 +38,47 @@ public class PatientServiceImpl implements PatientService {
      * @throws ResourceNotFoundException if patient not found
      */
     @Override
-    @Transactional(readOnly = true)
+    @SingleFlight(name = "patient-profile", key = "#userId")
     public PatientResponseDto getPatientProfile(UUID userId) {
-        log.info("Fetching patient profile for user ID: {}", userId);
-
-        // Find patient by ID
-        Patient patient = patientRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("Patient not found with ID: {}", userId);
-                    return new ResourceNotFoundException("Patient not found");
-                });
-
-        log.debug("Patient profile found for: {}", patient.getEmail());
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime createdAt = patient.getCreatedAt() != null ? patient.getCreatedAt() : now;
-        LocalDateTime updatedAt = patient.getUpdatedAt() != null ? patient.getUpdatedAt() : now;
-
-        return PatientResponseDto.builder()
-                .id(patient.getId())
-                .email(patient.getEmail())
-                .phoneNumber(patient.getPhoneNumber())
-                .isActive(patient.getIsActive())
-                .mfaEnabled(patient.getMfaEnabled())
-                .firstName(patient.getFirstName())
-                .lastName(patient.getLastName())
-                .dateOfBirth(patient.getDateOfBirth())
-                .gender(patient.getGender())
-                .bloodGroup(patient.getBloodGroup())
-                .address(patient.getAddress())
-                .allergies(patient.getAllergies())
-                .chronicConditions(patient.getChronicConditions())
-                .emergencyContactName(patient.getEmergencyContactName())
-                .emergencyContactPhone(patient.getEmergencyContactPhone())
-                .createdAt(createdAt)  // From User parent
-                .updatedAt(updatedAt)  // From User parent
-                .build();
+        return patientProfileCache.get(userId, this::loadPatientProfile);
     }
 
     /**
      * Get patient profile by Aadhaar number
-     * Encrypts the plain Aadhaar number and searches in database
+     * Encrypts the plain Aadhaar number, resolves the patient ID and reads the cached profile
      *
      * @param aadhaarNumber Patient's Aadhaar number (plain text)
      * @return PatientResponseDto with patient information
      * @throws ResourceNotFoundException if patient not found
      */
     @Override
-    @Transactional(readOnly = true)
     public PatientResponseDto getPatientByAadhaar(String aadhaarNumber) {
         log.info("Searching patient by Aadhaar number");
 
         // Encrypt the Aadhaar number to match stored format
         String encryptedAadhaar = encryptionService.encrypt(aadhaarNumber);
 
-        // Find patient by encrypted Aadhaar
-        Patient patient = patientRepository.findByAadhaarNumber(encryptedAadhaar)
+        UUID patientId = patientRepository.findIdByAadhaarNumber(encryptedAadhaar)
                 .orElseThrow(() -> {
                     log.error("Patient not found with provided Aadhaar number");
                     return new ResourceNotFoundException("Patient not found with provided Aadhaar number");
                 });
 
-        log.debug("Patient found: {}", patient.getEmail());
+        return getPatientProfile(patientId);
+    }
+
+    // Cache miss: one JOINED users + patients read
+    private PatientResponseDto loadPatientProfile(UUID userId) {
+        log.info("Fetching patient profile for user ID: {}", userId);
+
+        // Find patient by ID
+        Patient patient = patientRepository.findById(userId)
+                .orElseThrow(() -> {
+                    log.error("Patient not found with ID: {}", userId);
+                    return new ResourceNotFoundException("Patient not found");
+                });
+
+        log.debug("Patient profile found for: {}", patient.getEmail());
 
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime createdAt = patient.getCreatedAt() != null ? patient.getCreatedAt() : now;
@@ -107,7 +92,7 @@ public class PatientServiceImpl implements PatientService {
                 .mfaEnabled(patient.getMfaEnabled())
                 .firstName(patient.getFirstName())
                 .lastName(patient.getLastName())
-                .dateOfBirth(patient.getDateOfBirth())
+                .dateOfBirth(toLocalDate(patient.getDateOfBirth()))
                 .gender(patient.getGender())
                 .bloodGroup(patient.getBloodGroup())
                 .address(patient.getAddress())
@@ -115,8 +100,18 @@ public class PatientServiceImpl implements PatientService {
                 .chronicConditions(patient.getChronicConditions())
                 .emergencyContactName(patient.getEmergencyContactName())
                 .emergencyContactPhone(patient.getEmergencyContactPhone())
-                .createdAt(createdAt)
-                .updatedAt(updatedAt)
+                .createdAt(createdAt)  // From User parent
+                .updatedAt(updatedAt)  // From User parent
                 .build();
     }
+
+    // DATE columns are read back as java.sql.Date; converting through it avoids a time zone shift
+    private static LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date instanceof java.sql.Date sqlDate
+                ? sqlDate.toLocalDate()
+                : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
 }
@@ -0,0 +1,76 @@
+package com.HackPro.MedVault.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over UUIDs: {@link #mightContain} never misses an added id and wrongly
+ * answers true for at most about the configured share of other ids while the filter holds no more
+ * than its expected number of ids. Sizes are rounded up to a power of two, so the actual share is
+ * often lower.
+ * <p>
+ * The filter is register-blocked: all of an id's bits fall in one 64-bit word, so a lookup is one
+ * load and a mask compare, with no loop over probes or division. It needs about 1.8 times the space
+ * of a classic filter for the same false-positive rate. Bits are set with compare-and-set, so adds and
+ * lookups are thread-safe without locking. Positions come from the id's own 128 bits; ids are
+ * expected to be random (v4 or the random part of v7).
+ */
+public final class BloomFilter {
+
+    // Extra space that keeps a register-blocked filter near the false-positive rate of a classic one
+    private static final double BLOCKING_OVERHEAD = 1.8;
+    // Each bit position takes 6 bits of the second hash
+    private static final int MAX_HASHES = 10;
+
+    private final AtomicLongArray words;
+    private final int wordMask;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(
+                    "expectedInsertions must be positive and falsePositiveRate between 0 and 1");
+        }
+        // Classic optimal size m = -n ln p / (ln 2)^2, rounded up to a power-of-two number of words
+        double bits = BLOCKING_OVERHEAD * -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long wordCount = Long.highestOneBit(Math.max(1, (long) Math.ceil(bits / 64)) * 2 - 1);
+        if (wordCount > (1 << 27)) {
+            throw new IllegalArgumentException("Bloom filter would exceed 1 GiB");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.wordMask = (int) wordCount - 1;
+        // Fewer bits per id than a classic filter, since they share one word
+        this.hashCount = (int) Math.max(1, Math.min(MAX_HASHES,
+                Math.round(0.8 * -Math.log(falsePositiveRate) / Math.log(2))));
+    }
+
+    public void add(UUID id) {
+        int word = (int) mix(id.getMostSignificantBits()) & wordMask;
+        long mask = mask(id);
+        long current = words.get(word);
+        while ((current & mask) != mask && !words.compareAndSet(word, current, current | mask)) {
+            current = words.get(word);
+        }
+    }
+
+    public boolean mightContain(UUID id) {
+        long mask = mask(id);
+        return (words.get((int) mix(id.getMostSignificantBits()) & wordMask) & mask) == mask;
+    }
+
+    private long mask(UUID id) {
+        long hash = mix(id.getLeastSignificantBits());
+        long mask = 0;
+        for (int i = 0; i < hashCount; i++) {
+            mask |= 1L << (hash >>> (6 * i));
+        }
+        return mask;
+    }
+
+    // Spreads the version and variant bits of the UUID over the whole word (SplitMix64 finalizer)
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
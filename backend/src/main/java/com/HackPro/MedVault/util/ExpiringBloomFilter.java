@@ -0,0 +1,66 @@
+package com.HackPro.MedVault.util;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bloom filters partitioned by expiry time, for ids that only matter until a known instant (such
+ * as the id of a token that expires).
+ * <p>
+ * An id goes into the bucket covering its expiry, {@code bucketWidthMs} wide, and is only ever looked
+ * up there, so a lookup probes a single filter. Buckets are created when first used and dropped
+ * whole by {@link #dropExpired} once everything in them has expired; nothing is removed one id at a
+ * time. Memory is the configured bits per id for each live bucket.
+ */
+public final class ExpiringBloomFilter {
+
+    private final long bucketWidthMs;
+    private final long expectedPerBucket;
+    private final double falsePositiveRate;
+    private final ConcurrentMap<Long, BloomFilter> buckets = new ConcurrentHashMap<>();
+
+    public ExpiringBloomFilter(long bucketWidthMs, long expectedPerBucket, double falsePositiveRate) {
+        if (bucketWidthMs <= 0) {
+            throw new IllegalArgumentException("bucketWidthMs must be positive");
+        }
+        this.bucketWidthMs = bucketWidthMs;
+        this.expectedPerBucket = expectedPerBucket;
+        this.falsePositiveRate = falsePositiveRate;
+        // Fail fast on invalid sizing rather than on the first add
+        new BloomFilter(expectedPerBucket, falsePositiveRate);
+    }
+
+    public void add(UUID id, long expiresAtMs) {
+        buckets.computeIfAbsent(bucketOf(expiresAtMs), b -> new BloomFilter(expectedPerBucket, falsePositiveRate))
+                .add(id);
+    }
+
+    /**
+     * @return false if {@code id} was certainly not added with this expiry; true if it probably was
+     */
+    public boolean mightContain(UUID id, long expiresAtMs) {
+        BloomFilter bucket = buckets.get(bucketOf(expiresAtMs));
+        return bucket != null && bucket.mightContain(id);
+    }
+
+    /**
+     * Drop every bucket whose whole time range ends at or before {@code nowMs}
+     *
+     * @return the number of buckets dropped
+     */
+    public int dropExpired(long nowMs) {
+        long firstLive = bucketOf(nowMs);
+        int before = buckets.size();
+        buckets.keySet().removeIf(bucket -> bucket < firstLive);
+        return before - buckets.size();
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    private long bucketOf(long expiresAtMs) {
+        return Math.floorDiv(expiresAtMs, bucketWidthMs);
+    }
+}
@@ -0,0 +1,141 @@
+package com.HackPro.MedVault.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel for deadlines that are tracked in memory.
+ * <p>
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs}; every further level has buckets as
+ * wide as one full revolution of the level below and is created only when a deadline needs it.
+ * Adding a deadline and firing it are O(1) regardless of how many deadlines are pending; an
+ * entry only moves when its higher-level bucket comes due and it cascades down. Deadlines are
+ * rounded up to the next tick, so an item never fires before its deadline and at most one tick late.
+ *
+ * @param <T> item carried by a deadline
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Level root;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize greater than 1");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs);
+    }
+
+    /**
+     * Track {@code item} until {@code deadlineMs}.
+     *
+     * @return false if the deadline has already been reached (the item is due now)
+     */
+    public boolean add(T item, long deadlineMs) {
+        long dueMs = Math.ceilDiv(deadlineMs, tickMs) * tickMs;
+        lock.lock();
+        try {
+            if (!root.add(new Entry<>(item, dueMs))) {
+                return false;
+            }
+            size++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move the wheel forward to {@code nowMs} and return every item whose deadline has passed.
+     */
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (root.currentTime + tickMs <= nowMs) {
+                long time = root.currentTime + tickMs;
+
+                // Align every level first, then cascade from the coarsest bucket down
+                List<Level> levels = new ArrayList<>();
+                for (Level level = root; level != null; level = level.overflow) {
+                    level.currentTime = time - (time % level.tickMs);
+                    levels.add(level);
+                }
+                for (int i = levels.size() - 1; i >= 0; i--) {
+                    Level level = levels.get(i);
+                    if (level.currentTime != time) {
+                        continue;
+                    }
+                    ArrayDeque<Entry<T>> bucket = level.bucketFor(time);
+                    while (!bucket.isEmpty()) {
+                        Entry<T> entry = bucket.poll();
+                        if (!root.add(entry)) {
+                            expired.add(entry.item);
+                            size--;
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<T>(T item, long dueMs) {
+    }
+
+    private final class Level {
+        private final long tickMs;
+        private final long interval;
+        private final ArrayDeque<Entry<T>>[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, long startMs) {
+            this.tickMs = tickMs;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        // Returns false when the entry is already due
+        boolean add(Entry<T> entry) {
+            if (entry.dueMs <= currentTime) {
+                return false;
+            }
+            if (entry.dueMs < currentTime + interval) {
+                bucketFor(entry.dueMs).add(entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        ArrayDeque<Entry<T>> bucketFor(long timeMs) {
+            return buckets[(int) ((timeMs / tickMs) % wheelSize)];
+        }
+    }
+}
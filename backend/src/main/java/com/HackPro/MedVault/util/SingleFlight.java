@@ -0,0 +1,38 @@
+package com.HackPro.MedVault.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces concurrent identical calls of a Spring bean method: while one call for a key is in
+ * flight, further calls for the same key wait for it and receive its result (or its exception)
+ * instead of running the method again. Handled by {@code SingleFlightAspect}.
+ * <p>
+ * The shared result is handed to every waiting caller as is, so annotated methods must return
+ * values that callers do not modify.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * Flight group name, used in metrics and for {@code SingleFlightAspect.forget}; defaults to
+     * {@code SimpleClassName.method}.
+     */
+    String name() default "";
+
+    /**
+     * SpEL expression over the method parameters (e.g. {@code "#patientId"}); defaults to all arguments.
+     */
+    String key() default "";
+
+    /**
+     * How long callers wait for an in-flight call before abandoning it and starting a new one,
+     * e.g. {@code "2s"} or {@code "${my.timeout:2s}"}; defaults to {@code single-flight.default-timeout}.
+     */
+    String timeout() default "";
+}
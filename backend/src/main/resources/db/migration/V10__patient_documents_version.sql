@@ -0,0 +1,5 @@
+-- Bumped on every change to a patient's document list; the list's ETag is derived from it.
+-- Deliberately not mapped on Patient: it is written with an atomic native increment, and keeping it
+-- out of the entity keeps document uploads from touching the cached Patient.
+ALTER TABLE patients
+    ADD COLUMN IF NOT EXISTS documents_version BIGINT NOT NULL DEFAULT 0;
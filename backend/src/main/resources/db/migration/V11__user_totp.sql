@@ -0,0 +1,5 @@
+-- RFC 6238 TOTP as an MFA method. The shared secret is stored encrypted (EncryptionService) and is
+-- only used for logins once the user has confirmed it with a valid code.
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS totp_secret VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS totp_enabled BOOLEAN NOT NULL DEFAULT FALSE;
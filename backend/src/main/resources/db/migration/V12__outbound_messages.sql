@@ -0,0 +1,27 @@
+-- Outbound emails and SMS (OTP codes, password resets), sent by OutboundMessageDispatcher off the
+-- request path. The payload holds the template parameters encrypted and is cleared once sent.
+CREATE TABLE outbound_messages (
+    id               UUID          NOT NULL,
+    channel          VARCHAR(255)  NOT NULL CHECK (channel IN ('EMAIL', 'SMS')),
+    recipient        VARCHAR(255)  NOT NULL,
+    template         VARCHAR(255)  NOT NULL,
+    payload          TEXT,
+    status           VARCHAR(255)  NOT NULL CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED')),
+    attempts         INTEGER       NOT NULL,
+    next_attempt_at  TIMESTAMP(6)  NOT NULL,
+    last_error       VARCHAR(1000),
+    created_at       TIMESTAMP(6),
+    sent_at          TIMESTAMP(6),
+    CONSTRAINT pk_outbound_messages PRIMARY KEY (id)
+);
+
+-- Due messages are claimed with FOR UPDATE SKIP LOCKED; a SENDING message whose lease
+-- (next_attempt_at) has run out belongs to a dead sender and is claimable again
+CREATE INDEX IF NOT EXISTS idx_outbound_messages_due
+    ON outbound_messages (next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
+
+-- Retention purge of finished messages
+CREATE INDEX IF NOT EXISTS idx_outbound_messages_finished
+    ON outbound_messages (created_at)
+    WHERE status IN ('SENT', 'FAILED');
@@ -0,0 +1,16 @@
+-- Ids (jti) of access and refresh tokens revoked before they expire, e.g. at logout. Every node
+-- keeps them in memory as Bloom filters and reads this table only to confirm a filter hit.
+CREATE TABLE revoked_tokens (
+    jti         UUID          NOT NULL,
+    expires_at  TIMESTAMP(6)  NOT NULL,
+    revoked_at  TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (jti)
+);
+
+-- Nodes poll for revocations made elsewhere since their last sync
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at
+    ON revoked_tokens (revoked_at);
+
+-- Purge of ids whose token has expired anyway
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at
+    ON revoked_tokens (expires_at);
@@ -0,0 +1,13 @@
+-- idx_medical_records_fhir_type_date (V7) sorted the date DESC, which puts NULLs first, while
+-- FhirSearchRepositoryImpl pages by date DESC NULLS LAST. PostgreSQL cannot walk an index in an
+-- order with different NULL placement, so every search page sorted all matching rows. Rebuilt with
+-- the query's order; the expressions must still match its SQL exactly.
+DROP INDEX IF EXISTS idx_medical_records_fhir_type_date;
+
+CREATE INDEX idx_medical_records_fhir_type_date
+    ON medical_records (patient_id,
+                        (fhir_resource ->> 'resourceType'),
+                        (COALESCE(fhir_resource ->> 'effectiveDateTime',
+                                  fhir_resource ->> 'authoredOn',
+                                  fhir_resource ->> 'onsetDateTime')) DESC NULLS LAST,
+                        id DESC);
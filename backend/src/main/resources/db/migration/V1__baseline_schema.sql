@@ -0,0 +1,162 @@
+-- Baseline: the schema previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id            UUID         NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) CHECK (role IN ('PATIENT', 'DOCTOR', 'ADMIN')),
+    phone_number  VARCHAR(255) NOT NULL,
+    mfa_enabled   BOOLEAN,
+    is_active     BOOLEAN,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE patients (
+    user_id                 UUID          NOT NULL,
+    aadhaar_number          VARCHAR(255)  NOT NULL,
+    first_name              VARCHAR(255),
+    last_name               VARCHAR(255),
+    date_of_birth           DATE,
+    gender                  VARCHAR(255) CHECK (gender IN ('MALE', 'FEMALE', 'OTHER')),
+    blood_group             VARCHAR(255),
+    address                 VARCHAR(255),
+    allergies               VARCHAR(1000),
+    chronic_conditions      VARCHAR(1000),
+    emergency_contact_name  VARCHAR(255),
+    emergency_contact_phone VARCHAR(255),
+    CONSTRAINT pk_patients PRIMARY KEY (user_id),
+    CONSTRAINT uk_patients_aadhaar_number UNIQUE (aadhaar_number),
+    CONSTRAINT fk_patients_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE doctors (
+    user_id              UUID         NOT NULL,
+    license_number       VARCHAR(255) NOT NULL,
+    first_name           VARCHAR(255),
+    last_name            VARCHAR(255),
+    specialization       VARCHAR(255),
+    hospital_affiliation VARCHAR(255),
+    verification_status  VARCHAR(255) CHECK (verification_status IN
+        ('PENDING', 'UNDER_REVIEW', 'VERIFIED', 'REJECTED', 'SUSPENDED', 'EXPIRED', 'REVOKED',
+         'RESUBMISSION_REQUIRED')),
+    license_expiry_date  DATE,
+    CONSTRAINT pk_doctors PRIMARY KEY (user_id),
+    CONSTRAINT uk_doctors_license_number UNIQUE (license_number),
+    CONSTRAINT fk_doctors_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE documents (
+    id                UUID          NOT NULL,
+    patient_id        UUID          NOT NULL,
+    title             VARCHAR(255)  NOT NULL,
+    file_url          VARCHAR(255)  NOT NULL,
+    file_name         VARCHAR(255)  NOT NULL,
+    category          VARCHAR(255),
+    document_type     VARCHAR(255),
+    summary           VARCHAR(2000),
+    anomalies         TEXT,
+    processing_status VARCHAR(255) CHECK (processing_status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED')),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT pk_documents PRIMARY KEY (id),
+    CONSTRAINT fk_documents_patient FOREIGN KEY (patient_id) REFERENCES patients (user_id)
+);
+
+CREATE TABLE emergency_profiles (
+    id                      UUID NOT NULL,
+    patient_id              UUID NOT NULL,
+    blood_group             VARCHAR(255),
+    critical_allergies      VARCHAR(1000),
+    chronic_diseases        VARCHAR(1000),
+    current_medications     VARCHAR(1000),
+    emergency_contact_name  VARCHAR(255),
+    emergency_contact_phone VARCHAR(255),
+    additional_notes        TEXT,
+    last_updated            TIMESTAMP(6),
+    CONSTRAINT pk_emergency_profiles PRIMARY KEY (id),
+    CONSTRAINT uk_emergency_profiles_patient UNIQUE (patient_id),
+    CONSTRAINT fk_emergency_profiles_patient FOREIGN KEY (patient_id) REFERENCES patients (user_id)
+);
+
+CREATE TABLE medical_records (
+    id                   UUID         NOT NULL,
+    patient_id           UUID         NOT NULL,
+    record_type          VARCHAR(255) CHECK (record_type IN ('LAB_REPORT', 'PRESCRIPTION', 'RADIOLOGY', 'CLINICAL_NOTES')),
+    title                VARCHAR(255) NOT NULL,
+    description          VARCHAR(2000),
+    record_date          DATE,
+    document_url         VARCHAR(255),
+    fhir_resource        TEXT,
+    encryption_status    VARCHAR(255) CHECK (encryption_status IN
+        ('UNENCRYPTED', 'ENCRYPTING', 'ENCRYPTED', 'ENCRYPTION_FAILED', 'PENDING_RE_ENCRYPTION',
+         'PARTIALLY_ENCRYPTED', 'DECRYPTED_TEMP', 'CORRUPTED', 'KEY_ROTATION_REQUIRED')),
+    is_emergency_visible BOOLEAN,
+    uploaded_by          UUID,
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    CONSTRAINT pk_medical_records PRIMARY KEY (id),
+    CONSTRAINT fk_medical_records_patient FOREIGN KEY (patient_id) REFERENCES patients (user_id),
+    CONSTRAINT fk_medical_records_uploaded_by FOREIGN KEY (uploaded_by) REFERENCES users (id)
+);
+
+CREATE TABLE access_permissions (
+    id               UUID NOT NULL,
+    patient_id       UUID NOT NULL,
+    doctor_id        UUID NOT NULL,
+    permission_level VARCHAR(255) CHECK (permission_level IN ('FULL_ACCESS', 'LIMITED_ACCESS', 'NO_ACCESS')),
+    valid_from       TIMESTAMP(6),
+    valid_until      TIMESTAMP(6),
+    is_revoked       BOOLEAN,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT pk_access_permissions PRIMARY KEY (id),
+    CONSTRAINT fk_access_permissions_patient FOREIGN KEY (patient_id) REFERENCES patients (user_id),
+    CONSTRAINT fk_access_permissions_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (user_id)
+);
+
+CREATE TABLE access_requests (
+    id                 UUID NOT NULL,
+    doctor_id          UUID NOT NULL,
+    patient_id         UUID NOT NULL,
+    status             VARCHAR(255) CHECK (status IN ('PENDING', 'APPROVED', 'DENIED', 'EXPIRED')),
+    -- Mapped as an ordinal: OTP_CONSENT = 0, EMERGENCY_ACCESS = 1, ADMIN_GRANTED = 2
+    access_type        SMALLINT CHECK (access_type BETWEEN 0 AND 2),
+    otp_code           VARCHAR(255),
+    otp_expiry_time    TIMESTAMP(6),
+    reason_for_access  VARCHAR(500),
+    access_granted_at  TIMESTAMP(6),
+    access_expiry_time TIMESTAMP(6),
+    created_at         TIMESTAMP(6),
+    CONSTRAINT pk_access_requests PRIMARY KEY (id),
+    CONSTRAINT fk_access_requests_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (user_id),
+    CONSTRAINT fk_access_requests_patient FOREIGN KEY (patient_id) REFERENCES patients (user_id)
+);
+
+CREATE TABLE login_attempts (
+    id             UUID         NOT NULL,
+    email          VARCHAR(255) NOT NULL,
+    ip_address     VARCHAR(255) NOT NULL,
+    status         VARCHAR(255) NOT NULL CHECK (status IN ('SUCCESS', 'FAILED', 'BLOCKED')),
+    failure_reason VARCHAR(255),
+    attempted_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_login_attempts PRIMARY KEY (id)
+);
+
+CREATE TABLE notifications (
+    id         UUID         NOT NULL,
+    user_id    UUID         NOT NULL,
+    type       VARCHAR(255) CHECK (type IN
+        ('ACCESS_REQUEST', 'ACCESS_GRANTED', 'ACCESS_DENIED', 'ACCESS_REVOKED', 'EMERGENCY_ACCESS',
+         'ANOMALY_ALERT', 'PASSWORD_CHANGED', 'MFA_ENABLED', 'ACCOUNT_LOCKED', 'LICENSE_EXPIRING')),
+    title      VARCHAR(255) NOT NULL,
+    message    VARCHAR(500),
+    is_read    BOOLEAN,
+    metadata   TEXT,
+    created_at TIMESTAMP(6),
+    CONSTRAINT pk_notifications PRIMARY KEY (id),
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,28 @@
+-- Secondary indexes for the hot queries. Names are checked at startup by RequiredIndexVerifier.
+
+-- MedVaultUserDetailsService: countByEmailAndStatusAndAttemptedAtAfter on every login,
+-- deleteByEmailAndAttemptedAtAfter and findByEmailOrderByAttemptedAtDesc share the email prefix
+CREATE INDEX IF NOT EXISTS idx_login_attempts_email_status_attempted_at
+    ON login_attempts (email, status, attempted_at);
+
+-- DocumentRepository.findByPatientIdOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_documents_patient_created_at
+    ON documents (patient_id, created_at DESC);
+
+-- Access decisions look up grants per doctor; the patient side lists only live grants
+CREATE INDEX IF NOT EXISTS idx_access_permissions_doctor_patient
+    ON access_permissions (doctor_id, patient_id);
+CREATE INDEX IF NOT EXISTS idx_access_permissions_patient_active
+    ON access_permissions (patient_id)
+    WHERE is_revoked = FALSE;
+
+-- Pending consent requests per patient
+CREATE INDEX IF NOT EXISTS idx_access_requests_patient_status
+    ON access_requests (patient_id, status);
+
+-- Inbox pages (newest first) and unread badge counts
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read_created_at
+    ON notifications (user_id, is_read, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id)
+    WHERE is_read = FALSE;
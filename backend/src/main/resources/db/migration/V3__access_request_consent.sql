@@ -0,0 +1,10 @@
+-- OTP consent workflow: the level a doctor asks for and failed OTP attempts per request
+ALTER TABLE access_requests
+    ADD COLUMN requested_permission_level VARCHAR(255)
+        CHECK (requested_permission_level IN ('FULL_ACCESS', 'LIMITED_ACCESS', 'NO_ACCESS')),
+    ADD COLUMN otp_attempts INTEGER;
+
+-- AccessRequestRepository.expirePending: one bulk UPDATE per sweep touches only pending rows
+CREATE INDEX IF NOT EXISTS idx_access_requests_pending_otp_expiry
+    ON access_requests (otp_expiry_time)
+    WHERE status = 'PENDING';
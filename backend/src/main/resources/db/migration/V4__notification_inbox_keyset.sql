@@ -0,0 +1,3 @@
+-- NotificationRepository.findInbox / findInboxAfter: keyset pages on (created_at, id), newest first
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created_at_id
+    ON notifications (user_id, created_at DESC, id DESC);
@@ -0,0 +1,5 @@
+-- LicenseExpiryService walks verified doctors by expiry date in keyset batches; the index only
+-- holds verified doctors, so expired ones drop out as they are flipped to EXPIRED
+CREATE INDEX IF NOT EXISTS idx_doctors_verified_license_expiry
+    ON doctors (license_expiry_date, user_id)
+    WHERE verification_status = 'VERIFIED';
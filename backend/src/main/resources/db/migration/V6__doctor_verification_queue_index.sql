@@ -0,0 +1,3 @@
+-- Admin verification queue: keyset pages on user_id within one verification status
+CREATE INDEX IF NOT EXISTS idx_doctors_status_user
+    ON doctors (verification_status, user_id);
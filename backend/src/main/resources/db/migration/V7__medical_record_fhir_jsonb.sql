@@ -0,0 +1,21 @@
+-- FHIR resources become queryable: JSONB storage plus expression indexes for the search
+-- parameters served by FhirSearchRepositoryImpl. The expressions must match its SQL exactly.
+ALTER TABLE medical_records
+    ALTER COLUMN fhir_resource TYPE JSONB USING NULLIF(btrim(fhir_resource), '')::jsonb;
+
+-- resourceType + date (Observation/DiagnosticReport effective, MedicationRequest authoredOn,
+-- Condition onset), also serves the newest-first order of search pages
+CREATE INDEX IF NOT EXISTS idx_medical_records_fhir_type_date
+    ON medical_records (patient_id,
+                        (fhir_resource ->> 'resourceType'),
+                        (COALESCE(fhir_resource ->> 'effectiveDateTime',
+                                  fhir_resource ->> 'authoredOn',
+                                  fhir_resource ->> 'onsetDateTime')) DESC,
+                        id DESC);
+
+-- code=[system]|[code] is answered with containment on the codings
+CREATE INDEX IF NOT EXISTS idx_medical_records_fhir_code
+    ON medical_records USING GIN ((fhir_resource -> 'code' -> 'coding') jsonb_path_ops);
+
+CREATE INDEX IF NOT EXISTS idx_medical_records_fhir_status
+    ON medical_records (patient_id, (fhir_resource ->> 'status'));
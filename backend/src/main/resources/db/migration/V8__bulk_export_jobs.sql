@@ -0,0 +1,37 @@
+-- FHIR Bulk Data $export: one job per kick-off, split into patient-id range partitions that
+-- BulkExportRunner claims and runs in parallel. Partitions are the unit of resume after a restart.
+CREATE TABLE export_jobs (
+    id               UUID NOT NULL,
+    requested_by     UUID NOT NULL,
+    status           VARCHAR(255) CHECK (status IN
+        ('ACCEPTED', 'IN_PROGRESS', 'COMPLETED', 'FAILED', 'CANCELLED', 'EXPIRED')),
+    resource_types   VARCHAR(1000),
+    since            TIMESTAMP(6),
+    request_url      VARCHAR(2000),
+    error            VARCHAR(1000),
+    created_at       TIMESTAMP(6),
+    completed_at     TIMESTAMP(6),
+    CONSTRAINT pk_export_jobs PRIMARY KEY (id),
+    CONSTRAINT fk_export_jobs_requested_by FOREIGN KEY (requested_by) REFERENCES users (id)
+);
+
+CREATE TABLE export_partitions (
+    id               UUID    NOT NULL,
+    job_id           UUID    NOT NULL,
+    partition_index  INTEGER NOT NULL,
+    range_start      UUID,
+    range_end        UUID,
+    status           VARCHAR(255) CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+    attempts         INTEGER NOT NULL,
+    resource_counts  JSONB,
+    started_at       TIMESTAMP(6),
+    completed_at     TIMESTAMP(6),
+    CONSTRAINT pk_export_partitions PRIMARY KEY (id),
+    CONSTRAINT uk_export_partitions_job_index UNIQUE (job_id, partition_index),
+    CONSTRAINT fk_export_partitions_job FOREIGN KEY (job_id) REFERENCES export_jobs (id) ON DELETE CASCADE
+);
+
+-- The dispatcher polls for claimable work; finished partitions drop out of the index
+CREATE INDEX IF NOT EXISTS idx_export_partitions_open
+    ON export_partitions (status, job_id)
+    WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,17 @@
+-- Medical record lists are keyset pages ordered by (record_date DESC, id DESC), so the date
+-- must not be NULL. Records without one take the day they were stored.
+UPDATE medical_records
+SET record_date = COALESCE(created_at, CURRENT_TIMESTAMP)::date
+WHERE record_date IS NULL;
+
+ALTER TABLE medical_records
+    ALTER COLUMN record_date SET NOT NULL;
+
+-- MedicalRecordRepository.findPage: unfiltered, by record type, and emergency-visible only
+CREATE INDEX IF NOT EXISTS idx_medical_records_patient_date
+    ON medical_records (patient_id, record_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_medical_records_patient_type_date
+    ON medical_records (patient_id, record_type, record_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_medical_records_patient_emergency_date
+    ON medical_records (patient_id, record_date DESC, id DESC)
+    WHERE is_emergency_visible = TRUE;
@@ -0,0 +1,126 @@
+package com.HackPro.MedVault.security;
+
+import com.HackPro.MedVault.domain.entities.AuditAndSecurity.RevokedToken;
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.entities.UserManagement.UserRole;
+import com.HackPro.MedVault.repositories.RevokedTokenRepository;
+import com.HackPro.MedVault.services.AuditLogService;
+import com.HackPro.MedVault.services.JwtService;
+import com.HackPro.MedVault.services.TokenRevocationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtRevocationLogoutHandlerTest {
+
+    private static final long ACCESS_TOKEN_EXPIRATION = 900_000;
+
+    // revoked_tokens, shared by every node
+    private final Map<UUID, RevokedToken> revokedTokens = new ConcurrentHashMap<>();
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+
+    private JwtService jwtService;
+    private JwtRevocationLogoutHandler handler;
+    private MedVaultUserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.save(any(RevokedToken.class))).thenAnswer(invocation -> {
+            RevokedToken token = invocation.getArgument(0);
+            revokedTokens.put(token.getJti(), token);
+            return token;
+        });
+        when(repository.existsById(any(UUID.class)))
+                .thenAnswer(invocation -> revokedTokens.containsKey(invocation.<UUID>getArgument(0)));
+        when(repository.findRevokedSince(any(), any()))
+                .thenAnswer(invocation -> new ArrayList<>(revokedTokens.values()));
+
+        jwtService = jwtService();
+        handler = new JwtRevocationLogoutHandler(jwtService, mock(AuditLogService.class), new ObjectMapper());
+        user = new MedVaultUserDetails(Patient.builder()
+                .id(UUID.randomUUID())
+                .email("p@example.com")
+                .passwordHash("hash")
+                .role(UserRole.PATIENT)
+                .mfaEnabled(false)
+                .isActive(true)
+                .build(), true, 0);
+    }
+
+    @Test
+    void loggedOutAccessTokenIsNoLongerValid() {
+        String accessToken = jwtService.generateAccessToken(user);
+        String otherSession = jwtService.generateAccessToken(user);
+        assertThat(jwtService.isTokenValid(accessToken)).isTrue();
+
+        handler.logout(logoutRequest(accessToken, null), new MockHttpServletResponse(), null);
+
+        assertThat(jwtService.isTokenValid(accessToken)).isFalse();
+        assertThat(jwtService.isTokenValid(otherSession)).isTrue();
+    }
+
+    @Test
+    void logoutRevokesTheRefreshTokenInTheBody() {
+        String accessToken = jwtService.generateAccessToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user);
+
+        handler.logout(logoutRequest(accessToken, refreshToken), new MockHttpServletResponse(), null);
+
+        assertThat(jwtService.isValidRefreshToken(refreshToken)).isFalse();
+    }
+
+    @Test
+    void anotherNodeRejectsTheTokenOnceItHasLoadedTheTable() {
+        String accessToken = jwtService.generateAccessToken(user);
+        handler.logout(logoutRequest(accessToken, null), new MockHttpServletResponse(), null);
+
+        JwtService otherNode = jwtService();
+        assertThat(otherNode.isTokenValid(accessToken)).isTrue();
+
+        revocationServiceOf(otherNode).loadRevokedTokens();
+
+        assertThat(otherNode.isTokenValid(accessToken)).isFalse();
+    }
+
+    private JwtService jwtService() {
+        TokenRevocationService revocationService = new TokenRevocationService(repository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+                ACCESS_TOKEN_EXPIRATION, 1_000, 0.001);
+        JwtService service = new JwtService(revocationService);
+        ReflectionTestUtils.setField(service, "secret", "hiCPunk1lgKGjZy70c6g0x1DPKVNRww/UcRtzsHg8To=");
+        ReflectionTestUtils.setField(service, "accessTokenExpiration", ACCESS_TOKEN_EXPIRATION);
+        ReflectionTestUtils.setField(service, "refreshTokenExpiration", 604_800_000L);
+        ReflectionTestUtils.invokeMethod(service, "initSigning");
+        return service;
+    }
+
+    private static TokenRevocationService revocationServiceOf(JwtService service) {
+        return (TokenRevocationService) ReflectionTestUtils.getField(service, "tokenRevocationService");
+    }
+
+    private static MockHttpServletRequest logoutRequest(String accessToken, String refreshToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/logout");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        if (refreshToken != null) {
+            request.setContentType("application/json");
+            request.setContent(("{\"refreshToken\":\"" + refreshToken + "\"}").getBytes());
+        }
+        return request;
+    }
+}
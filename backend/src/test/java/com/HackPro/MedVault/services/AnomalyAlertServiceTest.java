@@ -0,0 +1,91 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.config.AnomalyAlertProperties;
+import com.HackPro.MedVault.config.AnomalyAlertProperties.Severity;
+import com.HackPro.MedVault.domain.dtos.NotificationCreateDto;
+import com.HackPro.MedVault.events.DocumentAnomaliesDetectedEvent;
+import com.HackPro.MedVault.repositories.AccessPermissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AnomalyAlertServiceTest {
+
+    private final UUID patientId = UUID.randomUUID();
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final List<List<NotificationCreateDto>> sent = new ArrayList<>();
+
+    private AnomalyAlertService service;
+    private int failuresLeft;
+
+    @BeforeEach
+    void setUp() {
+        AnomalyAlertProperties.Rule critical = new AnomalyAlertProperties.Rule();
+        critical.setName("critical-potassium");
+        critical.setPattern(".*potassium.*");
+        critical.setSeverity(Severity.CRITICAL);
+        AnomalyAlertProperties properties = new AnomalyAlertProperties();
+        properties.setRules(List.of(critical));
+        // One notification per hour, so a token that is not refunded blocks the retry
+        properties.setMaxAlertsPerHour(1);
+
+        doAnswer(invocation -> {
+            if (failuresLeft-- > 0) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            sent.add(List.copyOf(invocation.<List<NotificationCreateDto>>getArgument(0)));
+            return null;
+        }).when(notificationService).notifyAll(anyList());
+
+        service = new AnomalyAlertService(properties, mock(AccessPermissionRepository.class), notificationService);
+    }
+
+    @Test
+    void alertsThatFailToSendAreRetriedOnTheNextFlush() {
+        failuresLeft = 1;
+        service.onAnomaliesDetected(event("Lab report", "Potassium 6.8 mmol/L"));
+
+        service.flush();
+        assertThat(sent).isEmpty();
+
+        service.flush();
+        assertThat(sent).hasSize(1);
+        NotificationCreateDto alert = sent.get(0).get(0);
+        assertThat(alert.getUserId()).isEqualTo(patientId);
+        assertThat(alert.getTitle()).isEqualTo("1 anomaly detected in Lab report");
+        assertThat(alert.getMessage()).isEqualTo("Potassium 6.8 mmol/L");
+        assertThat(alert.getMetadata()).containsEntry("severity", "CRITICAL");
+
+        service.flush();
+        assertThat(sent).hasSize(1);
+    }
+
+    @Test
+    void retriedAlertsMergeWithAlertsThatArrivedMeanwhile() {
+        failuresLeft = 1;
+        service.onAnomaliesDetected(event("Lab report", "Potassium 6.8 mmol/L"));
+        service.flush();
+
+        service.onAnomaliesDetected(event("Repeat panel", "Potassium 7.1 mmol/L"));
+        service.flush();
+
+        assertThat(sent).hasSize(1);
+        NotificationCreateDto alert = sent.get(0).get(0);
+        assertThat(alert.getTitle()).isEqualTo("2 anomalies detected in 2 documents");
+        assertThat(alert.getMessage()).isEqualTo("Potassium 6.8 mmol/L; Potassium 7.1 mmol/L");
+        assertThat(alert.getMetadata()).containsEntry("anomalyCount", 2);
+    }
+
+    private DocumentAnomaliesDetectedEvent event(String title, String anomaly) {
+        return new DocumentAnomaliesDetectedEvent(UUID.randomUUID(), patientId, title, "LAB", List.of(anomaly));
+    }
+}
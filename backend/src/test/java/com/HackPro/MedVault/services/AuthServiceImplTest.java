@@ -0,0 +1,82 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.dtos.AuthResponseDto;
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.entities.UserManagement.User;
+import com.HackPro.MedVault.domain.entities.UserManagement.UserRole;
+import com.HackPro.MedVault.repositories.DoctorRepository;
+import com.HackPro.MedVault.repositories.EmergencyProfileRepository;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import com.HackPro.MedVault.repositories.UserRepository;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceImplTest {
+
+    private static final String EMAIL = "p@example.com";
+
+    private final MedVaultUserDetailsService userDetailsService = mock(MedVaultUserDetailsService.class);
+    private final User mfaUser = Patient.builder()
+            .id(UUID.randomUUID())
+            .email(EMAIL)
+            .passwordHash("hash")
+            .role(UserRole.PATIENT)
+            .mfaEnabled(true)
+            .isActive(true)
+            .build();
+
+    private JwtService jwtService;
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        when(userDetailsService.loadUserWithMFAStatus(eq(EMAIL), anyBoolean()))
+                .thenAnswer(invocation -> new MedVaultUserDetails(mfaUser, invocation.getArgument(1), 0));
+
+        jwtService = new JwtService(mock(TokenRevocationService.class));
+        ReflectionTestUtils.setField(jwtService, "secret", "hiCPunk1lgKGjZy70c6g0x1DPKVNRww/UcRtzsHg8To=");
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604_800_000L);
+        jwtService.initSigning();
+
+        authService = new AuthServiceImpl(mock(UserRepository.class), mock(PatientRepository.class),
+                mock(EmergencyProfileRepository.class), mock(PasswordEncoder.class),
+                mock(PasswordValidationService.class), mock(EncryptionService.class), mock(AuditLogService.class),
+                mock(AuthenticationManager.class), userDetailsService, jwtService, mock(DoctorRepository.class),
+                mock(MFAService.class), mock(OutboundMessageQueue.class));
+    }
+
+    @Test
+    void refreshAfterMfaKeepsTheAccessTokenMfaVerified() {
+        // As issued by verifyMFA
+        String refreshToken = jwtService.generateRefreshToken(new MedVaultUserDetails(mfaUser, true, 0));
+
+        AuthResponseDto response = authService.refreshToken(refreshToken);
+
+        // JwtAuthFilter rejects access tokens of MFA users without this claim
+        assertThat(jwtService.isTokenValid(response.getAccessToken())).isTrue();
+        assertThat(jwtService.isMFAVerifiedToken(response.getAccessToken())).isTrue();
+    }
+
+    @Test
+    void refreshTokenFromBeforeMfaWasEnabledDoesNotPassMfa() {
+        // Issued by a password-only login, before the user enrolled in MFA
+        String refreshToken = jwtService.generateRefreshToken(new MedVaultUserDetails(mfaUser, false, 0));
+
+        AuthResponseDto response = authService.refreshToken(refreshToken);
+
+        assertThat(jwtService.isMFAVerifiedToken(response.getAccessToken())).isFalse();
+    }
+}
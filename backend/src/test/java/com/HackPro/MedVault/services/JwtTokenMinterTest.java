@@ -0,0 +1,133 @@
+package com.HackPro.MedVault.services;
+
+import com.HackPro.MedVault.domain.entities.UserManagement.Doctor;
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.domain.entities.UserManagement.User;
+import com.HackPro.MedVault.domain.entities.UserManagement.UserRole;
+import com.HackPro.MedVault.domain.entities.UserManagement.VerificationStatus;
+import com.HackPro.MedVault.security.MedVaultUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenMinterTest {
+
+    private static final SecretKey KEY =
+            Keys.hmacShaKeyFor("test-signing-key-of-at-least-32-bytes!!".getBytes(StandardCharsets.US_ASCII));
+    // Same parser configuration as JwtService
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(KEY).build();
+
+    // Quote, backslash, control and non-ASCII characters all need escaping in the JSON payload
+    private static final String AWKWARD_SUBJECT = "o\"brien\\\t\u0001née@example.com";
+
+    private final JwtTokenMinter minter = new JwtTokenMinter(KEY);
+
+    private final long issuedAt = System.currentTimeMillis();
+    private final long expiresAt = issuedAt + 900_000;
+
+    @Test
+    void accessTokenCarriesRoleAuthoritiesAndMfaClaims() {
+        MedVaultUserDetails details = details(Patient.builder(), AWKWARD_SUBJECT, true);
+
+        Jws<Claims> jws = PARSER.parseClaimsJws(minter.accessToken(details, issuedAt, expiresAt));
+        Claims claims = jws.getBody();
+
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("HS256");
+        assertThat(claims.getSubject()).isEqualTo(AWKWARD_SUBJECT);
+        assertThat(claims.get("userId", String.class)).isEqualTo(details.getUserId().toString());
+        assertThat(claims.get("role", String.class)).isEqualTo("PATIENT");
+        assertThat(claims.get("tokenType", String.class)).isEqualTo("access");
+        assertThat(claims.get("mfaVerified", Boolean.class)).isTrue();
+        assertThat(claims.get("authorities", List.class)).containsExactly(
+                "ROLE_PATIENT", "PERM_VIEW_OWN_RECORDS", "PERM_MANAGE_PERMISSIONS", "PERM_GRANT_ACCESS");
+        assertTimestampsAndId(claims);
+    }
+
+    @Test
+    void accessTokenAuthoritiesFollowDoctorVerificationStatus() {
+        Claims verified = PARSER.parseClaimsJws(minter.accessToken(
+                doctor(VerificationStatus.VERIFIED), issuedAt, expiresAt)).getBody();
+        Claims pending = PARSER.parseClaimsJws(minter.accessToken(
+                doctor(VerificationStatus.PENDING), issuedAt, expiresAt)).getBody();
+
+        assertThat(verified.get("role", String.class)).isEqualTo("DOCTOR");
+        assertThat(verified.get("authorities", List.class)).containsExactly("ROLE_DOCTOR", "PERM_REQUEST_ACCESS",
+                "PERM_VIEW_PATIENT_RECORDS", "PERM_ADD_CLINICAL_NOTES", "PERM_EMERGENCY_ACCESS");
+        assertThat(pending.get("authorities", List.class)).containsExactly("ROLE_DOCTOR", "PERM_EMERGENCY_ACCESS");
+        assertThat(pending.get("mfaVerified", Boolean.class)).isFalse();
+    }
+
+    @Test
+    void refreshTokenCarriesIdentityAndMfaClaimsOnly() {
+        MedVaultUserDetails details = details(Patient.builder(), AWKWARD_SUBJECT, true);
+
+        Claims claims = PARSER.parseClaimsJws(minter.refreshToken(details, issuedAt, expiresAt)).getBody();
+        Claims beforeMfa = PARSER.parseClaimsJws(minter.refreshToken(
+                details(Patient.builder(), "p@example.com", false), issuedAt, expiresAt)).getBody();
+
+        assertThat(claims.getSubject()).isEqualTo(AWKWARD_SUBJECT);
+        assertThat(claims.get("userId", String.class)).isEqualTo(details.getUserId().toString());
+        assertThat(claims.get("tokenType", String.class)).isEqualTo("refresh");
+        assertThat(claims.get("mfaVerified", Boolean.class)).isTrue();
+        assertThat(beforeMfa.get("mfaVerified", Boolean.class)).isFalse();
+        assertThat(claims).doesNotContainKeys("role", "authorities");
+        assertTimestampsAndId(claims);
+    }
+
+    @Test
+    void tempTokenIsMarkedMfaPending() {
+        MedVaultUserDetails details = details(Patient.builder(), AWKWARD_SUBJECT, false);
+
+        Claims claims = PARSER.parseClaimsJws(minter.tempToken(details, issuedAt, expiresAt)).getBody();
+
+        assertThat(claims.getSubject()).isEqualTo(AWKWARD_SUBJECT);
+        assertThat(claims.get("tokenType", String.class)).isEqualTo("temp");
+        assertThat(claims.get("mfaPending", Boolean.class)).isTrue();
+        assertThat(claims).doesNotContainKeys("role", "authorities");
+        assertTimestampsAndId(claims);
+    }
+
+    @Test
+    void everyTokenGetsItsOwnId() {
+        MedVaultUserDetails details = details(Patient.builder(), "p@example.com", true);
+
+        String first = PARSER.parseClaimsJws(minter.accessToken(details, issuedAt, expiresAt)).getBody().getId();
+        String second = PARSER.parseClaimsJws(minter.accessToken(details, issuedAt, expiresAt)).getBody().getId();
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    private void assertTimestampsAndId(Claims claims) {
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(issuedAt / 1000 * 1000);
+        assertThat(claims.getExpiration().getTime()).isEqualTo(expiresAt / 1000 * 1000);
+        UUID jti = UUID.fromString(claims.getId());
+        assertThat(jti.version()).isEqualTo(4);
+        assertThat(jti.variant()).isEqualTo(2);
+    }
+
+    private static MedVaultUserDetails doctor(VerificationStatus status) {
+        return details(Doctor.builder().verificationStatus(status), "d@example.com", false);
+    }
+
+    private static MedVaultUserDetails details(User.UserBuilder<?, ?> builder, String email, boolean mfaVerified) {
+        User user = builder
+                .id(UUID.randomUUID())
+                .email(email)
+                .passwordHash("hash")
+                .role(builder instanceof Doctor.DoctorBuilder<?, ?> ? UserRole.DOCTOR : UserRole.PATIENT)
+                .mfaEnabled(true)
+                .isActive(true)
+                .build();
+        return new MedVaultUserDetails(user, mfaVerified, 0);
+    }
+}
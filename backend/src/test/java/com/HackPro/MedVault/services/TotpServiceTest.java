@@ -0,0 +1,73 @@
+package com.HackPro.MedVault.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TotpServiceTest {
+
+    // RFC 6238 appendix B SHA-1 seed
+    private static final String RFC_SECRET =
+            TotpService.encodeBase32("12345678901234567890".getBytes(StandardCharsets.US_ASCII));
+
+    private static TotpService totpService(int driftSteps) {
+        return new TotpService(new SimpleMeterRegistry(), Duration.ofSeconds(30), driftSteps, "MedVault", 1_000);
+    }
+
+    // RFC 6238 appendix B SHA-1 vectors, truncated to the 6 digits we issue
+    @ParameterizedTest
+    @CsvSource({
+            "59, 287082",
+            "1111111109, 081804",
+            "1111111111, 050471",
+            "1234567890, 005924",
+            "2000000000, 279037",
+            "20000000000, 353130"
+    })
+    void acceptsRfc6238TestVectors(long unixSeconds, String code) {
+        assertThat(totpService(0).verify(UUID.randomUUID(), RFC_SECRET, code, unixSeconds * 1000)).isTrue();
+    }
+
+    @Test
+    void rejectsWrongAndMalformedCodes() {
+        TotpService totp = totpService(0);
+        UUID userId = UUID.randomUUID();
+        assertThat(totp.verify(userId, RFC_SECRET, "287083", 59_000)).isFalse();
+        assertThat(totp.verify(userId, RFC_SECRET, "28708", 59_000)).isFalse();
+        assertThat(totp.verify(userId, RFC_SECRET, "28708a", 59_000)).isFalse();
+        assertThat(totp.verify(userId, RFC_SECRET, null, 59_000)).isFalse();
+    }
+
+    @Test
+    void acceptsCodesWithinTheAllowedDriftOnly() {
+        TotpService totp = totpService(1);
+        // The code for T=59s (step 1) is still accepted one step later, but not two
+        assertThat(totp.verify(UUID.randomUUID(), RFC_SECRET, "287082", 89_000)).isTrue();
+        assertThat(totp.verify(UUID.randomUUID(), RFC_SECRET, "287082", 119_000)).isFalse();
+    }
+
+    @Test
+    void acceptsEachStepOncePerUser() {
+        TotpService totp = totpService(1);
+        UUID userId = UUID.randomUUID();
+        assertThat(totp.verify(userId, RFC_SECRET, "287082", 59_000)).isTrue();
+        assertThat(totp.verify(userId, RFC_SECRET, "287082", 59_000)).isFalse();
+        // Another user with the same secret is not affected
+        assertThat(totp.verify(UUID.randomUUID(), RFC_SECRET, "287082", 59_000)).isTrue();
+    }
+
+    @Test
+    void base32RoundTripsSecrets() {
+        byte[] secret = "12345678901234567890".getBytes(StandardCharsets.US_ASCII);
+        assertThat(RFC_SECRET).isEqualTo("GEZDGNBVGY3TQOJQGEZDGNBVGY3TQOJQ");
+        assertThat(TotpService.decodeBase32(RFC_SECRET)).isEqualTo(secret);
+        assertThat(TotpService.decodeBase32(totpService(1).generateSecret())).hasSize(20);
+    }
+}
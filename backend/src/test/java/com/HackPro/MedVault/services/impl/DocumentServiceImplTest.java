@@ -0,0 +1,119 @@
+package com.HackPro.MedVault.services.impl;
+
+import com.HackPro.MedVault.config.SingleFlightAspect;
+import com.HackPro.MedVault.domain.dtos.DocumentResponseDto;
+import com.HackPro.MedVault.domain.dtos.DocumentUploadDto;
+import com.HackPro.MedVault.domain.entities.MedicalRecords.Document;
+import com.HackPro.MedVault.domain.entities.UserManagement.Patient;
+import com.HackPro.MedVault.repositories.DocumentRepository;
+import com.HackPro.MedVault.repositories.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentServiceImplTest {
+
+    private final UUID patientId = UUID.randomUUID();
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final PatientRepository patientRepository = mock(PatientRepository.class);
+    private final AsyncTaskExecutor n8nDispatchExecutor = mock(AsyncTaskExecutor.class);
+    private final SingleFlightAspect singleFlight = mock(SingleFlightAspect.class);
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+
+    // Transaction each status was saved in, by begin order
+    private final List<String> savedStatuses = new ArrayList<>();
+
+    private DocumentServiceImpl documentService;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = Patient.builder().id(patientId).build();
+        when(patientRepository.findById(patientId)).thenReturn(Optional.of(patient));
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
+            Document document = invocation.getArgument(0);
+            savedStatuses.add(document.getProcessingStatus() + "@" + transactionManager.begun);
+            return document;
+        });
+        doThrow(new TaskRejectedException("queue full")).when(n8nDispatchExecutor).execute(any(Runnable.class));
+
+        documentService = new DocumentServiceImpl(documentRepository, patientRepository, mock(RestTemplate.class),
+                n8nDispatchExecutor, mock(ApplicationEventPublisher.class), singleFlight, transactionManager);
+    }
+
+    @Test
+    void rejectedDispatchMarksTheDocumentFailedInItsOwnTransaction() {
+        upload();
+
+        // Saved PENDING in the upload transaction, then FAILED in a second one begun after its commit
+        assertThat(savedStatuses).containsExactly("PENDING@1", "FAILED@2");
+        assertThat(transactionManager.committed).isEqualTo(2);
+        verify(patientRepository, times(2)).incrementDocumentsVersion(patientId);
+        // Once for the upload and once for the status change: both transactions' synchronizations fired
+        verify(singleFlight, times(2)).forget(DocumentServiceImpl.PATIENT_DOCUMENTS_FLIGHT, patientId);
+    }
+
+    @Test
+    void failedStatusWriteDoesNotFailTheCommittedUpload() {
+        when(patientRepository.incrementDocumentsVersion(patientId))
+                .thenReturn(1)
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        upload();
+
+        assertThat(transactionManager.rolledBack).isEqualTo(1);
+    }
+
+    private DocumentResponseDto upload() {
+        DocumentUploadDto dto = new DocumentUploadDto("Lab report", "https://files/report.pdf", "report.pdf");
+        return new TransactionTemplate(transactionManager).execute(status -> documentService.uploadDocument(dto, patientId));
+    }
+
+    // Runs synchronizations like a real transaction manager, without a database
+    private static final class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        int begun;
+        int committed;
+        int rolledBack;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            begun++;
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            committed++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rolledBack++;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.HackPro.MedVault.util;
+
+import com.HackPro.MedVault.domain.generators.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private static final int EXPECTED = 10_000;
+    private static final int PROBES = 500_000;
+
+    // Fixed seed, so the measured rate is the same on every run
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.001})
+    void neverMissesAnAddedIdAndStaysNearTheTargetRate(double falsePositiveRate) {
+        Random random = new Random(42);
+        BloomFilter filter = new BloomFilter(EXPECTED, falsePositiveRate);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < EXPECTED; i++) {
+            UUID id = randomUuid(random);
+            filter.add(id);
+            added.add(id);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(randomUuid(random))) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / PROBES;
+        // Rounding up to a power-of-two number of words can leave the filter up to twice the size it needs,
+        // so the rate may fall well below the target but must not exceed it beyond sampling noise
+        assertThat(rate).isBetween(falsePositiveRate / 20, falsePositiveRate * 1.2);
+    }
+
+    @Test
+    void neverMissesTimeOrderedIds() {
+        BloomFilter filter = new BloomFilter(EXPECTED, 0.001);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < EXPECTED; i++) {
+            UUID id = UuidV7Generator.next();
+            filter.add(id);
+            added.add(id);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static UUID randomUuid(Random random) {
+        long most = (random.nextLong() & ~0xf000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(most, least);
+    }
+}
@@ -0,0 +1,74 @@
+package com.HackPro.MedVault.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpiringBloomFilterTest {
+
+    private static final long WIDTH = 1_000;
+
+    private final Random random = new Random(7);
+    private final ExpiringBloomFilter filter = new ExpiringBloomFilter(WIDTH, 1_000, 0.001);
+
+    @Test
+    void findsIdsInTheBucketOfTheirExpiryOnly() {
+        UUID id = BloomFilterTest.randomUuid(random);
+        filter.add(id, 1_500);
+
+        // Any expiry in the same bucket finds it; the lookup never probes other buckets
+        assertThat(filter.mightContain(id, 1_000)).isTrue();
+        assertThat(filter.mightContain(id, 1_999)).isTrue();
+        assertThat(filter.mightContain(id, 999)).isFalse();
+        assertThat(filter.mightContain(id, 2_000)).isFalse();
+        assertThat(filter.bucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void neverMissesIdsSpreadOverManyBuckets() {
+        UUID[] ids = new UUID[5_000];
+        long[] expiries = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = BloomFilterTest.randomUuid(random);
+            expiries[i] = random.nextInt(10_000);
+            filter.add(ids[i], expiries[i]);
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            assertThat(filter.mightContain(ids[i], expiries[i])).isTrue();
+        }
+        assertThat(filter.bucketCount()).isEqualTo(10);
+    }
+
+    @Test
+    void dropExpiredRemovesOnlyBucketsThatHaveFullyExpired() {
+        UUID early = BloomFilterTest.randomUuid(random);
+        UUID middle = BloomFilterTest.randomUuid(random);
+        UUID late = BloomFilterTest.randomUuid(random);
+        filter.add(early, 500);
+        filter.add(middle, 1_500);
+        filter.add(late, 2_500);
+
+        // Bucket [1000, 2000) still holds an id expiring after 1999
+        assertThat(filter.dropExpired(999)).isZero();
+        assertThat(filter.dropExpired(1_999)).isEqualTo(1);
+        assertThat(filter.mightContain(early, 500)).isFalse();
+        assertThat(filter.mightContain(middle, 1_500)).isTrue();
+        assertThat(filter.mightContain(late, 2_500)).isTrue();
+
+        assertThat(filter.dropExpired(2_000)).isEqualTo(1);
+        assertThat(filter.mightContain(middle, 1_500)).isFalse();
+        assertThat(filter.mightContain(late, 2_500)).isTrue();
+        assertThat(filter.bucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new ExpiringBloomFilter(0, 1_000, 0.001)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExpiringBloomFilter(WIDTH, 0, 0.001)).isInstanceOf(IllegalArgumentException.class);
+    }
+}